@@ -9,7 +9,7 @@ import java.lang.annotation.Target;
  * [계정계 업무 식별용 어노테이션]
  * * 이 어노테이션이 붙은 메서드(Mapper)는 AOP에 의해 감지되어
  * Master DB에 쓰기 작업(Insert/Update/Delete) 수행 후,
- * 즉시 Slave DB에도 동일한 작업을 수행합니다. (Dual Write / 동기식)
+ * Master 커밋 시점에 Slave 복제 큐로 넘겨져 SlaveReplicator가 배치로 반영합니다. (Dual Write / 비동기 그룹 커밋)
  * * 대상: 계좌 개설, 입금, 출금, 이체 등 데이터 무결성이 중요한 업무
  */
 @Target(ElementType.METHOD)        // 메서드 위에만 붙일 수 있음
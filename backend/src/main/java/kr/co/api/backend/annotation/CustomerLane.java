@@ -0,0 +1,22 @@
+package kr.co.api.backend.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * [고객별 실행 레인 어노테이션]
+ * * 같은 고객의 돈이 움직이는 거래(환전/이체/송금/예금 가입)를 한 줄로 세워 순서대로 실행합니다. (다른 고객끼리는 병렬)
+ * * DB 행 락(FOR UPDATE / UPDATE)을 잡기 전에, 커넥션을 쥐지 않은 상태에서 기다리게 하는 용도
+ * * key: 레인 키 SpEL (예: "#custCode"), 비워 두면 로그인 고객 코드
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CustomerLane {
+
+    // 레인 이름 (메트릭 구분용: exchange, transfer, remit, deposit ...)
+    String value();
+
+    String key() default "";
+}
@@ -0,0 +1,25 @@
+package kr.co.api.backend.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * [읽기 전용 라우팅 어노테이션]
+ * * 이 어노테이션이 붙은 메서드(Service) 안의 조회는 Slave DB(realSlaveDataSource)로 보내집니다.
+ * * 단, 하트비트로 측정한 복제 지연이 maxStalenessMs 보다 크면 자동으로 Master에서 읽습니다.
+ * * 대상: 약간의 지연이 허용되면서, 읽는 테이블이 모두 Slave에 복제되는 조회만
+ *   - Slave가 받는 것은 @CoreBanking 매퍼 작업(잔액 UPDATE, 거래내역 INSERT, 하트비트)과 이력 로그뿐
+ *   - 하트비트 지연은 @CoreBanking 파이프라인만 재므로, 복제되지 않는 테이블(검색어, 쿠폰, 환전 내역,
+ *     가입 통계 등)은 지연 0으로 통과해 영원히 오래된(or 빈) 결과를 읽게 됨 → 이런 조회에는 붙이지 말 것
+ *   - 환전 거래내역은 이력 로그(Redis Stream)로 따로 들어가 하트비트보다 늦을 수 있음 → 집계성 조회에만
+ * * 매퍼 메서드에도 붙일 수 있음 (예: DashboardMapper 거래 집계)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnlyRoute {
+
+    // 허용 가능한 복제 지연 (ms)
+    long maxStalenessMs() default 3000;
+}
@@ -0,0 +1,20 @@
+package kr.co.api.backend.annotation;
+
+import kr.co.api.backend.config.Workload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * [워크로드 커넥션 풀 지정 어노테이션]
+ * * 이 어노테이션이 붙은 메서드(Service / Mapper) 안의 Master 접근은 지정한 워크로드 전용 Hikari 풀을 사용합니다.
+ * * 무거운 통계/배치 쿼리가 환전·이체(OLTP) 커넥션을 고갈시키지 않도록 격리하는 용도
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface WorkloadPool {
+
+    Workload value();
+}
@@ -0,0 +1,64 @@
+package kr.co.api.backend.aop;
+
+import kr.co.api.backend.annotation.CustomerLane;
+import kr.co.api.backend.lane.ExecutionLanes;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1) // @Transactional보다 먼저 → 커넥션 획득 전에 대기, 커밋 후에 다음 작업
+public class CustomerLaneAspect {
+
+    private final ExecutionLanes executionLanes;
+    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    public CustomerLaneAspect(ExecutionLanes executionLanes) {
+        this.executionLanes = executionLanes;
+    }
+
+    @Around("@annotation(customerLane)")
+    public Object inLane(ProceedingJoinPoint joinPoint, CustomerLane customerLane) throws Throwable {
+        String key = resolveKey(joinPoint, customerLane);
+        if (key == null || key.isBlank()) {
+            executionLanes.recordUnkeyed();
+            return joinPoint.proceed();
+        }
+        return executionLanes.run(customerLane.value(), key, joinPoint::proceed);
+    }
+
+    // key 식이 없으면 로그인 고객 코드
+    private String resolveKey(ProceedingJoinPoint joinPoint, CustomerLane customerLane) {
+        if (customerLane.key().isEmpty()) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+                return null;
+            }
+            return authentication.getName();
+        }
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+                null, signature.getMethod(), joinPoint.getArgs(), parameterNames);
+        Object value = expressions.computeIfAbsent(customerLane.key(), parser::parseExpression).getValue(context);
+        return value != null ? value.toString() : null;
+    }
+}
@@ -5,16 +5,12 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.CodeSignature;
-import org.mybatis.spring.SqlSessionTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.PlatformTransactionManager;
-import org.springframework.transaction.TransactionStatus;
-import org.springframework.transaction.support.DefaultTransactionDefinition;
 import kr.co.api.backend.config.DbStatusManager;
+import kr.co.api.backend.replication.ReplicationOp;
+import kr.co.api.backend.replication.SlaveReplicator;
 
-import javax.sql.DataSource;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,22 +19,15 @@ import java.util.Map;
 @Slf4j
 public class DataSyncAspect {
 
-    private final SqlSessionTemplate primarySqlSession;
-    private final SqlSessionTemplate slaveSqlSession;
-    private final PlatformTransactionManager slaveTransactionManager;
+    private final SlaveReplicator slaveReplicator;
     private final DbStatusManager dbStatusManager;
 
     @Autowired
     public DataSyncAspect(
-            SqlSessionTemplate primarySqlSession,
-            @Qualifier("slaveSqlSessionTemplate") SqlSessionTemplate slaveSqlSession,
-            @Qualifier("slaveTransactionManager") PlatformTransactionManager slaveTransactionManager,
-            @Qualifier("realSlaveDataSource") DataSource slaveDataSource,
+            SlaveReplicator slaveReplicator,
             DbStatusManager dbStatusManager
     ) {
-        this.primarySqlSession = primarySqlSession;
-        this.slaveSqlSession = slaveSqlSession;
-        this.slaveTransactionManager = slaveTransactionManager;
+        this.slaveReplicator = slaveReplicator;
         this.dbStatusManager = dbStatusManager;
     }
 
@@ -49,7 +38,8 @@ public class DataSyncAspect {
         Object result = joinPoint.proceed();
 
         // ---------------------------------------------------------
-        // 2. Master DB 반영 성공 후, Slave DB 동기화(Replication) 시작
+        // 2. Master DB 반영 성공 후, Slave 복제 작업 캡처
+        //    (실제 Slave 반영은 커밋 이후 SlaveReplicator가 배치로 처리)
         // ---------------------------------------------------------
 
         // [예외 케이스 1] 현재 Master가 죽어서 로직이 이미 Slave에서 돌았을 경우 -> 동기화 불필요
@@ -58,67 +48,70 @@ public class DataSyncAspect {
             return result;
         }
 
-        // [예외 케이스 2] Slave가 죽어있는 경우 -> 동기화 시도 시 에러 나므로 패스 (Master 데이터만 유지)
+        // [예외 케이스 2] Slave가 죽어있는 경우 -> 버리지 않고 SlaveReplicator가 로컬 저널에 보관, 복구 후 재생
         if (!dbStatusManager.isSlaveAlive()) {
-            log.error("⛔ [Skip Sync] Slave DB 연결 불가. 동기화를 건너뜁니다. (Master에만 저장됨)");
-            return result;
+            log.warn("⚠️ [Deferred Sync] Slave DB 연결 불가. 복제 작업을 로컬 저널에 보관합니다.");
         }
 
-        // Slave 전용 트랜잭션 시작
-        TransactionStatus status = null;
         try {
-            String mapperId = getMapperId(joinPoint);
-            Object[] args = joinPoint.getArgs();
-            String methodName = joinPoint.getSignature().getName();
-
-            // Slave 트랜잭션 오픈
-            status = slaveTransactionManager.getTransaction(new DefaultTransactionDefinition());
-
-            // 파라미터 매핑 로직
-            Object parameterObject;
-            if (args == null || args.length == 0) {
-                parameterObject = null;
-            } else if (args.length == 1) {
-                parameterObject = args[0];
-            } else {
-                Map<String, Object> paramMap = new HashMap<>();
-                CodeSignature codeSignature = (CodeSignature) joinPoint.getSignature();
-                String[] paramNames = codeSignature.getParameterNames();
-                for (int i = 0; i < args.length; i++) {
-                    paramMap.put(paramNames[i], args[i]);
-                    paramMap.put("param" + (i + 1), args[i]);
-                }
-                parameterObject = paramMap;
-            }
-
-            // 메서드 이름에 따른 CRUD 분기 (MyBatis ID 호출)
-            if (methodName.startsWith("insert")) {
-                slaveSqlSession.insert(mapperId, parameterObject);
-            } else if (methodName.startsWith("update")) {
-                slaveSqlSession.update(mapperId, parameterObject);
-            } else if (methodName.startsWith("delete")) {
-                slaveSqlSession.delete(mapperId, parameterObject);
+            ReplicationOp op = toReplicationOp(joinPoint);
+            if (op != null) {
+                // Master 커밋 후에만 큐에 들어감 (롤백 시 버려짐)
+                slaveReplicator.submitAfterCommit(op);
             }
+        } catch (Exception e) {
+            // 캡처 실패가 메인 로직(Master)을 깨뜨리지 않도록 로그만 남김
+            log.error("❌ [복제 캡처 실패] Slave 복제 작업 생성 실패 (메인 트랜잭션은 유지됨) : {}", e.getMessage());
+        }
 
-            // Slave 커밋
-            slaveTransactionManager.commit(status);
-
-            // 실시간 동기화 성공 시각화
-            log.info("✅ [이중 쓰기 성공] Master 데이터가 Slave로 즉시 동기화되었습니다. (메서드: {})", methodName);
+        return result;
+    }
 
-        } catch (Exception e) {
-            // 동기화 실패 시 Slave만 롤백하고, 메인 로직(Master)은 성공 처리하여 서비스 중단 방지
-            if (status != null) slaveTransactionManager.rollback(status);
+    private ReplicationOp toReplicationOp(ProceedingJoinPoint joinPoint) {
+        String mapperId = getMapperId(joinPoint);
+        Object[] args = joinPoint.getArgs();
+        String methodName = joinPoint.getSignature().getName();
+
+        // 메서드 이름에 따른 CRUD 분기 (MyBatis ID 호출)
+        ReplicationOp.Kind kind;
+        if (methodName.startsWith("insert")) {
+            kind = ReplicationOp.Kind.INSERT;
+        } else if (methodName.startsWith("update")) {
+            kind = ReplicationOp.Kind.UPDATE;
+        } else if (methodName.startsWith("delete")) {
+            kind = ReplicationOp.Kind.DELETE;
+        } else {
+            return null;
+        }
 
-            // 실패 상황 명시
-            log.error("❌ [이중 쓰기 실패] Slave 동기화에 실패했습니다. (메인 트랜잭션은 유지됨) : {}", e.getMessage());
+        // 파라미터 매핑 로직
+        Object parameterObject;
+        if (args == null || args.length == 0) {
+            parameterObject = null;
+        } else if (args.length == 1) {
+            parameterObject = args[0];
+        } else {
+            Map<String, Object> paramMap = new HashMap<>();
+            CodeSignature codeSignature = (CodeSignature) joinPoint.getSignature();
+            String[] paramNames = codeSignature.getParameterNames();
+            for (int i = 0; i < args.length; i++) {
+                paramMap.put(paramNames[i], args[i]);
+                paramMap.put("param" + (i + 1), args[i]);
+            }
+            parameterObject = paramMap;
         }
 
-        return result;
+        // 첫 번째 인자(계좌번호 / 잔액번호)를 순서 보장 키로 사용
+        String partitionKey = (args != null && args.length > 0 && args[0] instanceof String key)
+                ? key
+                : mapperId;
+
+        // 순서 토큰은 커밋 직전에 SlaveReplicator가 채움
+        return new ReplicationOp(mapperId, kind, parameterObject, partitionKey, System.currentTimeMillis(), 0L);
     }
 
     private String getMapperId(ProceedingJoinPoint joinPoint) {
         Class<?>[] interfaces = joinPoint.getTarget().getClass().getInterfaces();
         return (interfaces.length > 0 ? interfaces[0].getName() : "") + "." + joinPoint.getSignature().getName();
     }
-}
\ No newline at end of file
+}
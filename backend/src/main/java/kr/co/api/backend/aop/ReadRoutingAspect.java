@@ -0,0 +1,32 @@
+package kr.co.api.backend.aop;
+
+import kr.co.api.backend.annotation.ReadOnlyRoute;
+import kr.co.api.backend.config.ReadRouteContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // @Transactional보다 먼저 → 커넥션 획득 전에 라우팅 정보 세팅
+public class ReadRoutingAspect {
+
+    @Around("@annotation(readOnlyRoute)")
+    public Object routeToSlave(ProceedingJoinPoint joinPoint, ReadOnlyRoute readOnlyRoute) throws Throwable {
+        Long previous = ReadRouteContext.get();
+
+        // 중첩 호출 시 더 엄격한(작은) 지연 허용치를 사용
+        long budget = readOnlyRoute.maxStalenessMs();
+        if (previous != null) budget = Math.min(previous, budget);
+
+        ReadRouteContext.set(budget);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadRouteContext.set(previous);
+        }
+    }
+}
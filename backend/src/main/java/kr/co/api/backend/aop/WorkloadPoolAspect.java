@@ -0,0 +1,28 @@
+package kr.co.api.backend.aop;
+
+import kr.co.api.backend.annotation.WorkloadPool;
+import kr.co.api.backend.config.Workload;
+import kr.co.api.backend.config.WorkloadContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // @Transactional보다 먼저 → 커넥션 획득 전에 풀 지정
+public class WorkloadPoolAspect {
+
+    @Around("@annotation(workloadPool)")
+    public Object useWorkloadPool(ProceedingJoinPoint joinPoint, WorkloadPool workloadPool) throws Throwable {
+        Workload previous = WorkloadContext.peek();
+        WorkloadContext.set(workloadPool.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.set(previous);
+        }
+    }
+}
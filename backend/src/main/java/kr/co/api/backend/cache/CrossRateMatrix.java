@@ -0,0 +1,237 @@
+package kr.co.api.backend.cache;
+
+import kr.co.api.backend.dto.RateDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * [통화 N×N 교차환율 행렬 (불변)]
+ * - 최신 환율 스냅샷의 원화 기준 환율로 모든 통화쌍(USD↔JPY 등)을 미리 계산
+ * - 환율은 소수 9자리 고정소수점 long (SCALE = 10^9), 행렬은 [from * n + to] 1차원 배열
+ *   → 환산은 배열 1번 읽기 + 정수 연산 (객체 생성 없음, 외화 → 원화는 고시 환율 그대로라 오차 없음)
+ * - 금액도 고정소수점 long: 입력과 결과가 같은 자릿수 (이 저장소 잔액은 정수 단위)
+ * - BASE : 매매기준율 교차 (조회/표시용)
+ *   BUY  : 고객이 from을 팔고 to를 받을 때 from 1단위당 받는 to (from 전신환매입 / to 전신환매도)
+ *   SELL : 고객이 from 1단위를 사려면 내야 하는 to (from 전신환매도 / to 전신환매입)
+ * - 전신환 환율이 없는 통화는 매매기준율로 대체
+ */
+public final class CrossRateMatrix {
+
+    public static final long SCALE = 1_000_000_000L;
+    public static final String KRW = "KRW";
+
+    private static final BigDecimal SCALE_DECIMAL = BigDecimal.valueOf(SCALE);
+    private static final long MASK32 = 0xFFFF_FFFFL;
+
+    public enum Side { BASE, BUY, SELL }
+
+    static final CrossRateMatrix EMPTY = new CrossRateMatrix(
+            new String[]{KRW}, Map.of(KRW, 0), new long[]{SCALE}, new long[]{SCALE}, new long[]{SCALE}, 0, null);
+
+    private final String[] currencies;
+    private final Map<String, Integer> index;
+    private final long[] base;
+    private final long[] buy;
+    private final long[] sell;
+    private final long version;
+    private final LocalDate rateDt;
+
+    private CrossRateMatrix(String[] currencies, Map<String, Integer> index,
+                            long[] base, long[] buy, long[] sell, long version, LocalDate rateDt) {
+        this.currencies = currencies;
+        this.index = index;
+        this.base = base;
+        this.buy = buy;
+        this.sell = sell;
+        this.version = version;
+        this.rateDt = rateDt;
+    }
+
+    /**
+     * 스냅샷 → 행렬 (원화가 0번, 이후 스냅샷 순서)
+     *
+     * @param per100 100단위로 고시되는 통화 (JPY, IDR 등) → 1단위 환율로 바꿔서 계산
+     */
+    public static CrossRateMatrix of(RateSnapshotCache.Snapshot snapshot, Set<String> per100) {
+        List<String> codes = new ArrayList<>();
+        List<BigDecimal[]> krwRates = new ArrayList<>(); // {기준, 매입, 매도} 원화 / 1단위
+        codes.add(KRW);
+        krwRates.add(new BigDecimal[]{BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE});
+
+        for (RateDTO rate : snapshot.rates().values()) {
+            String cur = rate.getRhistCurrency();
+            if (cur == null || KRW.equals(cur) || !positive(rate.getRhistBaseRate())) continue;
+
+            BigDecimal unit = per100.contains(cur) ? BigDecimal.valueOf(100) : BigDecimal.ONE;
+            BigDecimal baseRate = BigDecimal.valueOf(rate.getRhistBaseRate());
+            BigDecimal buyRate = positive(rate.getRhistTtBuyRate()) ? BigDecimal.valueOf(rate.getRhistTtBuyRate()) : baseRate;
+            BigDecimal sellRate = positive(rate.getRhistTtSellRate()) ? BigDecimal.valueOf(rate.getRhistTtSellRate()) : baseRate;
+
+            codes.add(cur);
+            krwRates.add(new BigDecimal[]{perUnit(baseRate, unit), perUnit(buyRate, unit), perUnit(sellRate, unit)});
+        }
+
+        int n = codes.size();
+        long[] base = new long[n * n];
+        long[] buy = new long[n * n];
+        long[] sell = new long[n * n];
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            index.put(codes.get(i), i);
+            BigDecimal[] from = krwRates.get(i);
+            for (int j = 0; j < n; j++) {
+                BigDecimal[] to = krwRates.get(j);
+                int cell = i * n + j;
+                if (i == j) {
+                    base[cell] = buy[cell] = sell[cell] = SCALE;
+                    continue;
+                }
+                base[cell] = fixed(from[0], to[0]);
+                buy[cell] = fixed(from[1], to[2]);
+                sell[cell] = fixed(from[2], to[1]);
+            }
+        }
+        return new CrossRateMatrix(codes.toArray(String[]::new), Collections.unmodifiableMap(index),
+                base, buy, sell, snapshot.version(), snapshot.latestDt());
+    }
+
+    // --- 조회 ---
+
+    // 통화 코드 → 행렬 위치 (없으면 -1)
+    public int indexOf(String currency) {
+        Integer i = currency == null ? null : index.get(currency);
+        return i == null ? -1 : i;
+    }
+
+    public int size() {
+        return currencies.length;
+    }
+
+    public String currencyAt(int i) {
+        return currencies[i];
+    }
+
+    public List<String> getCurrencies() {
+        return List.of(currencies);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDate getRateDt() {
+        return rateDt;
+    }
+
+    // from 1단위당 to (고정소수점, SCALE = 1)
+    public long fixedRate(Side side, int from, int to) {
+        return cells(side)[from * currencies.length + to];
+    }
+
+    public double rate(Side side, int from, int to) {
+        return (double) fixedRate(side, from, to) / SCALE;
+    }
+
+    // --- 환산 (객체 생성 없음) ---
+
+    /**
+     * from 금액 → to 금액
+     *
+     * @throws ArithmeticException 결과가 long 범위를 넘거나 UNNECESSARY인데 나머지가 있음
+     */
+    public long convert(int from, int to, long amount, Side side, RoundingMode mode) {
+        if (from == to) return amount;
+        return scaleDown(amount, fixedRate(side, from, to), mode);
+    }
+
+    /**
+     * @throws IllegalArgumentException 행렬에 없는 통화
+     */
+    public long convert(String from, String to, long amount, Side side, RoundingMode mode) {
+        int i = indexOf(from);
+        int j = indexOf(to);
+        if (i < 0 || j < 0) {
+            throw new IllegalArgumentException("환율 정보가 없는 통화입니다. (" + (i < 0 ? from : to) + ")");
+        }
+        return convert(i, j, amount, side, mode);
+    }
+
+    /**
+     * amount × rate / SCALE
+     * - 곱은 128비트(multiplyHigh)로 구하고, SCALE(< 2^30)로 32비트씩 나눠 내려가며 나눔 → 중간 overflow 없음
+     */
+    static long scaleDown(long amount, long rate, RoundingMode mode) {
+        if (amount == 0 || rate == 0) return 0;
+        if (amount == Long.MIN_VALUE) {
+            throw new ArithmeticException("환산 금액이 long 범위를 넘습니다.");
+        }
+        boolean negative = amount < 0;
+        long a = Math.abs(amount);
+        long hi = Math.multiplyHigh(a, rate);
+        long lo = a * rate;
+
+        long cur = hi >>> 32;
+        long q3 = cur / SCALE;
+        long r = cur % SCALE;
+        cur = (r << 32) | (hi & MASK32);
+        long q2 = cur / SCALE;
+        r = cur % SCALE;
+        cur = (r << 32) | (lo >>> 32);
+        long q1 = cur / SCALE;
+        r = cur % SCALE;
+        cur = (r << 32) | (lo & MASK32);
+        long q0 = cur / SCALE;
+        r = cur % SCALE;
+
+        if (q3 != 0 || q2 != 0 || q1 > Integer.MAX_VALUE) {
+            throw new ArithmeticException("환산 금액이 long 범위를 넘습니다.");
+        }
+        long q = (q1 << 32) | q0;
+        if (r != 0 && roundAway(q, r, negative, mode)) {
+            q = Math.addExact(q, 1);
+        }
+        return negative ? -q : q;
+    }
+
+    private static boolean roundAway(long q, long r, boolean negative, RoundingMode mode) {
+        return switch (mode) {
+            case DOWN -> false;
+            case UP -> true;
+            case FLOOR -> negative;
+            case CEILING -> !negative;
+            case HALF_UP -> r * 2 >= SCALE;
+            case HALF_DOWN -> r * 2 > SCALE;
+            case HALF_EVEN -> r * 2 > SCALE || (r * 2 == SCALE && (q & 1) == 1);
+            case UNNECESSARY -> throw new ArithmeticException("반올림이 필요한 환산입니다.");
+        };
+    }
+
+    private long[] cells(Side side) {
+        return switch (side) {
+            case BASE -> base;
+            case BUY -> buy;
+            case SELL -> sell;
+        };
+    }
+
+    private static boolean positive(Double value) {
+        return value != null && value > 0;
+    }
+
+    private static BigDecimal perUnit(BigDecimal rate, BigDecimal unit) {
+        return unit.equals(BigDecimal.ONE) ? rate : rate.divide(unit);
+    }
+
+    // from / to → 고정소수점 (반올림)
+    private static long fixed(BigDecimal from, BigDecimal to) {
+        return from.multiply(SCALE_DECIMAL).divide(to, 0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,185 @@
+package kr.co.api.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import kr.co.api.backend.dto.InterestRateDTO;
+import kr.co.api.backend.dto.ProductDTO;
+import kr.co.api.backend.mapper.DepositMapper;
+import kr.co.api.backend.mapper.admin.ProductMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [예금 상품 카탈로그 / 금리표 캐시]
+ * - 하루 몇 번 바뀌는 기준 데이터라 요청마다 Oracle을 치지 않도록 L1(프로세스) + L2(Redis) 캐시
+ * - 상품 변경(등록 / 상태 변경 / 오픈일 배치) 시 L2를 지우고 Redis pub/sub으로 모든 노드의 L1 무효화
+ * - 금리표(TB 최신 금리)는 외부 적재라 TTL로만 갱신 (필요 시 관리자 API로 수동 무효화)
+ */
+@Slf4j
+@Component
+public class DepositCatalogCache implements MessageListener {
+
+    private static final String CHANNEL = "cache:invalidate:deposit";
+    private static final String ALL = "*";
+
+    // 캐시 영역 이름 (무효화 메시지 "영역:키" 의 앞부분)
+    private static final String PRODUCTS = "deposit-products";
+    private static final String ACTIVE_PRODUCTS = "deposit-active-products";
+    private static final String ADMIN_PRODUCTS = "admin-products";
+    private static final String INTEREST = "deposit-interest";
+
+    private final DepositMapper depositMapper;
+    private final ProductMapper productMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final TwoLevelCache<ProductDTO> products;
+    private final TwoLevelCache<List<ProductDTO>> activeProducts;
+    private final TwoLevelCache<ProductDTO> adminProducts;
+    private final TwoLevelCache<InterestRateDTO> interest;
+
+    public DepositCatalogCache(
+            DepositMapper depositMapper,
+            ProductMapper productMapper,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            ObjectMapper objectMapper,
+            @Value("${flobank.cache.catalog.l1-max-size:500}") int catalogMaxSize,
+            @Value("${flobank.cache.catalog.l1-ttl-seconds:300}") long catalogL1TtlSec,
+            @Value("${flobank.cache.catalog.l2-ttl-seconds:3600}") long catalogL2TtlSec,
+            @Value("${flobank.cache.interest.l1-ttl-seconds:60}") long interestL1TtlSec,
+            @Value("${flobank.cache.interest.l2-ttl-seconds:600}") long interestL2TtlSec) {
+        this.depositMapper = depositMapper;
+        this.productMapper = productMapper;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+
+        var types = objectMapper.getTypeFactory();
+        this.products = new TwoLevelCache<>(PRODUCTS, types.constructType(ProductDTO.class),
+                catalogMaxSize, catalogL1TtlSec * 1000, Duration.ofSeconds(catalogL2TtlSec), redisTemplate, objectMapper);
+        this.activeProducts = new TwoLevelCache<>(ACTIVE_PRODUCTS, types.constructCollectionType(List.class, ProductDTO.class),
+                1, catalogL1TtlSec * 1000, Duration.ofSeconds(catalogL2TtlSec), redisTemplate, objectMapper);
+        this.adminProducts = new TwoLevelCache<>(ADMIN_PRODUCTS, types.constructType(ProductDTO.class),
+                catalogMaxSize, catalogL1TtlSec * 1000, Duration.ofSeconds(catalogL2TtlSec), redisTemplate, objectMapper);
+        // 통화 수만큼만 들어감
+        this.interest = new TwoLevelCache<>(INTEREST, types.constructType(InterestRateDTO.class),
+                64, interestL1TtlSec * 1000, Duration.ofSeconds(interestL2TtlSec), redisTemplate, objectMapper);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    // --- 조회 ---
+
+    public List<ProductDTO> findActiveProducts() {
+        return activeProducts.get(ALL, depositMapper::findActiveProducts);
+    }
+
+    public ProductDTO findProductById(String dpstId) {
+        return products.get(dpstId, () -> depositMapper.findProductById(dpstId));
+    }
+
+    // 관리자 상세 (조인 컬럼이 달라 별도 영역)
+    public ProductDTO getAdminProductById(String dpstId) {
+        return adminProducts.get(dpstId, () -> productMapper.getProductById(dpstId));
+    }
+
+    public InterestRateDTO getRecentInterest(String currency) {
+        return interest.get(currency, () -> depositMapper.getRecentInterest(currency));
+    }
+
+    // --- 무효화 ---
+
+    /**
+     * 상품 변경 반영
+     * - 트랜잭션 안이면 커밋 이후에 (롤백된 변경으로 캐시를 지우거나, 커밋 전 값을 다시 채우지 않도록)
+     *
+     * @param dpstId 변경된 상품 (null이면 전체)
+     */
+    public void evictProduct(String dpstId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishProductEviction(dpstId);
+                }
+            });
+            return;
+        }
+        publishProductEviction(dpstId);
+    }
+
+    public void evictInterest(String currency) {
+        interest.invalidateRemote(currency);
+        interest.invalidateLocal(currency);
+        publish(INTEREST, currency);
+    }
+
+    private void publishProductEviction(String dpstId) {
+        // 목록은 어떤 상품이 바뀌어도 다시 만들어야 함
+        activeProducts.invalidateRemote(ALL);
+        products.invalidateRemote(dpstId);
+        adminProducts.invalidateRemote(dpstId);
+
+        activeProducts.invalidateLocal(ALL);
+        products.invalidateLocal(dpstId);
+        adminProducts.invalidateLocal(dpstId);
+
+        publish(PRODUCTS, dpstId);
+    }
+
+    private void publish(String region, String key) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, region + ":" + (key == null ? ALL : key));
+        } catch (Exception e) {
+            // 다른 노드는 L1 TTL 만료로 수렴
+            log.warn("⚠️ [Cache] 무효화 메시지 발행 실패 ({}:{}) : {}", region, key, e.getMessage());
+        }
+    }
+
+    // 다른 노드(자기 자신 포함)가 보낸 무효화 메시지 → L1만 비움
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int idx = body.indexOf(':');
+        if (idx < 0) return;
+
+        String region = body.substring(0, idx);
+        String key = body.substring(idx + 1);
+        if (ALL.equals(key)) key = null;
+
+        if (PRODUCTS.equals(region)) {
+            activeProducts.invalidateLocal(ALL);
+            products.invalidateLocal(key);
+            adminProducts.invalidateLocal(key);
+        } else if (INTEREST.equals(region)) {
+            interest.invalidateLocal(key);
+        }
+        log.debug("[Cache] 무효화 수신 : {}", body);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put(ACTIVE_PRODUCTS, activeProducts.getStats());
+        stats.put(PRODUCTS, products.getStats());
+        stats.put(ADMIN_PRODUCTS, adminProducts.getStats());
+        stats.put(INTEREST, interest.getStats());
+        return stats;
+    }
+}
@@ -0,0 +1,268 @@
+package kr.co.api.backend.cache;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * [통화 1개의 환율 시계열 (고시 1회 = 점 1개)]
+ * - 고시일(epoch day) int[] / 매매기준율 double[] 병렬 배열을 512개 단위 청크로 이어 붙임
+ *   → 늘어날 때 기존 데이터를 복사하지 않고, 점 1개당 12바이트 (RateDTO 객체 대비 수십 배 작음)
+ * - 쓰기는 시간순 추가만 (RateSeriesStore가 한 스레드로), 읽기는 락 없이
+ *   : 값을 먼저 쓰고 size(volatile)를 나중에 올리므로 size까지 읽은 점은 항상 완성된 값
+ * - 최근 등락 / 이동평균은 추가할 때 미리 계산해 둠 (summary)
+ */
+public final class RateSeries {
+
+    private static final int CHUNK_BITS = 9;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    public enum Unit { DAY, WEEK, MONTH }
+
+    public record Point(LocalDate date, double rate) {
+    }
+
+    public record Candle(LocalDate start, double open, double high, double low, double close, int points) {
+    }
+
+    /**
+     * 최근 값 요약 (null = 비교할 과거 데이터 부족)
+     * - 전일/전주/전월 대비는 각각 1일/7일/1개월 전 이전의 마지막 고시와 비교
+     * - 이동평균은 일별 종가(그날 마지막 고시) 기준
+     */
+    public record Summary(String currency, LocalDate date, double rate,
+                          Double changeDay, Double changeDayPct,
+                          Double changeWeek, Double changeWeekPct,
+                          Double changeMonth, Double changeMonthPct,
+                          Double ma5, Double ma20, Double ma60) {
+    }
+
+    private final String currency;
+
+    private volatile int[][] dayChunks = new int[0][];
+    private volatile double[][] rateChunks = new double[0][];
+    private volatile int size;
+    private volatile Summary summary;
+
+    // 마지막 점의 고시회차 (쓰기 스레드 전용, 같은 날 중복 추가 방지)
+    private int lastAnnounceNo;
+
+    RateSeries(String currency) {
+        this.currency = currency;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Summary getSummary() {
+        return summary;
+    }
+
+    // --- 쓰기 (RateSeriesStore에서만) ---
+
+    // 마지막 점보다 뒤(고시일, 회차)인지
+    boolean isNewer(int epochDay, int announceNo) {
+        int n = size;
+        if (n == 0) return true;
+        int lastDay = dayChunks[(n - 1) >>> CHUNK_BITS][(n - 1) & CHUNK_MASK];
+        return epochDay > lastDay || (epochDay == lastDay && announceNo > lastAnnounceNo);
+    }
+
+    int lastEpochDay() {
+        int n = size;
+        return n == 0 ? Integer.MIN_VALUE : dayChunks[(n - 1) >>> CHUNK_BITS][(n - 1) & CHUNK_MASK];
+    }
+
+    /**
+     * @return false = 마지막 점보다 앞서거나 같은 고시 (무시)
+     */
+    boolean append(int epochDay, int announceNo, double rate) {
+        if (!isNewer(epochDay, announceNo)) return false;
+
+        int n = size;
+        int chunk = n >>> CHUNK_BITS;
+        if (chunk == dayChunks.length) {
+            int[][] days = Arrays.copyOf(dayChunks, chunk + 1);
+            double[][] rates = Arrays.copyOf(rateChunks, chunk + 1);
+            days[chunk] = new int[CHUNK_SIZE];
+            rates[chunk] = new double[CHUNK_SIZE];
+            dayChunks = days;
+            rateChunks = rates;
+        }
+        dayChunks[chunk][n & CHUNK_MASK] = epochDay;
+        rateChunks[chunk][n & CHUNK_MASK] = rate;
+        lastAnnounceNo = announceNo;
+        size = n + 1; // 값 기록 후 공개
+        return true;
+    }
+
+    void refreshSummary() {
+        View v = view();
+        if (v.n == 0) return;
+
+        int lastIdx = v.n - 1;
+        int lastDay = v.day(lastIdx);
+        double last = v.rate(lastIdx);
+        LocalDate lastDate = LocalDate.ofEpochDay(lastDay);
+
+        Double prevDay = v.closeAtOrBefore(lastDay - 1);
+        Double prevWeek = v.closeAtOrBefore(lastDay - 7);
+        Double prevMonth = v.closeAtOrBefore((int) lastDate.minusMonths(1).toEpochDay());
+
+        summary = new Summary(currency, lastDate, last,
+                diff(last, prevDay), pct(last, prevDay),
+                diff(last, prevWeek), pct(last, prevWeek),
+                diff(last, prevMonth), pct(last, prevMonth),
+                v.movingAverage(5), v.movingAverage(20), v.movingAverage(60));
+    }
+
+    // --- 읽기 ---
+
+    // [from, to] 구간 전체 점 (null이면 처음/끝까지)
+    public List<Point> range(LocalDate from, LocalDate to) {
+        View v = view();
+        int lo = v.lowerBound(from);
+        int hi = v.upperBound(to);
+        List<Point> points = new ArrayList<>(Math.max(0, hi - lo));
+        for (int i = lo; i < hi; i++) {
+            points.add(new Point(LocalDate.ofEpochDay(v.day(i)), v.rate(i)));
+        }
+        return points;
+    }
+
+    /**
+     * [from, to] 구간을 최대 maxPoints개로 줄임 (차트용)
+     * - 구간을 maxPoints개 구간으로 나눠 각 구간의 마지막 점(종가) 사용, 마지막 점은 항상 포함
+     */
+    public List<Point> downsample(LocalDate from, LocalDate to, int maxPoints) {
+        View v = view();
+        int lo = v.lowerBound(from);
+        int hi = v.upperBound(to);
+        int count = hi - lo;
+        if (count <= maxPoints || maxPoints <= 0) return range(from, to);
+
+        List<Point> points = new ArrayList<>(maxPoints);
+        for (int b = 1; b <= maxPoints; b++) {
+            int idx = lo + (int) ((long) count * b / maxPoints) - 1;
+            points.add(new Point(LocalDate.ofEpochDay(v.day(idx)), v.rate(idx)));
+        }
+        return points;
+    }
+
+    // [from, to] 구간 일/주(월요일 시작)/월 봉
+    public List<Candle> ohlc(LocalDate from, LocalDate to, Unit unit) {
+        View v = view();
+        int lo = v.lowerBound(from);
+        int hi = v.upperBound(to);
+
+        List<Candle> candles = new ArrayList<>();
+        int bucket = Integer.MIN_VALUE;
+        double open = 0, high = 0, low = 0, close = 0;
+        int points = 0;
+        for (int i = lo; i < hi; i++) {
+            int key = bucketStart(v.day(i), unit);
+            double rate = v.rate(i);
+            if (key != bucket) {
+                if (points > 0) {
+                    candles.add(new Candle(LocalDate.ofEpochDay(bucket), open, high, low, close, points));
+                }
+                bucket = key;
+                open = high = low = rate;
+                points = 0;
+            }
+            high = Math.max(high, rate);
+            low = Math.min(low, rate);
+            close = rate;
+            points++;
+        }
+        if (points > 0) {
+            candles.add(new Candle(LocalDate.ofEpochDay(bucket), open, high, low, close, points));
+        }
+        return candles;
+    }
+
+    private static int bucketStart(int epochDay, Unit unit) {
+        return switch (unit) {
+            case DAY -> epochDay;
+            // epoch day 0 = 1970-01-01(목) → +3 하면 월요일이 0
+            case WEEK -> epochDay - Math.floorMod(epochDay + 3, 7);
+            case MONTH -> (int) LocalDate.ofEpochDay(epochDay).withDayOfMonth(1).toEpochDay();
+        };
+    }
+
+    private static Double diff(double now, Double before) {
+        return before == null ? null : Math.round((now - before) * 100) / 100.0;
+    }
+
+    private static Double pct(double now, Double before) {
+        if (before == null || before == 0) return null;
+        return Math.round((now - before) / before * 10000) / 100.0;
+    }
+
+    private View view() {
+        // size를 먼저 읽어야 그 뒤에 읽은 청크 배열이 size만큼의 점을 담고 있음
+        int n = size;
+        return new View(n, dayChunks, rateChunks);
+    }
+
+    // 읽는 시점의 시계열 (n개 까지만 사용)
+    private record View(int n, int[][] days, double[][] rates) {
+
+        int day(int i) {
+            return days[i >>> CHUNK_BITS][i & CHUNK_MASK];
+        }
+
+        double rate(int i) {
+            return rates[i >>> CHUNK_BITS][i & CHUNK_MASK];
+        }
+
+        // day >= from 인 첫 위치
+        int lowerBound(LocalDate from) {
+            return from == null ? 0 : firstIndexAfter((int) from.toEpochDay() - 1);
+        }
+
+        // day <= to 인 마지막 위치 + 1
+        int upperBound(LocalDate to) {
+            return to == null ? n : firstIndexAfter((int) to.toEpochDay());
+        }
+
+        // day > epochDay 인 첫 위치 (이진 탐색)
+        int firstIndexAfter(int epochDay) {
+            int lo = 0;
+            int hi = n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (day(mid) <= epochDay) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        // epochDay 이전(포함) 마지막 고시
+        Double closeAtOrBefore(int epochDay) {
+            int idx = firstIndexAfter(epochDay) - 1;
+            return idx < 0 ? null : rate(idx);
+        }
+
+        // 최근 k일 일별 종가 평균
+        Double movingAverage(int k) {
+            double sum = 0;
+            int count = 0;
+            int i = n - 1;
+            while (i >= 0 && count < k) {
+                int d = day(i);
+                sum += rate(i);
+                count++;
+                while (i >= 0 && day(i) == d) i--;
+            }
+            return count < k ? null : Math.round(sum / k * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package kr.co.api.backend.cache;
+
+import jakarta.annotation.PostConstruct;
+import kr.co.api.backend.dto.RateDTO;
+import kr.co.api.backend.mapper.RateMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * [통화별 환율 시계열 저장소]
+ * - 기동 시 TB_EXCH_RATE_HIST 전체를 한 번 스트리밍으로 읽어 통화별 RateSeries에 적재
+ * - 이후에는 환율 스냅샷 교체(RateSnapshotCache.Updated, 다른 노드 적재 포함) 때 마지막 점 이후 고시만 추가
+ * - 차트 / 기간 조회 / 봉 / 등락 / 이동평균을 Oracle 없이 응답
+ * - 기동 시 적재에 실패하면 조회 시 다시 시도 (30초 간격)
+ */
+@Slf4j
+@Component
+public class RateSeriesStore {
+
+    private static final long LOAD_RETRY_INTERVAL_MS = 30_000;
+
+    private final RateMapper rateMapper;
+    private final Map<String, RateSeries> series = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+    private volatile long lastLoadAttempt;
+    private volatile long loadedPoints;
+    private volatile long loadMillis;
+    private volatile long appendedPoints;
+
+    public RateSeriesStore(RateMapper rateMapper) {
+        this.rateMapper = rateMapper;
+    }
+
+    @PostConstruct
+    public void init() {
+        load();
+    }
+
+    /**
+     * 통화 시계열 (없으면 null)
+     */
+    public RateSeries get(String currency) {
+        ensureLoaded();
+        return currency == null ? null : series.get(currency);
+    }
+
+    // 통화 코드순 요약 (최근값 / 등락 / 이동평균)
+    public List<RateSeries.Summary> summaries() {
+        ensureLoaded();
+        List<RateSeries.Summary> result = new ArrayList<>();
+        series.keySet().stream().sorted().forEach(cur -> {
+            RateSeries.Summary summary = series.get(cur).getSummary();
+            if (summary != null) result.add(summary);
+        });
+        return result;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded && System.currentTimeMillis() - lastLoadAttempt > LOAD_RETRY_INTERVAL_MS) {
+            load();
+        }
+    }
+
+    private synchronized void load() {
+        if (loaded) return;
+        lastLoadAttempt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            long[] count = {0};
+            // 통화, 고시일, 회차 순 → 통화별로 시간순 추가
+            rateMapper.selectRateSeries(context -> {
+                if (append(context.getResultObject())) count[0]++;
+            });
+            series.values().forEach(RateSeries::refreshSummary);
+            loadedPoints = count[0];
+            loadMillis = (System.nanoTime() - start) / 1_000_000;
+            loaded = true;
+            log.info("✅ [RateSeries] {}개 통화 {}건 적재 ({}ms)", series.size(), count[0], loadMillis);
+        } catch (Exception e) {
+            // 부분 적재분은 버리고 다음 시도에서 처음부터
+            series.clear();
+            log.error("❌ [RateSeries] 적재 실패, 조회 시 다시 시도합니다 : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 스냅샷 교체 → 최신 고시가 시계열 끝보다 뒤인 통화만, 그 중 가장 오래된 끝 날짜 이후를 한 번에 조회해서 추가
+     * - 스냅샷 사이에 고시가 여러 회차 들어와도 빠짐없이 추가됨
+     */
+    @EventListener
+    public synchronized void onSnapshotUpdated(RateSnapshotCache.Updated event) {
+        if (!loaded) return;
+
+        LocalDate since = null;
+        for (RateDTO rate : event.current().rates().values()) {
+            if (rate.getRhistRegDt() == null || rate.getRhistBaseRate() == null) continue;
+            RateSeries s = series.get(rate.getRhistCurrency());
+            int day = (int) rate.getRhistRegDt().toEpochDay();
+            if (s != null && !s.isNewer(day, rate.getRhistAnnounceNo())) continue;
+
+            // 새 통화는 오늘 고시만 보면 됨 (이력 전체는 다음 기동 때)
+            LocalDate from = s == null || s.size() == 0
+                    ? rate.getRhistRegDt()
+                    : LocalDate.ofEpochDay(s.lastEpochDay());
+            if (since == null || from.isBefore(since)) since = from;
+        }
+        if (since == null) return;
+
+        Set<RateSeries> touched = new HashSet<>();
+        int appended = 0;
+        try {
+            for (RateDTO rate : rateMapper.selectRatesSince(since)) {
+                if (append(rate)) {
+                    touched.add(series.get(rate.getRhistCurrency()));
+                    appended++;
+                }
+            }
+        } catch (Exception e) {
+            // 다음 스냅샷 교체 때 같은 구간부터 다시 추가
+            log.error("❌ [RateSeries] {} 이후 고시 추가 실패 : {}", since, e.getMessage());
+        }
+        touched.forEach(RateSeries::refreshSummary);
+        appendedPoints += appended;
+        log.info("♻️ [RateSeries] {} 이후 고시 {}건 추가 ({}개 통화)", since, appended, touched.size());
+    }
+
+    // 시간순이 아닌 고시(이미 있는 회차 포함)는 무시
+    private boolean append(RateDTO rate) {
+        if (rate == null || rate.getRhistCurrency() == null
+                || rate.getRhistRegDt() == null || rate.getRhistBaseRate() == null) {
+            return false;
+        }
+        return series.computeIfAbsent(rate.getRhistCurrency(), RateSeries::new)
+                .append((int) rate.getRhistRegDt().toEpochDay(), rate.getRhistAnnounceNo(), rate.getRhistBaseRate());
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", loaded);
+        stats.put("currencies", series.size());
+        stats.put("points", series.values().stream().mapToLong(RateSeries::size).sum());
+        stats.put("loadedPoints", loadedPoints);
+        stats.put("loadMillis", loadMillis);
+        stats.put("appendedPoints", appendedPoints);
+        return stats;
+    }
+}
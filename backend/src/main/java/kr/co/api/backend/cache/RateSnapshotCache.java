@@ -0,0 +1,206 @@
+package kr.co.api.backend.cache;
+
+import jakarta.annotation.PostConstruct;
+import kr.co.api.backend.dto.RateDTO;
+import kr.co.api.backend.mapper.RateMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [통화별 최신 환율 스냅샷]
+ * - 환율은 RateService.collectTodayRate 적재 때만 바뀌므로, 통화별 최신 1건을 메모리에 들고
+ *   환전/예금 환산이 DB 대신 volatile 읽기 1번으로 가져감
+ * - 스냅샷은 불변 객체 → 적재 후 새로 만들어 참조만 교체 (읽는 쪽은 락 없음, 반쯤 바뀐 상태를 볼 일 없음)
+ * - 적재한 노드가 Redis pub/sub으로 알리면 다른 노드도 DB에서 다시 읽음 (메시지 유실 대비 주기 재적재)
+ * - 스냅샷에 없는 통화는 DB 조회로 대체 (신규 통화 / 기동 시 DB 장애)
+ * - 교체할 때마다 Updated 이벤트 발행 (실시간 환율 피드가 이전/현재 스냅샷 차이를 클라이언트에 전송)
+ * - 다시 읽은 내용이 그대로면 교체하지 않음 (주기 재적재마다 버전이 올라 피드가 전체 스냅샷을 다시 보내지 않도록)
+ * - 반환 객체는 모든 요청이 공유하므로 호출자가 수정하면 안 됨
+ */
+@Slf4j
+@Component
+public class RateSnapshotCache implements MessageListener {
+
+    private static final String CHANNEL = "cache:refresh:rate";
+
+    private final RateMapper rateMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 자기 자신이 보낸 갱신 메시지는 무시 (이미 재적재함)
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder reloadFailures = new LongAdder();
+    private final LongAdder reloadsUnchanged = new LongAdder();
+    private volatile long lastCheckedAt;
+
+    /**
+     * @param rates    통화 코드 → 최신 환율 (불변)
+     * @param previous 통화 코드 → 직전 고시 환율 (등락 계산용, 불변)
+     * @param latestDt 스냅샷 안에서 가장 최근 고시일
+     */
+    public record Snapshot(Map<String, RateDTO> rates, Map<String, RateDTO> previous,
+                           LocalDate latestDt, long version, long loadedAt) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), null, 0, 0);
+    }
+
+    // 스냅샷 교체 알림 (같은 노드 안에서만)
+    public record Updated(Snapshot previous, Snapshot current) {
+    }
+
+    public RateSnapshotCache(RateMapper rateMapper,
+                             StringRedisTemplate redisTemplate,
+                             RedisMessageListenerContainer listenerContainer,
+                             ApplicationEventPublisher eventPublisher) {
+        this.rateMapper = rateMapper;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        reload();
+    }
+
+    // --- 조회 ---
+
+    public RateDTO getLatest(String currency) {
+        if (currency == null || currency.isBlank()) return null;
+
+        RateDTO rate = snapshot.rates().get(currency);
+        if (rate != null) {
+            hits.increment();
+            return rate;
+        }
+        fallbacks.increment();
+        return rateMapper.selectLatestRate(currency);
+    }
+
+    // 통화 코드순 전체 (스냅샷이 비어 있으면 DB)
+    public List<RateDTO> getAllLatest() {
+        Snapshot current = snapshot;
+        if (current.rates().isEmpty()) {
+            fallbacks.increment();
+            return rateMapper.selectLatestRates();
+        }
+        hits.increment();
+        return List.copyOf(current.rates().values());
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // --- 갱신 ---
+
+    /**
+     * 환율 적재 후 호출: 이 노드 스냅샷 교체 + 다른 노드에 갱신 알림
+     */
+    public void refreshAndPublish() {
+        reload();
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId);
+        } catch (Exception e) {
+            // 다른 노드는 주기 재적재로 수렴
+            log.warn("⚠️ [RateSnapshot] 갱신 메시지 발행 실패 : {}", e.getMessage());
+        }
+    }
+
+    // pub/sub 유실 대비 주기 재적재
+    @Scheduled(fixedDelayString = "${flobank.rate-snapshot.reload-interval-ms:600000}",
+            initialDelayString = "${flobank.rate-snapshot.reload-interval-ms:600000}")
+    public void reloadPeriodically() {
+        reload();
+    }
+
+    /**
+     * DB에서 통화별 최신 / 직전 고시를 읽어 새 스냅샷으로 교체 (실패 시 기존 스냅샷 유지)
+     */
+    public synchronized void reload() {
+        Snapshot current = snapshot;
+        Snapshot next;
+        try {
+            List<RateDTO> latest = rateMapper.selectLatestRates();
+            Map<String, RateDTO> rates = new LinkedHashMap<>();
+            LocalDate latestDt = null;
+            for (RateDTO rate : latest) {
+                if (rate.getRhistCurrency() == null) continue;
+                rates.put(rate.getRhistCurrency(), rate);
+                if (rate.getRhistRegDt() != null && (latestDt == null || rate.getRhistRegDt().isAfter(latestDt))) {
+                    latestDt = rate.getRhistRegDt();
+                }
+            }
+            Map<String, RateDTO> previous = new LinkedHashMap<>();
+            for (RateDTO rate : rateMapper.selectPreviousRates()) {
+                previous.put(rate.getRhistCurrency(), rate);
+            }
+            lastCheckedAt = System.currentTimeMillis();
+            if (rates.equals(current.rates()) && previous.equals(current.previous())) {
+                // 고시 변화 없음 → 버전 유지, 이벤트 없음
+                reloadsUnchanged.increment();
+                log.debug("[RateSnapshot] v{} 변경 없음, 교체 생략", current.version());
+                return;
+            }
+            // 쿼리가 통화 코드순 → 순서 유지 (Map.copyOf는 순서를 보장하지 않으므로 읽기 전용 래퍼)
+            next = new Snapshot(Collections.unmodifiableMap(rates), Collections.unmodifiableMap(previous),
+                    latestDt, current.version() + 1, lastCheckedAt);
+            snapshot = next;
+            reloads.increment();
+            log.info("♻️ [RateSnapshot] v{} 적재 ({}개 통화, 기준일 {})", next.version(), rates.size(), latestDt);
+        } catch (Exception e) {
+            reloadFailures.increment();
+            log.error("❌ [RateSnapshot] 재적재 실패, 기존 스냅샷(v{}) 유지 : {}", current.version(), e.getMessage());
+            return;
+        }
+        eventPublisher.publishEvent(new Updated(current, next));
+    }
+
+    // 다른 노드가 적재를 마쳤다는 알림 → DB에서 다시 읽음
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String sender = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (nodeId.equals(sender)) return;
+        log.debug("[RateSnapshot] 갱신 알림 수신 (from {})", sender);
+        reload();
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", current.version());
+        stats.put("currencies", current.rates().size());
+        stats.put("latestDt", current.latestDt() != null ? current.latestDt().toString() : null);
+        stats.put("loadedAt", current.loadedAt());
+        stats.put("lastCheckedAt", lastCheckedAt);
+        stats.put("hits", hits.sum());
+        stats.put("fallbacks", fallbacks.sum());
+        stats.put("reloads", reloads.sum());
+        stats.put("reloadFailures", reloadFailures.sum());
+        stats.put("reloadsUnchanged", reloadsUnchanged.sum());
+        return stats;
+    }
+}
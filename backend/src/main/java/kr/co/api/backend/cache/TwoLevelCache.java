@@ -0,0 +1,202 @@
+package kr.co.api.backend.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * [2단계 캐시 1개 영역]
+ * - L1 : 프로세스 내 LRU (maxSize 초과 시 가장 오래 안 쓴 항목 제거) + TTL
+ * - L2 : Redis (JSON 문자열, TTL) → 여러 노드가 공유
+ * - 둘 다 없으면 loader(DB) 호출 후 L1/L2에 채움. null 결과는 캐시하지 않음
+ * - L2 키에는 영역 버전(cache:{name}:ver)이 붙음: 무효화는 버전을 올리고(INCR), 로딩은 시작 전에 읽은 버전 키에만 씀
+ *   → 로딩 도중 (다른 노드에서) 무효화되면 그 결과는 아무도 읽지 않는 이전 버전 키로 가서 TTL로 사라짐
+ *   (키 1개 무효화도 영역 전체 L2를 비우는 셈, 카탈로그 변경은 드물어 DB 재조회 1회로 끝남)
+ * - Redis 장애 시에는 L1 + DB로만 동작
+ * - 반환 객체는 여러 요청이 공유하므로 호출자가 수정하면 안 됨
+ */
+@Slf4j
+public class TwoLevelCache<V> {
+
+    private final String name;
+    private final String redisPrefix;
+    private final String versionKey;
+    private final JavaType valueType;
+    private final int maxSize;
+    private final long l1TtlMillis;
+    private final Duration l2Ttl;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final LinkedHashMap<String, Entry<V>> l1;
+
+    // 무효화 세대: 로딩 도중 이 노드에 무효화가 들어오면 로딩 결과를 L1/L2에 넣지 않음 (오래된 값 재적재 방지)
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder l2Errors = new LongAdder();
+
+    public TwoLevelCache(String name, JavaType valueType, int maxSize, long l1TtlMillis, Duration l2Ttl,
+                         StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.name = name;
+        this.redisPrefix = "cache:" + name + ":";
+        this.versionKey = redisPrefix + "ver";
+        this.valueType = valueType;
+        this.maxSize = Math.max(1, maxSize);
+        this.l1TtlMillis = l1TtlMillis;
+        this.l2Ttl = l2Ttl;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.l1 = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                if (size() > TwoLevelCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public V get(String key, Supplier<V> loader) {
+        V value = getLocal(key);
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+
+        long gen = generation.get();
+
+        // 버전을 못 읽으면(Redis 장애) L2는 건너뜀
+        String remoteKey = remoteKey(key);
+        value = remoteKey == null ? null : getRemote(remoteKey);
+        if (value != null) {
+            l2Hits.increment();
+            putLocal(key, value, gen);
+            return value;
+        }
+
+        misses.increment();
+        value = loader.get();
+        if (value != null && generation.get() == gen) {
+            putLocal(key, value, gen);
+            if (remoteKey != null) putRemote(remoteKey, value);
+        }
+        return value;
+    }
+
+    // 이 노드의 L1만 비움 (pub/sub 메시지 수신 시)
+    public void invalidateLocal(String key) {
+        generation.incrementAndGet();
+        invalidations.increment();
+        synchronized (l1) {
+            if (key == null) l1.clear();
+            else l1.remove(key);
+        }
+    }
+
+    // L2(Redis) 무효화 = 영역 버전 올림 (변경을 일으킨 노드가 1회 수행, key와 무관하게 영역 전체)
+    public void invalidateRemote(String key) {
+        try {
+            redisTemplate.opsForValue().increment(versionKey);
+        } catch (Exception e) {
+            l2Errors.increment();
+            log.warn("⚠️ [Cache] {} L2 무효화 실패 : {}", name, e.getMessage());
+        }
+    }
+
+    private V getLocal(String key) {
+        synchronized (l1) {
+            Entry<V> entry = l1.get(key);
+            if (entry == null) return null;
+            if (entry.expiresAt < System.currentTimeMillis()) {
+                l1.remove(key);
+                expirations.increment();
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    private void putLocal(String key, V value, long gen) {
+        synchronized (l1) {
+            if (generation.get() != gen) return;
+            l1.put(key, new Entry<>(value, System.currentTimeMillis() + l1TtlMillis));
+        }
+    }
+
+    // 현재 영역 버전이 붙은 L2 키 (읽기 실패 시 null)
+    private String remoteKey(String key) {
+        try {
+            String version = redisTemplate.opsForValue().get(versionKey);
+            return redisPrefix + (version == null ? "0" : version) + ":" + key;
+        } catch (Exception e) {
+            l2Errors.increment();
+            log.debug("[Cache] {} L2 버전 조회 실패 (DB로 진행) : {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private V getRemote(String remoteKey) {
+        try {
+            String json = redisTemplate.opsForValue().get(remoteKey);
+            return json == null ? null : objectMapper.readValue(json, valueType);
+        } catch (Exception e) {
+            l2Errors.increment();
+            log.debug("[Cache] {} L2 조회 실패 (DB로 진행) : {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putRemote(String remoteKey, V value) {
+        try {
+            redisTemplate.opsForValue().set(remoteKey, objectMapper.writeValueAsString(value), l2Ttl);
+        } catch (Exception e) {
+            l2Errors.increment();
+            log.debug("[Cache] {} L2 저장 실패 : {}", name, e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hits1 = l1Hits.sum();
+        long hits2 = l2Hits.sum();
+        long miss = misses.sum();
+        long total = hits1 + hits2 + miss;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (l1) {
+            stats.put("l1Size", l1.size());
+        }
+        stats.put("l1MaxSize", maxSize);
+        stats.put("l1Hits", hits1);
+        stats.put("l2Hits", hits2);
+        stats.put("misses", miss);
+        stats.put("hitRatio", total == 0 ? 0.0 : Math.round((hits1 + hits2) * 1000.0 / total) / 1000.0);
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("l2Errors", l2Errors.sum());
+        return stats;
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,149 @@
+package kr.co.api.backend.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [DataSource 1개의 헬스 상태 (서킷 브레이커)]
+ * - CLOSED    : 정상. 최근 windowSize회 중 failureThreshold회 이상 실패(또는 느린 응답)하면 OPEN
+ * - OPEN      : 장애. openCooldownMs 경과 후 성공한 프로브부터 HALF_OPEN으로 시험
+ * - HALF_OPEN : 복구 시험 중. 연속 successThreshold회 성공해야 CLOSED, 한 번이라도 실패하면 다시 OPEN
+ * - 기록(record)은 초당 1~2회라 동기화하고, 읽기(isAvailable)는 락 없이 원자적 상태만 조회
+ */
+public class DbHealth {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // 프로브 지연 히스토그램 버킷 상한 (ms), 마지막 칸은 그 이상
+    private static final long[] BUCKET_BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000};
+
+    private final String name;
+    private final int failureThreshold;
+    private final int successThreshold;
+    private final long openCooldownMs;
+    private final long slowThresholdMs;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private volatile long openedAt;
+
+    // 최근 결과 윈도우 (record 안에서만 변경)
+    private final boolean[] window;
+    private int windowIdx;
+    private int windowFailures;
+    private int consecutiveSuccess;
+
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile long lastLatencyMs;
+    private volatile long maxLatencyMs;
+
+    public DbHealth(String name, int windowSize, int failureThreshold, int successThreshold,
+                    long openCooldownMs, long slowThresholdMs) {
+        this.name = name;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.failureThreshold = failureThreshold;
+        this.successThreshold = successThreshold;
+        this.openCooldownMs = openCooldownMs;
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean isAvailable() {
+        return state.get() == State.CLOSED;
+    }
+
+    /**
+     * 프로브 결과 기록
+     *
+     * @return 상태가 바뀌었으면 새 상태, 아니면 null
+     */
+    public synchronized State record(boolean success, long latencyMs) {
+        probes.increment();
+        lastLatencyMs = latencyMs;
+        if (latencyMs > maxLatencyMs) maxLatencyMs = latencyMs;
+        latencyHistogram.incrementAndGet(bucketOf(latencyMs));
+
+        // 느린 응답도 실패로 취급 (한 번 느린 ping에 바로 넘어가지 않도록 윈도우로 판단)
+        boolean ok = success && latencyMs <= slowThresholdMs;
+        if (!ok) failures.increment();
+
+        // 윈도우 갱신 (window[i] = 실패 여부)
+        if (window[windowIdx]) windowFailures--;
+        window[windowIdx] = !ok;
+        if (!ok) windowFailures++;
+        windowIdx = (windowIdx + 1) % window.length;
+
+        consecutiveSuccess = ok ? consecutiveSuccess + 1 : 0;
+
+        State current = state.get();
+        switch (current) {
+            case CLOSED -> {
+                if (windowFailures >= failureThreshold) return open(current);
+            }
+            case OPEN -> {
+                if (ok && System.currentTimeMillis() - openedAt >= openCooldownMs) {
+                    return transition(current, consecutiveSuccess >= successThreshold ? State.CLOSED : State.HALF_OPEN);
+                }
+            }
+            case HALF_OPEN -> {
+                if (!ok) return open(current);
+                if (consecutiveSuccess >= successThreshold) return transition(current, State.CLOSED);
+            }
+        }
+        return null;
+    }
+
+    private State open(State from) {
+        openedAt = System.currentTimeMillis();
+        return transition(from, State.OPEN);
+    }
+
+    private State transition(State from, State to) {
+        if (!state.compareAndSet(from, to)) return null;
+        if (to == State.CLOSED) resetWindow();
+        return to;
+    }
+
+    private void resetWindow() {
+        for (int i = 0; i < window.length; i++) window[i] = false;
+        windowFailures = 0;
+    }
+
+    private static int bucketOf(long latencyMs) {
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            if (latencyMs <= BUCKET_BOUNDS_MS[i]) return i;
+        }
+        return BUCKET_BOUNDS_MS.length;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state.get().name());
+        stats.put("available", isAvailable());
+        stats.put("probes", probes.sum());
+        stats.put("failures", failures.sum());
+        stats.put("windowFailures", windowFailures);
+        stats.put("lastLatencyMs", lastLatencyMs);
+        stats.put("maxLatencyMs", maxLatencyMs);
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            histogram.put("<=" + BUCKET_BOUNDS_MS[i] + "ms", latencyHistogram.get(i));
+        }
+        histogram.put(">" + BUCKET_BOUNDS_MS[BUCKET_BOUNDS_MS.length - 1] + "ms",
+                latencyHistogram.get(BUCKET_BOUNDS_MS.length));
+        stats.put("latencyHistogram", histogram);
+        return stats;
+    }
+}
@@ -1,42 +1,95 @@
 package kr.co.api.backend.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Slf4j
 @Component
 public class DbStatusManager {
 
-    private boolean isMasterAlive = true; // 기본값: Master 살아있음
-    private boolean isSlaveAlive = true;
+    public static final int MASTER_ALIVE = 1;
+    public static final int SLAVE_ALIVE = 2;
+
+    private final DbHealth masterHealth;
+    private final DbHealth slaveHealth;
+
+    // 라우팅용 생존 비트마스크 (기본값: Master/Slave 모두 살아있음) → 라우팅 판단은 volatile 1회 읽기
+    private volatile int aliveMask = MASTER_ALIVE | SLAVE_ALIVE;
+
+    // 하트비트로 측정한 Slave 복제 지연 (측정 불가 시 Long.MAX_VALUE)
+    private volatile long slaveLagMillis = Long.MAX_VALUE;
+
+    public DbStatusManager(
+            @Value("${flobank.db-health.window-size:5}") int windowSize,
+            @Value("${flobank.db-health.failure-threshold:3}") int failureThreshold,
+            @Value("${flobank.db-health.success-threshold:3}") int successThreshold,
+            @Value("${flobank.db-health.open-cooldown-ms:3000}") long openCooldownMs,
+            @Value("${flobank.db-health.slow-threshold-ms:800}") long slowThresholdMs) {
+        this.masterHealth = new DbHealth("master", windowSize, failureThreshold, successThreshold, openCooldownMs, slowThresholdMs);
+        this.slaveHealth = new DbHealth("slave", windowSize, failureThreshold, successThreshold, openCooldownMs, slowThresholdMs);
+    }
+
+    public int getAliveMask() {
+        return this.aliveMask;
+    }
 
     public boolean isMasterAlive() {
-        return this.isMasterAlive;
+        return (this.aliveMask & MASTER_ALIVE) != 0;
     }
 
     public boolean isSlaveAlive() {
-        return this.isSlaveAlive;
+        return (this.aliveMask & SLAVE_ALIVE) != 0;
     }
 
-    public void setMasterAlive(boolean alive) {
-        // 상태가 변할 때만 로그 출력
-        if (this.isMasterAlive != alive) {
-            if (alive) {
-                log.info("✅ [DB RECOVERY] Master DB가 복구되었습니다! 정상 모드로 전환합니다.");
-            } else {
-                log.error("🚨 [DB FAILOVER] Master DB 장애 발생! Slave DB를 메인으로 승격합니다.");
-            }
-        }
-        this.isMasterAlive = alive;
+    public long getSlaveLagMillis() {
+        return this.slaveLagMillis;
+    }
+
+    public void setSlaveLagMillis(long lagMillis) {
+        this.slaveLagMillis = lagMillis;
     }
 
-    // Slave 상태 변경 로직
-    public void setSlaveAlive(boolean alive) {
-        if (this.isSlaveAlive != alive) {
-            if (alive) log.info("✅ [DB RECOVERY] Slave DB 복구됨! 읽기 분산 재개.");
-            else log.warn("⚠️ [DB FALLBACK] Slave DB 사망! Master가 읽기까지 수행.");
+    // Master 프로브 결과 반영 (상태가 변할 때만 로그 출력)
+    public void recordMasterProbe(boolean success, long latencyMs) {
+        DbHealth.State changed = masterHealth.record(success, latencyMs);
+        if (changed == null) return;
+
+        if (changed == DbHealth.State.CLOSED) {
+            log.info("✅ [DB RECOVERY] Master DB가 복구되었습니다! 정상 모드로 전환합니다.");
+        } else if (changed == DbHealth.State.OPEN) {
+            log.error("🚨 [DB FAILOVER] Master DB 장애 발생! Slave DB를 메인으로 승격합니다.");
+        } else {
+            log.info("[DB HALF-OPEN] Master DB 응답 재개. 안정화 확인 중...");
         }
-        this.isSlaveAlive = alive;
+        refreshMask();
+    }
+
+    // Slave 프로브 결과 반영
+    public void recordSlaveProbe(boolean success, long latencyMs) {
+        DbHealth.State changed = slaveHealth.record(success, latencyMs);
+        if (changed == null) return;
+
+        if (changed == DbHealth.State.CLOSED) log.info("✅ [DB RECOVERY] Slave DB 복구됨! 읽기 분산 재개.");
+        else if (changed == DbHealth.State.OPEN) log.warn("⚠️ [DB FALLBACK] Slave DB 사망! Master가 읽기까지 수행.");
+        else log.info("[DB HALF-OPEN] Slave DB 응답 재개. 안정화 확인 중...");
+        refreshMask();
+    }
+
+    private synchronized void refreshMask() {
+        int mask = 0;
+        if (masterHealth.isAvailable()) mask |= MASTER_ALIVE;
+        if (slaveHealth.isAvailable()) mask |= SLAVE_ALIVE;
+        this.aliveMask = mask;
     }
-}
 
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("master", masterHealth.getStats());
+        stats.put("slave", slaveHealth.getStats());
+        return stats;
+    }
+}
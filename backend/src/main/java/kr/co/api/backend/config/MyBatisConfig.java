@@ -1,6 +1,7 @@
 package kr.co.api.backend.config;
 
 import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.SqlSessionTemplate;
@@ -32,6 +33,20 @@ public class MyBatisConfig {
     @Autowired
     private DbStatusManager dbStatusManager;
 
+    @Autowired
+    private PoolMetrics poolMetrics;
+
+    @Autowired
+    private SqlStats sqlStats;
+
+    // @Transactional(readOnly = true)도 Slave 읽기 대상으로 볼지 여부
+    @Value("${flobank.routing.read-only-tx-to-slave:false}")
+    private boolean readOnlyTxToSlave;
+
+    // readOnly 트랜잭션에 적용할 허용 복제 지연 (ms)
+    @Value("${flobank.routing.default-max-staleness-ms:2000}")
+    private long defaultMaxStalenessMs;
+
     // 감시자용 성격 급한 DataSource (Timeout 1초)
     @Bean(name = "masterPingDataSource")
     public DataSource masterPingDataSource() {
@@ -65,11 +80,48 @@ public class MyBatisConfig {
         return dataSource;
     }
 
-    // 1. Master DB
+    // 1. Master DB (OLTP 기본 풀)
     @Bean(name = "masterDataSource")
     @ConfigurationProperties(prefix = "spring.datasource.master")
     public DataSource masterDataSource() {
-        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).build();
+        dataSource.setPoolName("Master-HikariCP");
+        poolMetrics.register(dataSource);
+        return dataSource;
+    }
+
+    // 1-1. Master 통계(REPORTING) 전용 풀 - 대시보드/관리자 통계 풀스캔이 OLTP 커넥션을 뺏지 않도록 분리
+    @Bean(name = "masterReportingDataSource")
+    public DataSource masterReportingDataSource(
+            @Qualifier("masterDataSource") DataSource masterDataSource,
+            @Value("${flobank.pools.reporting.maximum-pool-size:3}") int maxPoolSize,
+            @Value("${flobank.pools.reporting.connection-timeout:10000}") long connectionTimeout) {
+        return workloadDataSource((HikariDataSource) masterDataSource, "Master-Reporting-HikariCP", maxPoolSize, connectionTimeout);
+    }
+
+    // 1-2. Master 배치(BATCH) 전용 풀 - 스케줄러 작업용
+    @Bean(name = "masterBatchDataSource")
+    public DataSource masterBatchDataSource(
+            @Qualifier("masterDataSource") DataSource masterDataSource,
+            @Value("${flobank.pools.batch.maximum-pool-size:2}") int maxPoolSize,
+            @Value("${flobank.pools.batch.connection-timeout:30000}") long connectionTimeout) {
+        return workloadDataSource((HikariDataSource) masterDataSource, "Master-Batch-HikariCP", maxPoolSize, connectionTimeout);
+    }
+
+    // Master 접속 정보는 그대로 쓰고 풀 크기만 따로 잡음
+    private DataSource workloadDataSource(HikariDataSource master, String poolName, int maxPoolSize, long connectionTimeout) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(master.getJdbcUrl());
+        dataSource.setUsername(master.getUsername());
+        dataSource.setPassword(master.getPassword());
+        dataSource.setDriverClassName(master.getDriverClassName());
+
+        dataSource.setPoolName(poolName);
+        dataSource.setMaximumPoolSize(maxPoolSize);
+        dataSource.setMinimumIdle(1);
+        dataSource.setConnectionTimeout(connectionTimeout);
+        poolMetrics.register(dataSource);
+        return dataSource;
     }
 
     // 2. Slave DB (이름 변경됨: realSlaveDataSource)
@@ -87,6 +139,7 @@ public class MyBatisConfig {
         dataSource.setMaximumPoolSize(10);
         dataSource.setMinimumIdle(5);
         dataSource.setConnectionTimeout(30000);
+        poolMetrics.register(dataSource);
 
         System.out.println(">>> [MyBatisConfig] realSlaveDataSource 생성 완료 (IP: 34.64.116.127)");
         return dataSource;
@@ -96,13 +149,18 @@ public class MyBatisConfig {
     @Bean(name = "routingDataSource")
     public DataSource routingDataSource(
             @Qualifier("masterDataSource") DataSource masterDataSource,
+            @Qualifier("masterReportingDataSource") DataSource masterReportingDataSource,
+            @Qualifier("masterBatchDataSource") DataSource masterBatchDataSource,
             @Qualifier("realSlaveDataSource") DataSource realSlaveDataSource) {
 
-        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource(dbStatusManager);
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource(
+                dbStatusManager, readOnlyTxToSlave, defaultMaxStalenessMs);
         Map<Object, Object> dataSourceMap = new HashMap<>();
 
         // 매핑
-        dataSourceMap.put("master", masterDataSource);
+        dataSourceMap.put(Workload.OLTP.masterKey(), masterDataSource);
+        dataSourceMap.put(Workload.REPORTING.masterKey(), masterReportingDataSource);
+        dataSourceMap.put(Workload.BATCH.masterKey(), masterBatchDataSource);
         dataSourceMap.put("slave", realSlaveDataSource);
 
         routingDataSource.setTargetDataSources(dataSourceMap);
@@ -128,6 +186,7 @@ public class MyBatisConfig {
         org.apache.ibatis.session.Configuration configuration = new org.apache.ibatis.session.Configuration();
         configuration.setMapUnderscoreToCamelCase(true);
         sessionFactory.setConfiguration(configuration);
+        sessionFactory.setPlugins(new SqlStatsInterceptor(sqlStats, null)); // 실제 라우팅 대상 기록
         return sessionFactory.getObject();
     }
 
@@ -153,6 +212,7 @@ public class MyBatisConfig {
         org.apache.ibatis.session.Configuration configuration = new org.apache.ibatis.session.Configuration();
         configuration.setMapUnderscoreToCamelCase(true);
         sessionFactory.setConfiguration(configuration);
+        sessionFactory.setPlugins(new SqlStatsInterceptor(sqlStats, "slave-direct"));
         return sessionFactory.getObject();
     }
 
@@ -161,6 +221,12 @@ public class MyBatisConfig {
         return new SqlSessionTemplate(slaveSqlSessionFactory);
     }
 
+    // Slave 복제 파이프라인 전용 (JDBC Batch 그룹 커밋)
+    @Bean(name = "slaveBatchSqlSessionTemplate")
+    public SqlSessionTemplate slaveBatchSqlSessionTemplate(@Qualifier("slaveSqlSessionFactory") SqlSessionFactory slaveSqlSessionFactory) {
+        return new SqlSessionTemplate(slaveSqlSessionFactory, ExecutorType.BATCH);
+    }
+
     // 6. 트랜잭션 매니저
     @Bean(name = "transactionManager")
     @Primary
@@ -0,0 +1,96 @@
+package kr.co.api.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [Hikari 커넥션 풀 지표]
+ * - 풀별 커넥션 대기 시간(획득까지 걸린 시간), 사용 시간, 타임아웃 횟수를 집계
+ * - 현재 active / idle / 대기 스레드 수는 HikariPoolMXBean에서 조회
+ * - 풀 크기를 워크로드별로 따로 잡을 때 근거로 사용
+ */
+@Component
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private final Map<String, Tracker> trackers = new ConcurrentHashMap<>();
+    private final List<HikariDataSource> pools = new CopyOnWriteArrayList<>();
+
+    // 지표 대상 풀 등록 (풀이 시작되기 전에 호출해야 함)
+    public void register(HikariDataSource dataSource) {
+        dataSource.setMetricsTrackerFactory(this);
+        pools.add(dataSource);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return trackers.computeIfAbsent(poolName, k -> new Tracker());
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (HikariDataSource ds : pools) {
+            String name = ds.getPoolName();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("maxPoolSize", ds.getMaximumPoolSize());
+
+            HikariPoolMXBean mx = ds.getHikariPoolMXBean();
+            if (mx != null) {
+                stats.put("active", mx.getActiveConnections());
+                stats.put("idle", mx.getIdleConnections());
+                stats.put("total", mx.getTotalConnections());
+                stats.put("waitingThreads", mx.getThreadsAwaitingConnection());
+            }
+
+            Tracker t = trackers.get(name);
+            if (t != null) {
+                long acquired = t.acquired.sum();
+                stats.put("acquired", acquired);
+                stats.put("avgWaitMicros", acquired > 0 ? t.waitNanos.sum() / acquired / 1000 : 0);
+                stats.put("maxWaitMicros", t.maxWaitNanos / 1000);
+                long used = t.usages.sum();
+                stats.put("avgUsageMillis", used > 0 ? t.usageMillis.sum() / used : 0);
+                stats.put("timeouts", t.timeouts.sum());
+            }
+            result.put(name, stats);
+        }
+        return result;
+    }
+
+    private static final class Tracker implements IMetricsTracker {
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private volatile long maxWaitNanos;
+        private final LongAdder usages = new LongAdder();
+        private final LongAdder usageMillis = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquired.increment();
+            waitNanos.add(elapsedAcquiredNanos);
+            if (elapsedAcquiredNanos > maxWaitNanos) maxWaitNanos = elapsedAcquiredNanos;
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usages.increment();
+            usageMillis.add(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+    }
+}
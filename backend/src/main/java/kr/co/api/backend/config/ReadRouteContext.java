@@ -0,0 +1,25 @@
+package kr.co.api.backend.config;
+
+/**
+ * 현재 스레드의 읽기 라우팅 요청 보관 (@ReadOnlyRoute → ReplicationRoutingDataSource)
+ * - 값: 허용 복제 지연(ms), null 이면 Master 고정
+ */
+public final class ReadRouteContext {
+
+    private static final ThreadLocal<Long> MAX_STALENESS = new ThreadLocal<>();
+
+    private ReadRouteContext() {
+    }
+
+    public static Long get() {
+        return MAX_STALENESS.get();
+    }
+
+    public static void set(Long maxStalenessMs) {
+        if (maxStalenessMs == null) {
+            MAX_STALENESS.remove();
+        } else {
+            MAX_STALENESS.set(maxStalenessMs);
+        }
+    }
+}
@@ -2,35 +2,139 @@ package kr.co.api.backend.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
 
 @Slf4j
 public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
 
+    /**
+     * 라우팅 키를 달고 나가는 커넥션 (SQL 통계에서 실제 대상 DB 표시용)
+     * - 스레드가 아니라 커넥션에 붙어 있으므로 커넥션이 닫히면 같이 사라짐
+     */
+    public interface RoutedConnection extends Connection {
+        String lookupKey();
+    }
+
     private final DbStatusManager dbStatusManager;
 
+    // @Transactional(readOnly = true) 조회도 Slave로 보낼지 여부와 그때의 허용 지연
+    private final boolean readOnlyTxToSlave;
+    private final long defaultMaxStalenessMs;
+
     public ReplicationRoutingDataSource(DbStatusManager dbStatusManager) {
+        this(dbStatusManager, false, 0L);
+    }
+
+    public ReplicationRoutingDataSource(DbStatusManager dbStatusManager,
+                                        boolean readOnlyTxToSlave,
+                                        long defaultMaxStalenessMs) {
         this.dbStatusManager = dbStatusManager;
+        this.readOnlyTxToSlave = readOnlyTxToSlave;
+        this.defaultMaxStalenessMs = defaultMaxStalenessMs;
+    }
+
+    // 커넥션이 RoutedConnection이면 그 키, 아니면 기본(master)
+    public static String lookupKeyOf(Connection connection) {
+        try {
+            if (connection != null && connection.isWrapperFor(RoutedConnection.class)) {
+                return connection.unwrap(RoutedConnection.class).lookupKey();
+            }
+        } catch (SQLException e) {
+            // 닫힌 커넥션 등 → 기본값
+        }
+        return "master";
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String key = resolveLookupKey();
+        return routed(targetOf(key).getConnection(), key);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        String key = resolveLookupKey();
+        return routed(targetOf(key).getConnection(username, password), key);
     }
 
     @Override
     protected Object determineCurrentLookupKey() {
-        boolean masterAlive = dbStatusManager.isMasterAlive();
-        boolean slaveAlive = dbStatusManager.isSlaveAlive();
+        return resolveLookupKey();
+    }
+
+    // determineTargetDataSource와 같은 규칙 (키가 없거나 모르는 키면 기본 DataSource)
+    private DataSource targetOf(String key) {
+        DataSource target = key != null ? getResolvedDataSources().get(key) : null;
+        if (target == null) target = getResolvedDefaultDataSource();
+        if (target == null) throw new IllegalStateException("라우팅 대상 DataSource가 없습니다. (key=" + key + ")");
+        return target;
+    }
+
+    private static Connection routed(Connection target, String key) {
+        String label = key != null ? key : "master";
+        return (Connection) Proxy.newProxyInstance(
+                RoutedConnection.class.getClassLoader(),
+                new Class<?>[]{RoutedConnection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "lookupKey" -> label;
+                    case "unwrap" -> ((Class<?>) args[0]).isInstance(proxy) ? proxy : target.unwrap((Class<?>) args[0]);
+                    case "isWrapperFor" -> ((Class<?>) args[0]).isInstance(proxy) || target.isWrapperFor((Class<?>) args[0]);
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "Routed[" + label + "] " + target;
+                    default -> {
+                        try {
+                            yield method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    }
+                });
+    }
+
+    private String resolveLookupKey() {
+        // 생존 상태는 비트마스크 1회 읽기로 판단
+        int aliveMask = dbStatusManager.getAliveMask();
+        boolean masterAlive = (aliveMask & DbStatusManager.MASTER_ALIVE) != 0;
+        boolean slaveAlive = (aliveMask & DbStatusManager.SLAVE_ALIVE) != 0;
 
         // 기본적 Master 사용
         if (masterAlive) {
-            return "master";
+            // 1. 읽기 전용 요청 + Slave 복제 지연이 허용 범위 이내면 Slave로 읽기 분산
+            Long budget = readBudget();
+            if (budget != null && slaveAlive && dbStatusManager.getSlaveLagMillis() <= budget) {
+                return "slave";
+            }
+            // 2. 워크로드별 Master 풀 (REPORTING / BATCH는 OLTP 풀과 분리)
+            return WorkloadContext.get().masterKey();
         }
 
-        // 2. Master 장애 발생 시 -> Slave로 Failover
+        // 3. Master 장애 발생 시 -> Slave로 Failover
         log.warn("[Failover] Master DB 장애 감지! Slave DB로 전환합니다.");
 
         if (slaveAlive) {
             return "slave";
         }
 
-        // 3. Master/Slave 모두 사망 (서비스 불가)
+        // 4. Master/Slave 모두 사망 (서비스 불가)
         log.error("💀 [CRITICAL] 모든 DB(Master/Slave) 연결 불가. 서비스가 중단됩니다.");
         return null;
     }
-}
\ No newline at end of file
+
+    // 이번 커넥션이 Slave 읽기 대상이면 허용 지연(ms), 아니면 null
+    private Long readBudget() {
+        Long budget = ReadRouteContext.get();
+        if (budget != null) return budget;
+
+        if (readOnlyTxToSlave && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return defaultMaxStalenessMs;
+        }
+        return null;
+    }
+}
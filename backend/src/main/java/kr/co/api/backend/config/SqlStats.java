@@ -0,0 +1,108 @@
+package kr.co.api.backend.config;
+
+import kr.co.api.backend.util.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [매퍼 statement별 SQL 실행 통계]
+ * - SqlStatsInterceptor가 기록, 관리자 API(/admin/api/system/sql)로 조회
+ * - statement + 대상 DB(master / slave ...) 단위로 지연 히스토그램 / 반환 건수 집계
+ * - 임계치보다 느린 쿼리는 바인딩 파라미터(개인정보 마스킹)와 함께 최근 N건 보관
+ */
+@Slf4j
+@Component
+public class SqlStats {
+
+    @Value("${flobank.sql-stats.slow-threshold-ms:500}")
+    private long slowThresholdMs;
+
+    @Value("${flobank.sql-stats.slow-capture-size:100}")
+    private int slowCaptureSize;
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Deque<Map<String, Object>> slowQueries = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger slowQueryCount = new AtomicInteger();
+
+    public long getSlowThresholdNanos() {
+        return slowThresholdMs * 1_000_000;
+    }
+
+    public void record(String statementId, String target, long elapsedNanos, long rows) {
+        StatementStats stats = statements.computeIfAbsent(statementId + "@" + target,
+                k -> new StatementStats(statementId, target));
+        stats.latency.recordNanos(elapsedNanos);
+        if (rows >= 0) stats.rows.add(rows);
+    }
+
+    public void recordSlow(String statementId, String target, long elapsedNanos, String sql, Map<String, Object> params) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("at", LocalDateTime.now().toString());
+        entry.put("statement", statementId);
+        entry.put("target", target);
+        entry.put("elapsedMs", elapsedNanos / 1_000_000);
+        entry.put("sql", sql);
+        entry.put("params", params);
+
+        slowQueries.addFirst(entry);
+        if (slowQueryCount.incrementAndGet() > slowCaptureSize) {
+            slowQueries.pollLast();
+            slowQueryCount.decrementAndGet();
+        }
+        log.warn("🐢 [Slow SQL] {} ({}) {}ms params={}", statementId, target, elapsedNanos / 1_000_000, params);
+    }
+
+    // 누적 실행 시간 내림차순
+    public List<Map<String, Object>> getStatementStats() {
+        List<StatementStats> list = new ArrayList<>(statements.values());
+        list.sort(Comparator.comparingLong((StatementStats s) -> s.latency.getTotalMicros()).reversed());
+
+        List<Map<String, Object>> result = new ArrayList<>(list.size());
+        for (StatementStats s : list) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("statement", s.statementId);
+            m.put("target", s.target);
+            m.put("totalMs", s.latency.getTotalMicros() / 1000);
+            long count = s.latency.getCount();
+            m.put("avgRows", count > 0 ? s.rows.sum() / count : 0);
+            m.putAll(s.latency.summary());
+            result.add(m);
+        }
+        return result;
+    }
+
+    public List<Map<String, Object>> getSlowQueries() {
+        return new ArrayList<>(slowQueries);
+    }
+
+    public void reset() {
+        statements.clear();
+        slowQueries.clear();
+        slowQueryCount.set(0);
+    }
+
+    private static final class StatementStats {
+        private final String statementId;
+        private final String target;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+
+        StatementStats(String statementId, String target) {
+            this.statementId = statementId;
+            this.target = target;
+        }
+    }
+}
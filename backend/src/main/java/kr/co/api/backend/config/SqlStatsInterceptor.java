@@ -0,0 +1,121 @@
+package kr.co.api.backend.config;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * [MyBatis SQL 실행 시간 측정 플러그인]
+ * - sqlSessionFactory(라우팅) / slaveSqlSessionFactory(Slave 직통) 양쪽에 등록
+ * - 라우팅 팩토리는 실제로 붙은 DB(master / master-reporting / slave ...)를 대상 이름으로 기록
+ *   (스레드 상태가 아니라 Executor의 커넥션에 달린 라우팅 키를 읽음)
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class SqlStatsInterceptor implements Interceptor {
+
+    // 개인정보로 보고 마스킹할 파라미터 이름
+    private static final Pattern SENSITIVE_NAME = Pattern.compile(
+            "(?i).*(pw|password|pin|jumin|rrn|ssn|hp|phone|email|name|addr|birth|acctno|balno|card).*");
+
+    private final SqlStats sqlStats;
+    private final String fixedTarget;
+
+    /**
+     * @param fixedTarget 대상 DB 이름 (null이면 ReplicationRoutingDataSource가 고른 키 사용)
+     */
+    public SqlStatsInterceptor(SqlStats sqlStats, String fixedTarget) {
+        this.sqlStats = sqlStats;
+        this.fixedTarget = fixedTarget;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        Object result = invocation.proceed();
+        long elapsed = System.nanoTime() - start;
+
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        String target = fixedTarget != null ? fixedTarget : routedTarget((Executor) invocation.getTarget());
+
+        long rows = -1;
+        if (result instanceof Collection<?> c) {
+            rows = c.size();
+        } else if (result instanceof Integer n && n >= 0) {
+            rows = n;
+        }
+        sqlStats.record(ms.getId(), target, elapsed, rows);
+
+        if (elapsed >= sqlStats.getSlowThresholdNanos()) {
+            Object parameter = args[1];
+            BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(parameter);
+            sqlStats.recordSlow(ms.getId(), target, elapsed,
+                    boundSql.getSql().replaceAll("\\s+", " ").trim(),
+                    maskedParams(ms.getConfiguration(), boundSql, parameter));
+        }
+        return result;
+    }
+
+    // 이 Executor가 쓰는 커넥션에 달린 라우팅 키 (커넥션을 얻지 못하면 기본값)
+    private static String routedTarget(Executor executor) {
+        try {
+            return ReplicationRoutingDataSource.lookupKeyOf(executor.getTransaction().getConnection());
+        } catch (SQLException e) {
+            return "master";
+        }
+    }
+
+    // 바인딩 파라미터 값 추출 + 개인정보 마스킹
+    private Map<String, Object> maskedParams(Configuration configuration, BoundSql boundSql, Object parameter) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (boundSql.getParameterMappings() == null) return params;
+
+        MetaObject metaObject = parameter == null ? null : configuration.newMetaObject(parameter);
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            String property = mapping.getProperty();
+            Object value;
+            try {
+                if (boundSql.hasAdditionalParameter(property)) {
+                    value = boundSql.getAdditionalParameter(property);
+                } else if (parameter == null) {
+                    value = null;
+                } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                    value = parameter;
+                } else {
+                    value = metaObject.getValue(property);
+                }
+            } catch (Exception e) {
+                value = "?";
+            }
+            params.put(property, SENSITIVE_NAME.matcher(property).matches() ? mask(value) : value);
+        }
+        return params;
+    }
+
+    private static String mask(Object value) {
+        if (value == null) return null;
+        String s = String.valueOf(value);
+        if (s.length() <= 2) return "**";
+        return s.charAt(0) + "*".repeat(s.length() - 2) + s.charAt(s.length() - 1);
+    }
+}
@@ -0,0 +1,18 @@
+package kr.co.api.backend.config;
+
+/**
+ * DB 커넥션 풀 분리 단위
+ * - OLTP      : 환전/이체 등 돈이 움직이는 요청 (기본, Master-HikariCP)
+ * - REPORTING : 대시보드/관리자 통계 등 무거운 조회
+ * - BATCH     : 스케줄러 배치 작업 (환율 수집, 상품 상태 변경 등)
+ */
+public enum Workload {
+    OLTP,
+    REPORTING,
+    BATCH;
+
+    // 라우팅 키 (master는 OLTP 풀)
+    public String masterKey() {
+        return this == OLTP ? "master" : "master-" + name().toLowerCase();
+    }
+}
@@ -0,0 +1,29 @@
+package kr.co.api.backend.config;
+
+/**
+ * 현재 스레드의 워크로드 보관 (@WorkloadPool → ReplicationRoutingDataSource)
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload get() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : Workload.OLTP;
+    }
+
+    public static Workload peek() {
+        return CURRENT.get();
+    }
+
+    public static void set(Workload workload) {
+        if (workload == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(workload);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package kr.co.api.backend.controller;
 
+import kr.co.api.backend.cache.DepositCatalogCache;
 import kr.co.api.backend.dto.ProductDTO;
 import kr.co.api.backend.dto.ProductLimitDTO;
 import kr.co.api.backend.dto.ProductPeriodDTO;
@@ -39,10 +40,13 @@ public class DepositApiController {
 
     private final DepositMapper depositMapper;
     private final TermsDbService termsDbService;
+    private final DepositCatalogCache depositCatalogCache;
 
-    public DepositApiController(DepositMapper depositMapper, TermsDbService termsDbService) {
+    public DepositApiController(DepositMapper depositMapper, TermsDbService termsDbService,
+                                DepositCatalogCache depositCatalogCache) {
         this.depositMapper = depositMapper;
         this.termsDbService = termsDbService;
+        this.depositCatalogCache = depositCatalogCache;
     }
 
     /**
@@ -50,7 +54,7 @@ public class DepositApiController {
      */
     @GetMapping("/products")
     public List<DepositListResponse> getActiveProducts() {
-        List<ProductDTO> products = depositMapper.findActiveProducts();
+        List<ProductDTO> products = depositCatalogCache.findActiveProducts();
         return products.stream()
                 .map(p -> new DepositListResponse(p.getDpstId(), p.getDpstName(), p.getDpstInfo()))
                 .collect(Collectors.toList());
@@ -61,7 +65,7 @@ public class DepositApiController {
      */
     @GetMapping("/products/{dpstId}")
     public ResponseEntity<DepositProductResponse> getProduct(@PathVariable String dpstId) {
-        ProductDTO product = depositMapper.findProductById(dpstId);
+        ProductDTO product = depositCatalogCache.findProductById(dpstId);
         if (product == null) {
             return ResponseEntity.notFound().build();
         }
@@ -243,7 +247,7 @@ public class DepositApiController {
         Map<String, Object> response = new HashMap<>();
 
         String dpstId = Objects.toString(request.get("dpstId"), "");
-        ProductDTO product = dpstId.isEmpty() ? null : depositMapper.findProductById(dpstId);
+        ProductDTO product = dpstId.isEmpty() ? null : depositCatalogCache.findProductById(dpstId);
 
         String productName = Optional.ofNullable(product)
                 .map(ProductDTO::getDpstName)
@@ -1,6 +1,8 @@
 package kr.co.api.backend.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import kr.co.api.backend.annotation.CustomerLane;
+import kr.co.api.backend.cache.DepositCatalogCache;
 import kr.co.api.backend.dto.*;
 import kr.co.api.backend.mapper.DepositMapper;
 import kr.co.api.backend.mapper.MemberMapper;
@@ -33,6 +35,7 @@ import java.math.RoundingMode;
 public class MobileDepositController {
 
     private final DepositMapper depositMapper;
+    private final DepositCatalogCache depositCatalogCache;
     private final MemberMapper memberMapper;
     private final JwtTokenProvider jwtTokenProvider;
     private final PasswordEncoder passwordEncoder;
@@ -89,7 +92,7 @@ public class MobileDepositController {
     ) {
         resolveUser(request); // 인증만 확인
 
-        ProductDTO product = depositMapper.findProductById(dpstId);
+        ProductDTO product = depositCatalogCache.findProductById(dpstId);
         if (product == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -100,7 +103,7 @@ public class MobileDepositController {
             targetMonth = 12;
         }
 
-        InterestRateDTO rateInfo = depositMapper.getRecentInterest(targetCurrency);
+        InterestRateDTO rateInfo = depositCatalogCache.getRecentInterest(targetCurrency);
         BigDecimal rate = resolveRate(rateInfo, targetMonth);
         if (rate == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -116,6 +119,7 @@ public class MobileDepositController {
     }
 
     @PostMapping("/applications")
+    @CustomerLane("deposit")
     @Transactional
     public ResponseEntity<Map<String, Object>> applyDeposit(
             @RequestBody Map<String, Object> request,
@@ -132,7 +136,7 @@ public class MobileDepositController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "상품 정보가 없습니다.");
         }
 
-        ProductDTO product = depositMapper.findProductById(dpstId);
+        ProductDTO product = depositCatalogCache.findProductById(dpstId);
         if (product == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "존재하지 않는 상품입니다.");
         }
@@ -173,7 +177,7 @@ public class MobileDepositController {
         }
 
         BigDecimal appliedRate = resolveRate(
-                depositMapper.getRecentInterest(newCurrency),
+                depositCatalogCache.getRecentInterest(newCurrency),
                 periodMonths
         );
 
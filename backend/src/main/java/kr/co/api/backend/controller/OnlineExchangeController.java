@@ -1,17 +1,29 @@
 package kr.co.api.backend.controller;
 
+import kr.co.api.backend.cache.CrossRateMatrix;
+import kr.co.api.backend.cache.RateSeries;
+import kr.co.api.backend.dto.ExchangeQuoteDTO;
 import kr.co.api.backend.dto.FrgnExchOnlineDTO;
+import kr.co.api.backend.dto.PortfolioConvertRequestDTO;
 import kr.co.api.backend.dto.RateDTO;
 import kr.co.api.backend.jwt.CustomUserDetails;
+import kr.co.api.backend.service.CurrencyConversionService;
 import kr.co.api.backend.service.OnlineExchangeService;
+import kr.co.api.backend.service.RateFeedService;
 import kr.co.api.backend.service.RateQueryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +35,8 @@ public class OnlineExchangeController {
 
     private final OnlineExchangeService onlineExchangeService;
     private final RateQueryService rateQueryService;
+    private final RateFeedService rateFeedService;
+    private final CurrencyConversionService currencyConversionService;
 
     // 환전 시, 약관 동의 여부 확인
     @GetMapping("/check-terms")
@@ -47,6 +61,49 @@ public class OnlineExchangeController {
         return rateQueryService.getLatestRates();
     }
 
+    /**
+     * 실시간 환율 (SSE)
+     * - event: snapshot → 전체 통화, 이후 event: delta → 바뀐 통화만 (from 버전이 마지막으로 받은 version과 같을 때 적용)
+     */
+    @GetMapping(value = "/rates/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRates() {
+        return rateFeedService.subscribe();
+    }
+
+    /**
+     * 통화별 최신 환율 + 등락(전일/전주/전월) + 이동평균(5/20/60일)
+     */
+    @GetMapping("/rates/summary")
+    public List<RateSeries.Summary> getRateSummaries() {
+        return rateQueryService.getRateSummaries();
+    }
+
+    /**
+     * 차트용 기간 시계열 (from/to 생략 시 전체, points개 이하로 줄임)
+     */
+    @GetMapping("/rates/{currency}/series")
+    public List<RateSeries.Point> getRateSeries(
+            @PathVariable String currency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "200") int points
+    ) {
+        return rateQueryService.getRateSeries(currency, from, to, Math.min(points, 2000));
+    }
+
+    /**
+     * 일/주/월 봉 (unit = DAY / WEEK / MONTH)
+     */
+    @GetMapping("/rates/{currency}/ohlc")
+    public List<RateSeries.Candle> getRateOhlc(
+            @PathVariable String currency,
+            @RequestParam(defaultValue = "DAY") RateSeries.Unit unit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return rateQueryService.getRateOhlc(currency, from, to, unit);
+    }
+
     /**
      * 특정 통화 환율 히스토리
      */
@@ -57,6 +114,79 @@ public class OnlineExchangeController {
         return rateQueryService.getRateHistory(currency);
     }
 
+    /**
+     * 교차환율표 (from 행 → to 열, 1단위 기준)
+     */
+    @GetMapping("/rates/cross")
+    public Map<String, Object> getCrossRates(
+            @RequestParam(defaultValue = "BASE") CrossRateMatrix.Side side
+    ) {
+        return currencyConversionService.getRateTable(side);
+    }
+
+    /**
+     * 통화쌍 환산 (예: USD → JPY)
+     */
+    @GetMapping("/rates/convert")
+    public ResponseEntity<?> convert(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam long amount,
+            @RequestParam(defaultValue = "BASE") CrossRateMatrix.Side side
+    ) {
+        try {
+            CrossRateMatrix matrix = currencyConversionService.getMatrix();
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("from", from);
+            body.put("to", to);
+            body.put("side", side);
+            body.put("amount", amount);
+            body.put("converted", matrix.convert(from, to, amount, side, CurrencyConversionService.rounding(side)));
+            body.put("rate", matrix.rate(side, matrix.indexOf(from), matrix.indexOf(to)));
+            body.put("version", matrix.getVersion());
+            body.put("rateDt", matrix.getRateDt());
+            return ResponseEntity.ok(body);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * 다통화 금액 일괄 환산
+     */
+    @PostMapping("/rates/convert")
+    public ResponseEntity<?> convertPortfolio(@RequestBody PortfolioConvertRequestDTO request) {
+        if (request.getAmounts() == null || request.getAmounts().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "환산할 금액이 없습니다."));
+        }
+        try {
+            CrossRateMatrix.Side side = request.getSide() != null ? request.getSide() : CrossRateMatrix.Side.BASE;
+            return ResponseEntity.ok(currencyConversionService.convertPortfolio(
+                    request.getAmounts(), request.getTarget(), side));
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * 내 원화 + 외화 잔액 합계 (target 통화 기준)
+     */
+    @GetMapping("/portfolio")
+    public ResponseEntity<?> getMyPortfolio(
+            Authentication authentication,
+            @RequestParam(defaultValue = "KRW") String target,
+            @RequestParam(defaultValue = "BASE") CrossRateMatrix.Side side
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(401).body(Map.of("message", "Unauthorized"));
+        }
+        try {
+            return ResponseEntity.ok(onlineExchangeService.getMyPortfolio(authentication.getName(), target, side));
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     // 온라인 환전 요청
     @PostMapping("/onlineExchange")
     public ResponseEntity<?> onlineExchange(
@@ -75,6 +205,62 @@ public class OnlineExchangeController {
         return ResponseEntity.ok("온라인 환전이 정상적으로 처리되었습니다.");
     }
 
+    /**
+     * 환전 견적 (환율/금액 확정, expiresAt까지 유효)
+     */
+    @PostMapping("/quote")
+    public ResponseEntity<?> quote(
+            @RequestBody FrgnExchOnlineDTO dto,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(401).body(Map.of("message", "Unauthorized"));
+        }
+        try {
+            ExchangeQuoteDTO quote = onlineExchangeService.quoteOnlineExchange(dto, authentication.getName());
+
+            // 서명 / 계좌 / 고객 정보는 서버에만
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("quoteId", quote.getQuoteId());
+            body.put("exchType", quote.getExchType());
+            body.put("exchFromCurrency", quote.getExchFromCurrency());
+            body.put("exchToCurrency", quote.getExchToCurrency());
+            body.put("exchKrwAmount", quote.getKrwAmount());
+            body.put("exchFrgnAmount", quote.getFrgnAmount());
+            body.put("exchAppliedRate", quote.getAppliedRate());
+            body.put("expiresAt", quote.getExpiresAt());
+            return ResponseEntity.ok(body);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * 견적 실행 (견적 금액 그대로, 견적 1건당 1번만)
+     */
+    @PostMapping("/quote/{quoteId}/execute")
+    public ResponseEntity<?> executeQuote(
+            @PathVariable String quoteId,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(401).body(Map.of("message", "Unauthorized"));
+        }
+        try {
+            return ResponseEntity.ok(onlineExchangeService.executeQuote(quoteId, authentication.getName()));
+        } catch (IllegalArgumentException e) {
+            // 없는 / 만료 / 이미 사용 / 위조 / 다른 고객의 견적
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            // 잔액 부족, 계좌 없음
+            return ResponseEntity.status(409).body(Map.of("message", e.getMessage()));
+        } catch (PessimisticLockingFailureException e) {
+            // 잔액 행 잠금 실패 (교착 / 잠금 대기 초과) → 견적은 이미 소모됨, 새 견적으로 재시도
+            log.warn("⚠️ [Exchange] 견적 실행 중 잔액 잠금 실패 (quoteId={}) : {}", quoteId, e.getMessage());
+            return ResponseEntity.status(409).body(Map.of("message", "다른 거래와 충돌했습니다. 견적을 다시 받아 시도해주세요."));
+        }
+    }
+
     /**
      * 내 환전 계좌 조회
      */
@@ -0,0 +1,272 @@
+package kr.co.api.backend.controller.admin;
+
+import kr.co.api.backend.cache.DepositCatalogCache;
+import kr.co.api.backend.cache.RateSeriesStore;
+import kr.co.api.backend.cache.RateSnapshotCache;
+import kr.co.api.backend.config.DbStatusManager;
+import kr.co.api.backend.config.PoolMetrics;
+import kr.co.api.backend.config.SqlStats;
+import kr.co.api.backend.lane.ExecutionLanes;
+import kr.co.api.backend.lane.LaneContentionBenchmark;
+import kr.co.api.backend.replication.JournalReplayer;
+import kr.co.api.backend.replication.SlaveReplicator;
+import kr.co.api.backend.service.CurrencyConversionService;
+import kr.co.api.backend.service.ExchangeQuoteStore;
+import kr.co.api.backend.service.RateFeedService;
+import kr.co.api.backend.service.async.HistoryDlqReplayer;
+import kr.co.api.backend.service.async.LogProducer;
+import kr.co.api.backend.service.async.LogWorker;
+import kr.co.api.backend.tcp.ApCallGuard;
+import kr.co.api.backend.tcp.ApCodecBenchmark;
+import kr.co.api.backend.tcp.ApMultiplexClient;
+import kr.co.api.backend.tcp.ApResponseCache;
+import kr.co.api.backend.tcp.sim.ApLoadDriver;
+import kr.co.api.backend.tcp.sim.ApSimulator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 관리자 > 시스템 모니터링 (JSON)
+ * - DB 이중화 / 비동기 파이프라인 등 내부 지표 조회용
+ */
+@RestController
+@RequestMapping("/admin/api/system")
+@RequiredArgsConstructor
+public class SystemMonitorController {
+
+    private final SlaveReplicator slaveReplicator;
+    private final JournalReplayer journalReplayer;
+    private final DbStatusManager dbStatusManager;
+    private final PoolMetrics poolMetrics;
+    private final SqlStats sqlStats;
+    private final DepositCatalogCache depositCatalogCache;
+    private final RateSnapshotCache rateSnapshotCache;
+    private final RateFeedService rateFeedService;
+    private final RateSeriesStore rateSeriesStore;
+    private final CurrencyConversionService currencyConversionService;
+    private final ExchangeQuoteStore exchangeQuoteStore;
+    private final ExecutionLanes executionLanes;
+    private final LaneContentionBenchmark laneContentionBenchmark;
+    private final LogWorker logWorker;
+    private final LogProducer logProducer;
+    private final HistoryDlqReplayer historyDlqReplayer;
+    private final ApMultiplexClient apMultiplexClient;
+    private final ApCodecBenchmark apCodecBenchmark;
+    private final ApCallGuard apCallGuard;
+    private final ApResponseCache apResponseCache;
+    // 부하 테스트 도구: flobank.ap.simulator.enabled=true인 노드에만 있음
+    private final ObjectProvider<ApSimulator> apSimulator;
+    private final ObjectProvider<ApLoadDriver> apLoadDriver;
+
+    // 비동기 이력 스트림 (스트림 길이, pending, 초당 소비량, 배치 크기, DLQ 건수 + 전송 버퍼/디스크 스필 + DLQ 재처리)
+    @GetMapping("/history-log")
+    public Map<String, Object> historyLog() {
+        Map<String, Object> stats = new LinkedHashMap<>(logWorker.getStats());
+        stats.put("producer", logProducer.getStats());
+        stats.put("dlq", historyDlqReplayer.getStats());
+        return stats;
+    }
+
+    // 에러 큐 즉시 재처리 (1회 batch-size건, 재시도 시각 안 된 건은 건너뜀)
+    @PostMapping("/history-log/dlq/replay")
+    public Map<String, Object> replayHistoryDlq() {
+        return historyDlqReplayer.replay();
+    }
+
+    // AP 서버 요청 코드별 지연/에러/서킷/타임아웃 + 비동기 다중화 연결 (대기 중 요청 수, 타임아웃, 연결 끊김)
+    @GetMapping("/ap")
+    public Map<String, Object> ap() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("codes", apCallGuard.getStats());
+        stats.put("multiplex", apMultiplexClient.getStats());
+        stats.put("cache", apResponseCache.getStats());
+        return stats;
+    }
+
+    // AP 응답 캐시 수동 무효화 (code 없으면 전체)
+    @PostMapping("/ap/cache/invalidate")
+    public List<Map<String, Object>> invalidateApCache(@RequestParam(required = false) String code) {
+        apResponseCache.invalidate(code);
+        return apResponseCache.getStats();
+    }
+
+    // AP 메시지 변환(기존 vs 스트리밍 코덱) / 프레이밍(LF vs 길이 헤더) 비교 (ns/op, 할당 바이트/op)
+    @PostMapping("/ap/codec-benchmark")
+    public Map<String, Object> apCodecBenchmark(@RequestParam(defaultValue = "20000") int iterations,
+                                                @RequestParam(defaultValue = "20") int rows) throws IOException {
+        // 상한은 잘라서 실행, 0 이하는 ApCodecBenchmark가 거부
+        return apCodecBenchmark.run(Math.min(iterations, 100_000), Math.min(rows, 500));
+    }
+
+    // AP 서버 대역 상태 (시나리오, 요청/응답/에러/끊김 건수)
+    @GetMapping("/ap/simulator")
+    public Map<String, Object> apSimulator() {
+        ApSimulator simulator = apSimulator.getIfAvailable();
+        if (simulator == null) return Map.of("enabled", false);
+        return simulator.getStats();
+    }
+
+    @PostMapping("/ap/simulator/start")
+    public Map<String, Object> startApSimulator(@RequestParam(defaultValue = "19090") int port) {
+        ApSimulator simulator = requireSimulator();
+        simulator.start(port);
+        return simulator.getStats();
+    }
+
+    @PostMapping("/ap/simulator/stop")
+    public void stopApSimulator() {
+        requireSimulator().stop();
+    }
+
+    // 지연/에러/끊김 시나리오 교체 (구간 목록을 순서대로 반복)
+    @PutMapping("/ap/simulator/script")
+    public Map<String, Object> apSimulatorScript(@RequestBody List<ApSimulator.Phase> phases) {
+        ApSimulator simulator = requireSimulator();
+        simulator.setScript(phases);
+        return simulator.getStats();
+    }
+
+    // ApRequestService 부하 테스트 (처리량, p50/p99/p999). AP 서버 대역을 가리킨 상태에서만 사용
+    @PostMapping("/ap/load-test")
+    public Map<String, Object> apLoadTest(@RequestParam(defaultValue = "SIM_PING") String code,
+                                          @RequestParam(defaultValue = "50") int concurrency,
+                                          @RequestParam(defaultValue = "10") int durationSec,
+                                          @RequestParam(defaultValue = "false") boolean async) throws InterruptedException {
+        ApLoadDriver driver = apLoadDriver.getIfAvailable();
+        if (driver == null) {
+            throw new IllegalStateException("부하 테스트는 AP 시뮬레이터를 켠 노드에서만 가능합니다. (flobank.ap.simulator.enabled)");
+        }
+        return driver.run(code, concurrency, durationSec, async);
+    }
+
+    private ApSimulator requireSimulator() {
+        ApSimulator simulator = apSimulator.getIfAvailable();
+        if (simulator == null) {
+            throw new IllegalStateException("AP 시뮬레이터가 꺼져 있습니다. (flobank.ap.simulator.enabled)");
+        }
+        return simulator;
+    }
+
+    // 예금 상품/금리 2단계 캐시 적중률, 제거/무효화 건수
+    @GetMapping("/cache")
+    public Map<String, Object> cache() {
+        return depositCatalogCache.getStats();
+    }
+
+    // 외부 적재된 금리표를 TTL 전에 즉시 반영할 때 (currency 없으면 전체)
+    @PostMapping("/cache/interest/evict")
+    public void evictInterest(@RequestParam(required = false) String currency) {
+        depositCatalogCache.evictInterest(currency);
+    }
+
+    // 통화별 최신 환율 스냅샷 (버전, 기준일, 메모리 적중/DB 대체 건수)
+    @GetMapping("/rates/snapshot")
+    public Map<String, Object> rateSnapshot() {
+        return rateSnapshotCache.getStats();
+    }
+
+    // 환율을 수동으로 고친 경우 모든 노드 스냅샷 즉시 갱신
+    @PostMapping("/rates/snapshot/refresh")
+    public Map<String, Object> refreshRateSnapshot() {
+        rateSnapshotCache.refreshAndPublish();
+        return rateSnapshotCache.getStats();
+    }
+
+    // 환율 시계열 저장소 (통화 수, 점 수, 적재 시간)
+    @GetMapping("/rates/series")
+    public Map<String, Object> rateSeries() {
+        return rateSeriesStore.getStats();
+    }
+
+    // 교차환율 행렬 (통화 수, 버전, 생성 시간)
+    @GetMapping("/rates/cross")
+    public Map<String, Object> crossRates() {
+        return currencyConversionService.getStats();
+    }
+
+    // 고객별 실행 레인 (레인별 대기 중/실행 중, 대기 시간 분포, 시간 초과, Redis 임대 대기/장애)
+    @GetMapping("/lanes")
+    public Map<String, Object> lanes() {
+        return executionLanes.getStats();
+    }
+
+    // 핫 계좌 경합 모의: 커넥션 잡고 행 락 대기(direct) vs 레인 대기 후 커넥션(lanes)
+    @PostMapping("/lanes/benchmark")
+    public Map<String, Object> laneBenchmark(@RequestParam(defaultValue = "64") int threads,
+                                             @RequestParam(defaultValue = "1000") int accounts,
+                                             @RequestParam(defaultValue = "0.2") double hotRatio,
+                                             @RequestParam(defaultValue = "10") int poolSize,
+                                             @RequestParam(defaultValue = "2000") int holdMicros,
+                                             @RequestParam(defaultValue = "3000") int durationMs) throws InterruptedException {
+        return laneContentionBenchmark.run(Math.min(Math.max(threads, 1), 512), Math.min(Math.max(accounts, 2), 100_000),
+                Math.min(Math.max(hotRatio, 0.0), 1.0), Math.max(poolSize, 1), holdMicros,
+                Math.min(Math.max(durationMs, 100), 30_000));
+    }
+
+    // 환전 견적 발급 / 실행 / 만료 현황 (이 노드)
+    @GetMapping("/exchange/quotes")
+    public Map<String, Object> exchangeQuotes() {
+        return exchangeQuoteStore.getStats();
+    }
+
+    // 실시간 환율 피드 구독자 / 전송 현황 (이 노드)
+    @GetMapping("/rates/feed")
+    public Map<String, Object> rateFeed() {
+        return rateFeedService.getStats();
+    }
+
+    // 매퍼 statement별 실행 시간 (누적 시간 내림차순, p50/p95/p99)
+    @GetMapping("/sql")
+    public List<Map<String, Object>> sql() {
+        return sqlStats.getStatementStats();
+    }
+
+    // 임계치 초과 슬로우 쿼리 (파라미터 마스킹)
+    @GetMapping("/sql/slow")
+    public List<Map<String, Object>> slowSql() {
+        return sqlStats.getSlowQueries();
+    }
+
+    @PostMapping("/sql/reset")
+    public void resetSql() {
+        sqlStats.reset();
+    }
+
+    // 워크로드별 커넥션 풀 포화도 / 대기 시간
+    @GetMapping("/pools")
+    public Map<String, Object> pools() {
+        return poolMetrics.getStats();
+    }
+
+    // Master/Slave 생존 여부 + 복제 지연 + 서킷 상태/프로브 지연 히스토그램
+    @GetMapping("/db")
+    public Map<String, Object> db() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("masterAlive", dbStatusManager.isMasterAlive());
+        stats.put("slaveAlive", dbStatusManager.isSlaveAlive());
+        long lag = dbStatusManager.getSlaveLagMillis();
+        stats.put("slaveLagMillis", lag == Long.MAX_VALUE ? null : lag);
+        stats.put("health", dbStatusManager.getStats());
+        return stats;
+    }
+
+    // Slave 복제 파이프라인 지표 (큐 깊이, 배치 크기, 지연, 처리량)
+    @GetMapping("/replication")
+    public Map<String, Object> replication() {
+        Map<String, Object> stats = new LinkedHashMap<>(slaveReplicator.getStats());
+        stats.put("journal", journalReplayer.getStats());
+        return stats;
+    }
+}
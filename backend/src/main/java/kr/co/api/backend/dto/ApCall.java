@@ -0,0 +1,28 @@
+package kr.co.api.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * AP 서버 일괄 요청(ApRequestService.executeBatch)의 요청 1건
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApCall {
+
+    /**
+     * 요청 구분 코드 (예: "MEMBER_REGISTER")
+     */
+    private String requestCode;
+
+    /**
+     * AP 서버로 보낼 데이터 객체
+     */
+    private Object payload;
+
+    public static ApCall of(String requestCode, Object payload) {
+        return new ApCall(requestCode, payload);
+    }
+}
@@ -1,5 +1,6 @@
 package kr.co.api.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -29,4 +30,14 @@ public class ApRequestDTO {
      * 요청 타임스탬프 (로깅용)
      */
     private LocalDateTime requestTimestamp;
+
+    /**
+     * 요청-응답 매칭 키 (비동기 다중화 요청만, AP 서버가 응답에 그대로 돌려줌)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String correlationId;
+
+    public ApRequestDTO(String requestCode, JsonNode payload, LocalDateTime requestTimestamp) {
+        this(requestCode, payload, requestTimestamp, null);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package kr.co.api.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -35,6 +36,16 @@ public class ApResponseDTO {
      */
     private LocalDateTime responseTimestamp;
 
+    /**
+     * 요청의 correlationId (비동기 다중화 요청의 응답 매칭용)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String correlationId;
+
+    public ApResponseDTO(String status, String message, JsonNode data, LocalDateTime responseTimestamp) {
+        this(status, message, data, responseTimestamp, null);
+    }
+
     public static ApResponseDTO ok() {
         return new ApResponseDTO("OK", null, null, LocalDateTime.now());
     }
@@ -0,0 +1,34 @@
+package kr.co.api.backend.dto;
+
+import lombok.Data;
+
+/**
+ * 온라인 환전 견적 (Redis 보관, 짧은 TTL)
+ * - 견적 시점에 확정한 환율 / 금액 / 계좌를 그대로 실행에 사용
+ * - signature: 나머지 필드의 HMAC (Redis 값이 바뀌었으면 실행 거부)
+ */
+@Data
+public class ExchangeQuoteDTO {
+
+    private String quoteId;
+    private String custCode;
+    private String custName;
+
+    private String exchType;          // B: 매수, S: 매도
+    private String exchFromCurrency;
+    private String exchToCurrency;
+    private String currency;          // 외화 통화 코드
+
+    private String krwAcctNo;         // 원화 계좌
+    private String frgnAcctNo;        // 외화 모체 계좌
+    private String frgnBalNo;         // 외화 자식 계좌
+
+    private Long krwAmount;
+    private Long frgnAmount;
+    private Double appliedRate;
+
+    private long issuedAt;            // epoch ms
+    private long expiresAt;           // epoch ms
+
+    private String signature;
+}
@@ -0,0 +1,22 @@
+package kr.co.api.backend.dto;
+
+import kr.co.api.backend.cache.CrossRateMatrix;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 다통화 일괄 환산 요청
+ * - amounts: 통화 코드 → 금액 (잔액과 같은 정수 단위)
+ */
+@Data
+public class PortfolioConvertRequestDTO {
+
+    // 환산 기준 통화 (기본 원화)
+    private String target = CrossRateMatrix.KRW;
+
+    // BASE(매매기준율) / BUY(고객 매도) / SELL(고객 매수)
+    private CrossRateMatrix.Side side = CrossRateMatrix.Side.BASE;
+
+    private Map<String, Long> amounts;
+}
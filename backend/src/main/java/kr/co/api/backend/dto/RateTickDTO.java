@@ -0,0 +1,38 @@
+package kr.co.api.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 실시간 환율 피드 1통화 (snapshot / delta 이벤트의 rates 항목)
+ * - 화면에 필요한 값만 짧은 키로 (모바일 다수 동시 접속 → 전송량 최소화)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RateTickDTO {
+
+    // 통화 코드
+    private String cur;
+
+    // 통화명
+    private String name;
+
+    // 매매 기준율
+    private Double base;
+
+    // 전신환 매입 / 매도
+    private Double buy;
+    private Double sell;
+
+    // 직전 고시 대비 등락 / 등락률(%)
+    private Double chg;
+    private Double chgPct;
+
+    // 고시일(yyyyMMdd) / 고시회차
+    private String dt;
+    private int no;
+}
@@ -0,0 +1,286 @@
+package kr.co.api.backend.lane;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * [고객별 실행 레인]
+ * - 같은 키(고객)의 작업은 한 번에 하나씩, 다른 키는 완전 병렬
+ * - 1단계: 노드 안 스트라이프 락 (fair → 도착 순서)
+ * - 2단계: Redis 임대(lane:{key}, SET NX PX) → 여러 노드에서도 같은 고객은 한 줄
+ *   : 노드 안에서 이미 한 줄로 섰으므로 Redis를 두드리는 건 노드당 키 1개 스레드뿐
+ * - Redis 장애 시 노드 안 직렬화만으로 진행 (최종 정합성은 DB 행 락이 보장)
+ * - 대기 시간이 넘으면 429 (커넥션/DB 락을 잡기 전이므로 다른 고객에게 영향 없음)
+ * - 같은 스레드가 같은 키로 다시 들어오면(중첩 호출) 그대로 통과
+ */
+@Slf4j
+@Component
+public class ExecutionLanes {
+
+    private static final String LEASE_PREFIX = "lane:";
+    private static final long LEASE_BACKOFF_MIN_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long LEASE_BACKOFF_MAX_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long LEASE_ERROR_LOG_INTERVAL_MS = 60_000;
+
+    // 대기 시간 분포 구간 (ms): <1, <10, <100, <1000, 그 이상
+    private static final long[] WAIT_BUCKETS_MS = {1, 10, 100, 1000};
+
+    // 내가 잡은 임대만 해제
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    @FunctionalInterface
+    public interface LaneCall<T> {
+        T call() throws Throwable;
+    }
+
+    // token "" = 임대 없음 (꺼짐 또는 Redis 장애), waited = 다른 노드의 임대를 기다렸음
+    private record Lease(String token, boolean waited) {
+        static final Lease NONE = new Lease("", false);
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final LaneStripes stripes;
+    private final long waitTimeoutMs;
+    private final long leaseMs;
+    private final boolean redisLease;
+
+    // 이 스레드가 들고 있는 레인 키 → 임대 토큰 ("" = 임대 없음)
+    private final ThreadLocal<Map<String, String>> held = ThreadLocal.withInitial(HashMap::new);
+
+    private final Map<String, LaneMetrics> metrics = new ConcurrentHashMap<>();
+    private final LongAdder unkeyed = new LongAdder();
+    private volatile long lastLeaseErrorLog;
+
+    public ExecutionLanes(StringRedisTemplate redisTemplate,
+                          @Value("${flobank.lanes.stripes:1024}") int stripes,
+                          @Value("${flobank.lanes.wait-timeout-ms:5000}") long waitTimeoutMs,
+                          @Value("${flobank.lanes.lease-ms:30000}") long leaseMs,
+                          @Value("${flobank.lanes.redis-lease:true}") boolean redisLease) {
+        this.redisTemplate = redisTemplate;
+        this.stripes = new LaneStripes(stripes);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.leaseMs = leaseMs;
+        this.redisLease = redisLease;
+    }
+
+    /**
+     * key 레인에서 call 실행 (앞선 같은 키 작업이 끝날 때까지 대기)
+     *
+     * @throws ResponseStatusException 429 - 대기 시간 초과
+     */
+    public <T> T run(String lane, String key, LaneCall<T> call) throws Throwable {
+        Map<String, String> mine = held.get();
+        if (mine.containsKey(key)) {
+            return call.call();
+        }
+
+        LaneMetrics m = metrics.computeIfAbsent(lane, name -> new LaneMetrics());
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+        ReentrantLock lock = stripes.lockFor(key);
+
+        m.waiting.incrementAndGet();
+        boolean contended = false;
+        boolean locked;
+        try {
+            // fair 락: 시간 0 tryLock은 대기열을 존중 (새치기 없음)
+            locked = lock.tryLock(0, TimeUnit.NANOSECONDS);
+            if (!locked) {
+                contended = true;
+                locked = lock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            locked = false;
+        } finally {
+            m.waiting.decrementAndGet();
+        }
+        if (!locked) {
+            m.timeouts.increment();
+            throw busy(lane, key);
+        }
+
+        try {
+            Lease lease = acquireLease(key, deadline, m);
+            if (lease == null) {
+                m.timeouts.increment();
+                throw busy(lane, key);
+            }
+            String token = lease.token();
+            m.recordWait(System.nanoTime() - start, contended || lease.waited());
+
+            mine.put(key, token);
+            m.active.incrementAndGet();
+            long runStart = System.nanoTime();
+            try {
+                return call.call();
+            } finally {
+                long heldNanos = System.nanoTime() - runStart;
+                m.active.decrementAndGet();
+                mine.remove(key);
+                m.holdNanos.add(heldNanos);
+                if (!token.isEmpty()) {
+                    if (heldNanos > TimeUnit.MILLISECONDS.toNanos(leaseMs)) {
+                        // 임대가 먼저 만료됨 → 그 사이 다른 노드가 같은 고객 작업을 시작했을 수 있음
+                        m.leaseOverruns.increment();
+                        log.warn("⚠️ [Lane] {} 작업이 임대 시간({}ms)보다 오래 걸림 : {}ms",
+                                lane, leaseMs, TimeUnit.NANOSECONDS.toMillis(heldNanos));
+                    }
+                    releaseLease(key, token);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 키를 못 구한 호출 (비로그인 / 키 식이 null) → 레인 없이 실행된 건수
+    public void recordUnkeyed() {
+        unkeyed.increment();
+    }
+
+    /**
+     * @return null = 대기 시간 초과
+     */
+    private Lease acquireLease(String key, long deadline, LaneMetrics m) {
+        if (!redisLease) return Lease.NONE;
+
+        String token = UUID.randomUUID().toString();
+        long backoff = LEASE_BACKOFF_MIN_NANOS;
+        boolean waited = false;
+        while (true) {
+            Boolean ok;
+            try {
+                ok = redisTemplate.opsForValue().setIfAbsent(LEASE_PREFIX + key, token, Duration.ofMillis(leaseMs));
+            } catch (Exception e) {
+                m.leaseErrors.increment();
+                long now = System.currentTimeMillis();
+                if (now - lastLeaseErrorLog > LEASE_ERROR_LOG_INTERVAL_MS) {
+                    lastLeaseErrorLog = now;
+                    log.warn("⚠️ [Lane] Redis 임대 실패, 노드 안 직렬화만으로 진행 : {}", e.getMessage());
+                }
+                return Lease.NONE;
+            }
+            if (Boolean.TRUE.equals(ok)) {
+                return new Lease(token, waited);
+            }
+
+            // 다른 노드가 같은 고객 작업 중
+            if (!waited) {
+                waited = true;
+                m.leaseWaits.increment();
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return null;
+            LockSupport.parkNanos(Math.min(backoff, remaining));
+            if (Thread.currentThread().isInterrupted()) return null;
+            backoff = Math.min(backoff * 2, LEASE_BACKOFF_MAX_NANOS);
+        }
+    }
+
+    private void releaseLease(String key, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_PREFIX + key), token);
+        } catch (Exception e) {
+            // 해제 실패 시 TTL로 만료
+            log.warn("⚠️ [Lane] Redis 임대 해제 실패 (key={}) : {}", key, e.getMessage());
+        }
+    }
+
+    private static ResponseStatusException busy(String lane, String key) {
+        log.warn("⚠️ [Lane] {} 대기 시간 초과 (key={})", lane, key);
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                "같은 고객의 다른 거래를 처리하고 있습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("stripes", stripes.size());
+        stats.put("waitTimeoutMs", waitTimeoutMs);
+        stats.put("redisLease", redisLease);
+        stats.put("leaseMs", leaseMs);
+        stats.put("unkeyed", unkeyed.sum());
+        Map<String, Object> lanes = new LinkedHashMap<>();
+        metrics.keySet().stream().sorted().forEach(name -> lanes.put(name, metrics.get(name).toMap()));
+        stats.put("lanes", lanes);
+        return stats;
+    }
+
+    // 레인 이름별 메트릭
+    private static final class LaneMetrics {
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder contended = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+        private final LongAdder holdNanos = new LongAdder();
+        private final LongAdder[] waitBuckets = new LongAdder[WAIT_BUCKETS_MS.length + 1];
+        private final LongAdder leaseWaits = new LongAdder();
+        private final LongAdder leaseErrors = new LongAdder();
+        private final LongAdder leaseOverruns = new LongAdder();
+
+        private LaneMetrics() {
+            for (int i = 0; i < waitBuckets.length; i++) {
+                waitBuckets[i] = new LongAdder();
+            }
+        }
+
+        private void recordWait(long nanos, boolean wasContended) {
+            acquired.increment();
+            if (wasContended) contended.increment();
+            waitNanos.add(nanos);
+            maxWaitNanos.accumulate(nanos);
+            long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < WAIT_BUCKETS_MS.length && ms >= WAIT_BUCKETS_MS[bucket]) bucket++;
+            waitBuckets[bucket].increment();
+        }
+
+        private Map<String, Object> toMap() {
+            long n = acquired.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("waiting", waiting.get());
+            map.put("active", active.get());
+            map.put("acquired", n);
+            map.put("contended", contended.sum());
+            map.put("timeouts", timeouts.sum());
+            map.put("avgWaitMs", n == 0 ? 0.0 : Math.round(waitNanos.sum() / (double) n / 1_000) / 1_000.0);
+            map.put("maxWaitMs", Math.round(maxWaitNanos.get() / 1_000.0) / 1_000.0);
+            map.put("avgHoldMs", n == 0 ? 0.0 : Math.round(holdNanos.sum() / (double) n / 1_000) / 1_000.0);
+            Map<String, Long> buckets = new LinkedHashMap<>();
+            buckets.put("<1ms", waitBuckets[0].sum());
+            buckets.put("<10ms", waitBuckets[1].sum());
+            buckets.put("<100ms", waitBuckets[2].sum());
+            buckets.put("<1s", waitBuckets[3].sum());
+            buckets.put(">=1s", waitBuckets[4].sum());
+            map.put("waitHistogram", buckets);
+            map.put("leaseWaits", leaseWaits.sum());
+            map.put("leaseErrors", leaseErrors.sum());
+            map.put("leaseOverruns", leaseOverruns.sum());
+            return map;
+        }
+    }
+}
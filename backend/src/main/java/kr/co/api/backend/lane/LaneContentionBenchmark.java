@@ -0,0 +1,146 @@
+package kr.co.api.backend.lane;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * [고객 레인 경합 벤치마크] (관리자 수동 실행, DB 없이 모의)
+ * - 커넥션 풀 = Semaphore(poolSize), 계좌 행 락 = 계좌별 ReentrantLock, 거래 1건 = 행 락을 holdMicros 동안 점유
+ * - hotRatio 비율의 요청이 0번 계좌(핫 계좌)로 몰림
+ * - direct: 커넥션을 먼저 잡고 행 락에서 대기 (지금 구조) → 핫 계좌 대기자들이 커넥션을 쥔 채 줄을 서서 다른 고객까지 막힘
+ * - lanes : 레인(LaneStripes)에서 먼저 대기 후 커넥션 → 커넥션은 실제 일하는 요청만 사용
+ * - 같은 JVM에서 연달아 돌리므로 절대값보다 두 방식의 비율(특히 일반 계좌 처리량/지연)을 볼 것
+ */
+@Component
+public class LaneContentionBenchmark {
+
+    public Map<String, Object> run(int threads, int accounts, double hotRatio,
+                                   int poolSize, int holdMicros, int durationMs) throws InterruptedException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", threads);
+        result.put("accounts", accounts);
+        result.put("hotRatio", hotRatio);
+        result.put("poolSize", poolSize);
+        result.put("holdMicros", holdMicros);
+        result.put("durationMs", durationMs);
+
+        Map<String, Object> direct = runOnce(false, threads, accounts, hotRatio, poolSize, holdMicros, durationMs);
+        Map<String, Object> lanes = runOnce(true, threads, accounts, hotRatio, poolSize, holdMicros, durationMs);
+        result.put("direct", direct);
+        result.put("lanes", lanes);
+        result.put("throughputGain", ratio(lanes.get("opsPerSec"), direct.get("opsPerSec")));
+        result.put("coldThroughputGain", ratio(lanes.get("coldOpsPerSec"), direct.get("coldOpsPerSec")));
+        // 일반 계좌 평균 지연이 몇 배 줄었는지 (핫 계좌 대기가 다른 고객에게 번지지 않는 효과)
+        result.put("coldLatencyGain", ratio(direct.get("coldAvgMs"), lanes.get("coldAvgMs")));
+        return result;
+    }
+
+    private Map<String, Object> runOnce(boolean useLanes, int threads, int accounts, double hotRatio,
+                                        int poolSize, int holdMicros, int durationMs) throws InterruptedException {
+        Semaphore pool = new Semaphore(poolSize, true);
+        ReentrantLock[] rows = new ReentrantLock[accounts];
+        for (int i = 0; i < accounts; i++) {
+            rows[i] = new ReentrantLock();
+        }
+        LaneStripes lanes = new LaneStripes(Math.max(1024, accounts));
+        String[] keys = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            keys[i] = "C" + i;
+        }
+
+        LongAdder hotOps = new LongAdder();
+        LongAdder coldOps = new LongAdder();
+        LongAdder hotNanos = new LongAdder();
+        LongAdder coldNanos = new LongAdder();
+        long holdNanos = TimeUnit.MICROSECONDS.toNanos(holdMicros);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "lane-bench");
+            t.setDaemon(true);
+            return t;
+        });
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    boolean hot = accounts == 1 || random.nextDouble() < hotRatio;
+                    int account = hot ? 0 : 1 + random.nextInt(accounts - 1);
+                    long opStart = System.nanoTime();
+
+                    ReentrantLock lane = useLanes ? lanes.lockFor(keys[account]) : null;
+                    if (lane != null) lane.lock();
+                    try {
+                        pool.acquireUninterruptibly();
+                        try {
+                            rows[account].lock();
+                            try {
+                                LockSupport.parkNanos(holdNanos);
+                            } finally {
+                                rows[account].unlock();
+                            }
+                        } finally {
+                            pool.release();
+                        }
+                    } finally {
+                        if (lane != null) lane.unlock();
+                    }
+
+                    long elapsed = System.nanoTime() - opStart;
+                    if (hot) {
+                        hotOps.increment();
+                        hotNanos.add(elapsed);
+                    } else {
+                        coldOps.increment();
+                        coldNanos.add(elapsed);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                throw new IllegalStateException("벤치마크 실행 실패", e);
+            }
+        }
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long hot = hotOps.sum();
+        long cold = coldOps.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ops", hot + cold);
+        stats.put("opsPerSec", Math.round((hot + cold) / seconds));
+        stats.put("hotOpsPerSec", Math.round(hot / seconds));
+        stats.put("coldOpsPerSec", Math.round(cold / seconds));
+        stats.put("hotAvgMs", avgMs(hotNanos.sum(), hot));
+        stats.put("coldAvgMs", avgMs(coldNanos.sum(), cold));
+        return stats;
+    }
+
+    private static double avgMs(long nanos, long count) {
+        return count == 0 ? 0.0 : Math.round(nanos / (double) count / 1_000) / 1_000.0;
+    }
+
+    private static double ratio(Object a, Object b) {
+        double denominator = ((Number) b).doubleValue();
+        return denominator == 0 ? 0.0 : Math.round(((Number) a).doubleValue() / denominator * 100) / 100.0;
+    }
+}
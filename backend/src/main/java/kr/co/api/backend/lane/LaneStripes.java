@@ -0,0 +1,33 @@
+package kr.co.api.backend.lane;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * [키 → 락 스트라이프]
+ * - 키마다 락 객체를 만들지 않고 2의 거듭제곱 개의 fair 락 배열에 해시로 배정 (메모리 고정, 정리 불필요)
+ * - 같은 키는 항상 같은 락 → 도착 순서대로 실행, 다른 키가 같은 락에 걸릴 확률은 1 / 스트라이프 수
+ */
+public final class LaneStripes {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public LaneStripes(int stripes) {
+        int n = 1;
+        while (n < stripes) n <<= 1;
+        this.locks = new ReentrantLock[n];
+        for (int i = 0; i < n; i++) {
+            locks[i] = new ReentrantLock(true);
+        }
+        this.mask = n - 1;
+    }
+
+    public ReentrantLock lockFor(String key) {
+        int h = key.hashCode();
+        return locks[(h ^ (h >>> 16)) & mask];
+    }
+
+    public int size() {
+        return locks.length;
+    }
+}
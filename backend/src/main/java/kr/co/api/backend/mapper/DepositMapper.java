@@ -1,5 +1,6 @@
 package kr.co.api.backend.mapper;
 
+import kr.co.api.backend.annotation.CoreBanking;
 import kr.co.api.backend.dto.*;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -39,6 +40,7 @@ public interface DepositMapper {
     public void insertDpstAcctHdr(DpstAcctHdrDTO dpstAcctHdrDTO);
     public DpstAcctHdrDTO selectInsertedAcct(String dpstHdrCustCode, String dpstHdrDpstId);
     public void insertDpstAcctDtl(DpstAcctDtlDTO dpstAcctDtlDTO);
+    @CoreBanking
     public void insertCustTranHist(CustTranHistDTO custTranHistDTO);
     public CustAcctDTO selectKrwAcctBalance(String acctNo);
     public FrgnAcctBalanceDTO selectFrgnAcctBalance(String balNo);
@@ -1,6 +1,7 @@
 package kr.co.api.backend.mapper;
 
 
+import kr.co.api.backend.annotation.CoreBanking;
 import kr.co.api.backend.dto.CustFrgnAcctDTO;
 import kr.co.api.backend.dto.CustTranHistDTO;
 import kr.co.api.backend.dto.FrgnAcctBalanceDTO;
@@ -24,6 +25,7 @@ public interface FrgnAcctMapper {
     void updateFrgnAcctBal(BigDecimal amount, String acctNo, String currency);
 
     // 거래 내역
+    @CoreBanking
     void insertTranHist(CustTranHistDTO custTranHistDTO);
 
 }
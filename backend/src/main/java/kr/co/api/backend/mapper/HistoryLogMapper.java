@@ -0,0 +1,24 @@
+package kr.co.api.backend.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 비동기 이력 멱등 처리용 (Slave 전용, slaveSqlSessionTemplate으로 호출)
+ */
+@Mapper
+public interface HistoryLogMapper {
+
+    // 이미 적용된 이벤트 키 조회 (최대 1000개씩)
+    List<String> selectAppliedEventIds(@Param("eventIds") List<String> eventIds);
+
+    int insertAppliedEvent(
+            @Param("eventId") String eventId,
+            @Param("logType") String logType
+    );
+
+    // 보관 기간 지난 적용 기록 정리
+    int deleteAppliedEventsBefore(@Param("retentionDays") int retentionDays);
+}
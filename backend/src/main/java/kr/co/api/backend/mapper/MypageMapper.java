@@ -1,5 +1,6 @@
 package kr.co.api.backend.mapper;
 
+import kr.co.api.backend.annotation.CoreBanking;
 import kr.co.api.backend.dto.*;
 import org.apache.ibatis.annotations.Mapper;
 
@@ -34,6 +35,7 @@ public interface MypageMapper {
     CustAcctDTO selectCustAcct(String acctNo);
 
     // 계좌 이체 성공시 삽입
+    @CoreBanking
     void insertTranHist(CustTranHistDTO custTranHistDTO);
 
     // 입금
@@ -78,6 +80,7 @@ public interface MypageMapper {
     public DpstAcctHdrDTO selectDpstKrwAcctHdr(String dpstHdrAcctNo);
     public DpstAcctHdrDTO selectDpstFrgnAcctHdr(String dpstHdrAcctNo, String dpstHdrCurrency);
 
+    @CoreBanking
     public void insertDpstCustTranHist(CustTranHistDTO custTranHistDTO);
     public void insertDpstAcctDtl(DpstAcctDtlDTO dpstDtlDTO);
     public void updateDpstAcctHdr(DpstAcctHdrDTO dpstAcctHdrDTO);
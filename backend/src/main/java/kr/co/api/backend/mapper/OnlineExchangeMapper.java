@@ -51,6 +51,13 @@ public interface OnlineExchangeMapper {
     );
 
 
+    // 견적 실행용: 원화 계좌 잔액만 PK로 잠금
+    Long selectKrwBalanceForUpdate(@Param("acctNo") String acctNo);
+
+    // 견적 실행용: 외화 자식 계좌 잔액만 PK로 잠금
+    Long selectFrgnBalanceByBalNoForUpdate(@Param("balNo") String balNo);
+
+
     // 원화 계좌 잔액 UPDATE
     @CoreBanking
     int updateKrwAcctBalance(
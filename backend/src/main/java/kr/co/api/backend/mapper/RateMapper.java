@@ -3,6 +3,7 @@ package kr.co.api.backend.mapper;
 import kr.co.api.backend.dto.RateDTO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -12,14 +13,11 @@ import java.util.List;
 public interface RateMapper {
 
 
-     // 오늘 날짜 기준, 해당 통화 환율 저장 돼 있는지 확인
+    // 해당 고시일에 이미 적재된 환율 전체 (전 통화, 전 고시회차)
+    List<RateDTO> selectRatesByRegDt(@Param("regDt") LocalDate regDt);
 
-    int existsTodayRate(@Param("currency") String currency,
-                        @Param("regDt") LocalDate regDt);
-
-    // 환율 데이터 저장
-
-    int insertRate(RateDTO rateDTO);
+    // 환율 일괄 저장 (통화 + 고시일 + 고시회차 기준 MERGE, 1 statement)
+    int mergeRates(@Param("rates") List<RateDTO> rates);
 
 
     // 통화별 최신 환율 1건 조회
@@ -34,4 +32,13 @@ public interface RateMapper {
 
     RateDTO selectLatestRate(@Param("currency") String currency);
 
+    // 통화별 직전 고시 1건 (최신 바로 앞 회차)
+    List<RateDTO> selectPreviousRates();
+
+    // 시계열 적재용 전체 이력 (통화, 고시일, 회차 순, 건별 스트리밍)
+    void selectRateSeries(ResultHandler<RateDTO> handler);
+
+    // 시계열 추가용 (해당 고시일 이후 전 통화)
+    List<RateDTO> selectRatesSince(@Param("regDt") LocalDate regDt);
+
 }
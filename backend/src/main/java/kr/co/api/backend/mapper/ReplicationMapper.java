@@ -0,0 +1,33 @@
+package kr.co.api.backend.mapper;
+
+import kr.co.api.backend.annotation.CoreBanking;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+
+@Mapper
+public interface ReplicationMapper {
+
+    // 복제 지연 측정용 하트비트 (Master 기록 → 복제 파이프라인으로 Slave 전달)
+    @CoreBanking
+    int updateReplHeartbeat(
+            @Param("nodeId") String nodeId,
+            @Param("hbTs") long hbTs
+    );
+
+    // Slave에 도착한 마지막 하트비트 시각 (slaveSqlSessionTemplate으로 호출)
+    Long selectReplHeartbeat(@Param("nodeId") String nodeId);
+
+    // 복제 순서 토큰 (Master 트랜잭션 안에서, SlaveReplicator가 statement id로 호출)
+    long selectReplOrderToken();
+
+    // 키별 마지막 반영 토큰 조회 + 잠금 / 갱신 (slaveBatchSqlSessionTemplate으로 호출)
+    List<Map<String, Object>> selectReplKeyOrders(@Param("keys") List<String> keys);
+
+    int mergeReplKeyOrder(
+            @Param("partKey") String partKey,
+            @Param("orderToken") long orderToken
+    );
+}
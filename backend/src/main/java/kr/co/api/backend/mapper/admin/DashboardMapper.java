@@ -1,5 +1,6 @@
 package kr.co.api.backend.mapper.admin;
 
+import kr.co.api.backend.annotation.ReadOnlyRoute;
 import kr.co.api.backend.dto.admin.dashboard.*;
 import org.apache.ibatis.annotations.Mapper;
 
@@ -9,7 +10,10 @@ import java.util.List;
 public interface DashboardMapper {
 
     //오늘 거래금액 + 수
+    // TB_CUST_TRAN_HIST만 읽는 집계 → 5분 주기 통계라 복제 지연 허용, Slave에서 읽음
+    @ReadOnlyRoute(maxStalenessMs = 60_000)
     TotalTxSummaryDTO selectTodayTotalTxSummary();
+    @ReadOnlyRoute(maxStalenessMs = 60_000)
     List<DailyTxSummaryDTO> selectLast7DaysTotalTxSummary();
 
     // 오늘 거래 건수들
@@ -0,0 +1,180 @@
+package kr.co.api.backend.replication;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.co.api.backend.config.DbStatusManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [복제 저널 재생기]
+ * - Slave가 살아있고 저널에 미반영 작업이 있으면 순서대로 배치 재생
+ * - 재생 전용 스레드에서 돌기 때문에 @Scheduled 스레드(헬스체크 등)를 막지 않음
+ * - 같은 배치가 max-batch-attempts번 연속 실패하면(Slave는 살아있음) 독성 배치로 보고 건별 재생,
+ *   건별로도 계속 실패하는 작업은 격리 파일로 옮기고 커서를 넘김
+ *   (저널이 비지 않으면 새 복제 작업도 계속 저널로 가므로, 한 건 때문에 Slave가 영영 못 따라오는 것을 막음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JournalReplayer {
+
+    private final ReplicationJournal journal;
+    private final SlaveReplicator slaveReplicator;
+    private final DbStatusManager dbStatusManager;
+
+    @Value("${flobank.replication.journal.replay-batch-size:1000}")
+    private int replayBatchSize;
+
+    @Value("${flobank.replication.journal.max-batch-attempts:3}")
+    private int maxBatchAttempts;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+    private volatile boolean running;
+    private Thread thread;
+
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder poisonBatches = new LongAdder();
+    private volatile long lastRunOps;
+    private volatile long lastRunMillis;
+    private volatile long lastQuarantinedSeq;
+
+    // 연속 실패 중인 배치 (첫 seq 기준) / 재생 스레드 전용
+    private long failingSeq = -1;
+    private volatile int failingAttempts;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        thread = new Thread(this::loop, "journal-replayer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(5000);
+    }
+
+    // DbHealthChecker가 Slave 복구를 감지했을 때 즉시 재생 시작
+    public void wakeUp() {
+        wakeUp.release();
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                wakeUp.tryAcquire(1, TimeUnit.SECONDS);
+                wakeUp.drainPermits();
+                if (dbStatusManager.isSlaveAlive() && journal.hasPending()) {
+                    drain();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                log.error("❌ [Journal Replay] 재생 실패. 다음 주기에 재시도합니다 : {}", e.getMessage());
+            }
+        }
+    }
+
+    private void drain() throws Exception {
+        long startedAt = System.currentTimeMillis();
+        long count = 0;
+        log.info("🔁 [Journal Replay] Slave 복구 감지. 저널 재생 시작 (대기 {}건)", journal.pendingCount());
+
+        while (running && dbStatusManager.isSlaveAlive()) {
+            ReplicationJournal.ReadBatch batch = journal.read(replayBatchSize);
+            if (batch.getOps().isEmpty()) break;
+
+            try {
+                slaveReplicator.writeBatch(batch.getOps());
+            } catch (Exception e) {
+                // 재시도 횟수가 남았으면 다음 주기에 같은 배치부터 다시
+                if (!isPoison(batch, e)) throw e;
+                replayOneByOne(batch);
+            }
+            journal.markReplayed(batch);
+            failingSeq = -1;
+            failingAttempts = 0;
+
+            count += batch.getOps().size();
+            replayed.add(batch.getOps().size());
+        }
+
+        lastRunOps = count;
+        lastRunMillis = System.currentTimeMillis() - startedAt;
+        log.info("✅ [Journal Replay] 저널 재생 완료 ({}건, {}ms, 남은 {}건)", count, lastRunMillis, journal.pendingCount());
+    }
+
+    private boolean isPoison(ReplicationJournal.ReadBatch batch, Exception e) {
+        if (batch.getFirstSeq() != failingSeq) {
+            failingSeq = batch.getFirstSeq();
+            failingAttempts = 0;
+        }
+        failingAttempts++;
+        log.warn("⚠️ [Journal Replay] 배치 반영 실패 (seq {}~{}, {}/{}회) : {}",
+                batch.getFirstSeq(), batch.getLastSeq(), failingAttempts, maxBatchAttempts, e.getMessage());
+        // Slave 장애 중의 실패는 작업 탓이 아님
+        return failingAttempts >= maxBatchAttempts && dbStatusManager.isSlaveAlive();
+    }
+
+    /**
+     * 독성 배치 건별 재생
+     * - 건마다 maxBatchAttempts번까지 시도, 그래도 실패하면 격리
+     * - 도중에 Slave가 죽으면 중단 (이미 반영한 앞 건은 다음 재생에서 다시 반영돼도 같은 값)
+     */
+    private void replayOneByOne(ReplicationJournal.ReadBatch batch) throws Exception {
+        poisonBatches.increment();
+        log.error("🚨 [Journal Replay] seq {}~{} 배치가 {}회 연속 실패. 건별 재생으로 전환합니다.",
+                batch.getFirstSeq(), batch.getLastSeq(), failingAttempts);
+
+        long seq = batch.getFirstSeq();
+        for (ReplicationOp op : batch.getOps()) {
+            Exception error = null;
+            for (int attempt = 1; attempt <= maxBatchAttempts; attempt++) {
+                try {
+                    slaveReplicator.writeBatch(List.of(op));
+                    error = null;
+                    break;
+                } catch (Exception e) {
+                    error = e;
+                    Thread.sleep(200L * attempt);
+                }
+            }
+            if (error != null) {
+                if (!dbStatusManager.isSlaveAlive()) {
+                    throw new IllegalStateException("Slave 장애로 건별 재생 중단 (seq=" + seq + ")", error);
+                }
+                journal.quarantine(seq, op);
+                lastQuarantinedSeq = seq;
+                log.error("🚨 [Journal Replay] 반영 불가 작업 격리 (seq={}, statement={}, key={}) : {}",
+                        seq, op.getStatementId(), op.getPartitionKey(), error.getMessage());
+            }
+            seq++;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = journal.getStats();
+        Map<String, Object> result = new LinkedHashMap<>(stats);
+        result.put("replayed", replayed.sum());
+        result.put("failingAttempts", failingAttempts);
+        result.put("poisonBatches", poisonBatches.sum());
+        result.put("lastQuarantinedSeq", lastQuarantinedSeq);
+        result.put("lastRunOps", lastRunOps);
+        result.put("lastRunMillis", lastRunMillis);
+        result.put("lastRunOpsPerSec", lastRunMillis > 0 ? lastRunOps * 1000 / lastRunMillis : lastRunOps);
+        return result;
+    }
+}
@@ -0,0 +1,424 @@
+package kr.co.api.backend.replication;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * [Slave 복제 로컬 저널]
+ * - Slave 장애/반영 실패로 적용하지 못한 @CoreBanking 작업을 로컬 디스크에 순서대로 보관
+ * - Memory-mapped 세그먼트 파일에 append-only로 기록, 세그먼트가 차면 다음 파일로 롤링
+ * - 레코드 구조: [length(4)][seq(8)][crc32(4)][payload]  (length 0 = 기록 끝)
+ * - payload 끝의 orderToken(8)은 나중에 추가된 필드 → 없는 예전 레코드는 0(순번 없음)으로 읽음
+ * - 재생 완료 위치(seq)는 체크포인트 파일에 저장, 다 재생된 세그먼트는 삭제
+ * - 계속 반영에 실패하는 작업(잘못된 파라미터, 제약 조건 위반 등)은 격리 파일에 같은 레코드 구조로 옮겨둠
+ */
+@Slf4j
+@Component
+public class ReplicationJournal {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "journal.ckpt";
+    private static final String QUARANTINE_FILE = "journal-quarantine.dat";
+    private static final int HEADER_SIZE = 4 + 8 + 4;
+
+    @Value("${flobank.replication.journal.dir:./data/replication-journal}")
+    private String journalDir;
+
+    @Value("${flobank.replication.journal.segment-size-mb:64}")
+    private int segmentSizeMb;
+
+    // Map 파라미터 안의 Long/DTO 타입 정보를 유지하기 위해 Redis와 같은 직렬화 사용
+    private final GenericJackson2JsonRedisSerializer paramSerializer = new GenericJackson2JsonRedisSerializer();
+
+    private Path dir;
+    private FileChannel checkpointChannel;
+    private FileChannel quarantineChannel;
+
+    // 오래된 순서 (마지막이 현재 쓰기 세그먼트) / this 로 보호
+    private final List<Segment> segments = new ArrayList<>();
+
+    // 재생 커서 (segments 안의 위치)
+    private int readSegmentIdx;
+    private int readPos;
+
+    private volatile long lastAppendedSeq;
+    private volatile long lastReplayedSeq;
+    private long appendedTotal;
+    private long quarantinedTotal;
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        dir = Paths.get(journalDir);
+        Files.createDirectories(dir);
+
+        checkpointChannel = FileChannel.open(dir.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        lastReplayedSeq = readCheckpoint();
+        quarantineChannel = FileChannel.open(dir.resolve(QUARANTINE_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        List<Path> files;
+        try (Stream<Path> s = Files.list(dir)) {
+            // 격리 파일도 같은 접두어 → 확장자까지 확인
+            files = s.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+
+        long seq = lastReplayedSeq;
+        for (Path file : files) {
+            Segment seg = Segment.open(file, segmentBytes());
+            seq = seg.recover(seq);
+            segments.add(seg);
+        }
+        lastAppendedSeq = Math.max(seq, lastReplayedSeq);
+
+        // 체크포인트까지 재생된 레코드는 건너뛰도록 커서 복원
+        readSegmentIdx = 0;
+        readPos = 0;
+        skipReplayed();
+        deleteReplayedSegments();
+
+        if (hasPending()) {
+            log.warn("⚠️ [Journal] 미반영 Slave 복제 작업 {}건이 저널에 남아있습니다. Slave 복구 시 재생합니다.", pendingCount());
+        }
+        log.info(">>> [Journal] 복제 저널 오픈 완료 (dir={}, segments={}, lastSeq={})", dir, segments.size(), lastAppendedSeq);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        for (Segment seg : segments) {
+            seg.close();
+        }
+        if (checkpointChannel != null) checkpointChannel.close();
+        if (quarantineChannel != null) quarantineChannel.close();
+    }
+
+    public boolean hasPending() {
+        return lastAppendedSeq > lastReplayedSeq;
+    }
+
+    public long pendingCount() {
+        return lastAppendedSeq - lastReplayedSeq;
+    }
+
+    /**
+     * 작업 목록을 순서대로 저널에 기록하고 디스크에 강제 반영(force)한다.
+     */
+    public synchronized void append(List<ReplicationOp> ops) throws IOException {
+        Segment touched = null;
+        for (ReplicationOp op : ops) {
+            byte[] payload = encode(op);
+            int entrySize = HEADER_SIZE + payload.length;
+            if (entrySize > segmentBytes()) {
+                throw new IOException("저널 레코드가 세그먼트 크기를 초과합니다: " + entrySize);
+            }
+
+            Segment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (active == null || active.remaining() < entrySize) {
+                if (active != null) active.force();
+                active = roll(lastAppendedSeq + 1);
+            }
+
+            long seq = lastAppendedSeq + 1;
+            active.write(seq, payload);
+            lastAppendedSeq = seq;
+            appendedTotal++;
+            touched = active;
+        }
+        if (touched != null) touched.force();
+    }
+
+    /**
+     * 커서 위치부터 최대 max건을 읽는다. (커서는 markReplayed 호출 시에만 전진)
+     */
+    public synchronized ReadBatch read(int max) throws IOException {
+        List<ReplicationOp> ops = new ArrayList<>(Math.min(max, 1024));
+        int segIdx = readSegmentIdx;
+        int pos = readPos;
+        long lastSeq = lastReplayedSeq;
+
+        while (ops.size() < max && segIdx < segments.size()) {
+            Segment seg = segments.get(segIdx);
+            if (pos + HEADER_SIZE > seg.writePos) {
+                // 현재 쓰기 세그먼트면 여기서 끝, 아니면 다음 세그먼트로
+                if (segIdx == segments.size() - 1) break;
+                segIdx++;
+                pos = 0;
+                continue;
+            }
+            ByteBuffer buf = seg.buffer.duplicate();
+            buf.position(pos);
+            int len = buf.getInt();
+            long seq = buf.getLong();
+            int crc = buf.getInt();
+            byte[] payload = new byte[len];
+            buf.get(payload);
+            if (crc(seq, payload) != crc) {
+                throw new IOException("저널 체크섬 불일치 (seq=" + seq + ")");
+            }
+            ops.add(decode(payload));
+            lastSeq = seq;
+            pos += HEADER_SIZE + len;
+        }
+        return new ReadBatch(ops, lastSeq, segIdx, pos);
+    }
+
+    /**
+     * Slave 반영이 끝난 배치까지 커서를 전진시키고 체크포인트를 기록한다.
+     */
+    public synchronized void markReplayed(ReadBatch batch) throws IOException {
+        if (batch.getOps().isEmpty()) return;
+        readSegmentIdx = batch.segmentIdx;
+        readPos = batch.position;
+        lastReplayedSeq = batch.getLastSeq();
+        writeCheckpoint(lastReplayedSeq);
+        deleteReplayedSegments();
+    }
+
+    /**
+     * 재생할 수 없는 작업을 격리 파일에 기록한다. (원래 seq 유지, 재생 커서는 markReplayed로 넘어감)
+     */
+    public synchronized void quarantine(long seq, ReplicationOp op) throws IOException {
+        byte[] payload = encode(op);
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        buf.putInt(payload.length).putLong(seq).putInt(crc(seq, payload)).put(payload).flip();
+        while (buf.hasRemaining()) {
+            quarantineChannel.write(buf);
+        }
+        quarantineChannel.force(false);
+        quarantinedTotal++;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("dir", String.valueOf(dir));
+        stats.put("segments", segments.size());
+        stats.put("pending", pendingCount());
+        stats.put("appended", appendedTotal);
+        stats.put("lastAppendedSeq", lastAppendedSeq);
+        stats.put("lastReplayedSeq", lastReplayedSeq);
+        stats.put("quarantined", quarantinedTotal);
+        return stats;
+    }
+
+    // ---------------------------------------------------------
+    // 내부 처리
+    // ---------------------------------------------------------
+
+    private int segmentBytes() {
+        return segmentSizeMb * 1024 * 1024;
+    }
+
+    private Segment roll(long baseSeq) throws IOException {
+        Path file = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, baseSeq, SEGMENT_SUFFIX));
+        Segment seg = Segment.open(file, segmentBytes());
+        segments.add(seg);
+        log.info("[Journal] 새 세그먼트 생성: {}", file.getFileName());
+        return seg;
+    }
+
+    private void skipReplayed() {
+        while (readSegmentIdx < segments.size()) {
+            Segment seg = segments.get(readSegmentIdx);
+            ByteBuffer buf = seg.buffer.duplicate();
+            while (readPos + HEADER_SIZE <= seg.writePos) {
+                buf.position(readPos);
+                int len = buf.getInt();
+                long seq = buf.getLong();
+                if (seq > lastReplayedSeq) return;
+                readPos += HEADER_SIZE + len;
+            }
+            if (readSegmentIdx == segments.size() - 1) return;
+            readSegmentIdx++;
+            readPos = 0;
+        }
+    }
+
+    // 커서보다 앞선 세그먼트는 모두 재생 완료 → 삭제
+    private void deleteReplayedSegments() throws IOException {
+        while (readSegmentIdx > 0) {
+            Segment old = segments.remove(0);
+            old.close();
+            Files.deleteIfExists(old.path);
+            readSegmentIdx--;
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (checkpointChannel.size() < 8) return 0L;
+        ByteBuffer buf = ByteBuffer.allocate(8);
+        checkpointChannel.read(buf, 0);
+        buf.flip();
+        return buf.getLong();
+    }
+
+    private void writeCheckpoint(long seq) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(8);
+        buf.putLong(seq).flip();
+        checkpointChannel.write(buf, 0);
+        checkpointChannel.force(false);
+    }
+
+    private byte[] encode(ReplicationOp op) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            out.writeUTF(op.getStatementId());
+            out.writeByte(op.getKind().ordinal());
+            out.writeUTF(op.getPartitionKey());
+            out.writeLong(op.getCapturedAt());
+            byte[] param = op.getParameter() == null ? new byte[0] : paramSerializer.serialize(op.getParameter());
+            out.writeInt(param.length);
+            out.write(param);
+            out.writeLong(op.getOrderToken());
+        }
+        return bos.toByteArray();
+    }
+
+    private ReplicationOp decode(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            String statementId = in.readUTF();
+            ReplicationOp.Kind kind = ReplicationOp.Kind.values()[in.readByte()];
+            String partitionKey = in.readUTF();
+            long capturedAt = in.readLong();
+            byte[] param = new byte[in.readInt()];
+            in.readFully(param);
+            Object parameter = param.length == 0 ? null : paramSerializer.deserialize(param);
+            long orderToken = in.available() >= 8 ? in.readLong() : 0L;
+            return new ReplicationOp(statementId, kind, parameter, partitionKey, capturedAt, orderToken);
+        }
+    }
+
+    private static int crc(long seq, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(8).putLong(0, seq));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 저널에서 읽은 배치 (재생 성공 후 markReplayed로 커밋)
+     */
+    @Getter
+    public static class ReadBatch {
+        private final List<ReplicationOp> ops;
+        private final long lastSeq;
+        private final int segmentIdx;
+        private final int position;
+
+        ReadBatch(List<ReplicationOp> ops, long lastSeq, int segmentIdx, int position) {
+            this.ops = ops;
+            this.lastSeq = lastSeq;
+            this.segmentIdx = segmentIdx;
+            this.position = position;
+        }
+
+        // seq는 연속으로 발급되므로 첫 작업의 seq = lastSeq - (건수 - 1)
+        public long getFirstSeq() {
+            return lastSeq - ops.size() + 1;
+        }
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private volatile int writePos;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path path, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long mapSize = Math.max(channel.size(), size);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, mapSize);
+            return new Segment(path, channel, buffer);
+        }
+
+        /**
+         * 기존 세그먼트를 검증하며 끝 위치를 찾는다.
+         * - 체크섬이 깨진 레코드(쓰다 만 꼬리)부터는 버리고 그 위치부터 이어 씀
+         */
+        long recover(long prevSeq) {
+            ByteBuffer buf = buffer.duplicate();
+            int pos = 0;
+            long seq = prevSeq;
+            while (pos + HEADER_SIZE <= buf.capacity()) {
+                buf.position(pos);
+                int len = buf.getInt();
+                if (len <= 0 || pos + HEADER_SIZE + len > buf.capacity()) break;
+                long entrySeq = buf.getLong();
+                int crc = buf.getInt();
+                byte[] payload = new byte[len];
+                buf.get(payload);
+                if (crc(entrySeq, payload) != crc) {
+                    log.error("❌ [Journal] 손상된 레코드 발견 ({} @{}). 이후 내용은 폐기합니다.", path.getFileName(), pos);
+                    break;
+                }
+                seq = entrySeq;
+                pos += HEADER_SIZE + len;
+            }
+            // 꼬리 정리: 다음 레코드 자리를 0으로 만들어 끝 표시
+            if (pos + 4 <= buffer.capacity()) buffer.putInt(pos, 0);
+            writePos = pos;
+            return seq;
+        }
+
+        int remaining() {
+            return buffer.capacity() - writePos;
+        }
+
+        void write(long seq, byte[] payload) {
+            int pos = writePos;
+            ByteBuffer buf = buffer.duplicate();
+            buf.position(pos + 4);
+            buf.putLong(seq);
+            buf.putInt(crc(seq, payload));
+            buf.put(payload);
+            if (buf.position() + 4 <= buf.capacity()) buf.putInt(buf.position(), 0);
+            // length는 마지막에 기록 → 중간에 죽어도 레코드가 반쯤 보이지 않음
+            buffer.putInt(pos, payload.length);
+            writePos = pos + HEADER_SIZE + payload.length;
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package kr.co.api.backend.replication;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * [Slave 복제 단위]
+ * - @CoreBanking 매퍼 호출 1건을 Master 커밋 시점에 캡처한 값
+ * - partitionKey(계좌번호 등)가 같은 작업은 같은 레인에서 순서대로 반영됨
+ * - orderToken: Master 행 락을 쥔 채(커밋 직전) 받은 순번 → Slave는 키별로 더 새로운 UPDATE만 반영
+ *   (afterCommit 큐 적재 순서 / 노드가 달라도 Master 커밋 순서를 따름, 0 = 순번 없음)
+ */
+@Getter
+@AllArgsConstructor
+public class ReplicationOp {
+
+    public enum Kind { INSERT, UPDATE, DELETE }
+
+    // MyBatis statement id (예: kr.co.api.backend.mapper.OnlineExchangeMapper.updateKrwAcctBalance)
+    private final String statementId;
+
+    private final Kind kind;
+
+    // 매퍼에 넘어간 파라미터 객체 (단일 인자 or param 맵)
+    private final Object parameter;
+
+    // 순서 보장 기준 키 (계좌번호 / 잔액번호)
+    private final String partitionKey;
+
+    // 캡처 시각 (복제 지연 측정용)
+    private final long capturedAt;
+
+    // Master 커밋 순서 토큰 (SEQ_REPL_ORDER)
+    private final long orderToken;
+
+    public ReplicationOp withOrderToken(long orderToken) {
+        return new ReplicationOp(statementId, kind, parameter, partitionKey, capturedAt, orderToken);
+    }
+}
@@ -0,0 +1,406 @@
+package kr.co.api.backend.replication;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.co.api.backend.config.DbStatusManager;
+import lombok.extern.slf4j.Slf4j;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [Slave 비동기 복제 파이프라인]
+ * - DataSyncAspect가 캡처한 @CoreBanking 작업을 Master 커밋 이후에 큐에 적재
+ * - 레인(스레드)별로 큐를 모아서 JDBC Batch + 단일 트랜잭션으로 Slave에 그룹 커밋
+ * - 같은 계좌(partitionKey)는 항상 같은 레인으로 가므로 계좌 단위 순서 보장
+ * - 단, afterCommit 적재 순서는 커밋 순서와 다를 수 있고(노드가 다르면 레인도 다름) UPDATE는 절대값이라
+ *   커밋 직전(행 락 보유 중)에 Master 순번(orderToken)을 받아두고, Slave는 키별로 더 새로운 UPDATE만 반영
+ * - Slave 장애/반영 실패 시 배치를 ReplicationJournal에 기록하고, 저널이 빌 때까지는
+ *   이후 작업도 저널로 보내서 JournalReplayer가 순서대로 재생하도록 함
+ */
+@Slf4j
+@Component
+public class SlaveReplicator {
+
+    private static final String REPLICATION_MAPPER = "kr.co.api.backend.mapper.ReplicationMapper.";
+    // Oracle IN 목록 1000개 제한
+    private static final int ORDER_KEY_CHUNK = 500;
+
+    private final SqlSessionTemplate masterSqlSession;
+    private final SqlSessionTemplate slaveBatchSqlSession;
+    private final PlatformTransactionManager slaveTransactionManager;
+    private final DbStatusManager dbStatusManager;
+    private final ReplicationJournal journal;
+
+    @Value("${flobank.replication.lanes:2}")
+    private int laneCount;
+
+    @Value("${flobank.replication.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${flobank.replication.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private Lane[] lanes;
+    private volatile boolean running;
+
+    // 메트릭
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder journaled = new LongAdder();
+    private final LongAdder lost = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder staleSkipped = new LongAdder();
+    private final LongAdder unordered = new LongAdder();
+    private volatile long lastBatchSize;
+    private volatile long maxObservedBatchSize;
+    private volatile long lastLagMillis;
+    private volatile long maxLagMillis;
+    private volatile long opsPerSec;
+    private long prevApplied;
+
+    @Autowired
+    public SlaveReplicator(
+            @Qualifier("sqlSessionTemplate") SqlSessionTemplate masterSqlSession,
+            @Qualifier("slaveBatchSqlSessionTemplate") SqlSessionTemplate slaveBatchSqlSession,
+            @Qualifier("slaveTransactionManager") PlatformTransactionManager slaveTransactionManager,
+            DbStatusManager dbStatusManager,
+            ReplicationJournal journal
+    ) {
+        this.masterSqlSession = masterSqlSession;
+        this.slaveBatchSqlSession = slaveBatchSqlSession;
+        this.slaveTransactionManager = slaveTransactionManager;
+        this.dbStatusManager = dbStatusManager;
+        this.journal = journal;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        lanes = new Lane[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(queueCapacity);
+            Thread t = new Thread(lanes[i], "slave-replicator-" + i);
+            t.setDaemon(true);
+            lanes[i].thread = t;
+            t.start();
+        }
+        log.info(">>> [Replicator] Slave 복제 파이프라인 시작 (lanes={}, maxBatch={})", lanes.length, maxBatchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+        }
+        for (Lane lane : lanes) {
+            try {
+                lane.thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info(">>> [Replicator] Slave 복제 파이프라인 종료 (applied={}, failed={})", applied.sum(), failed.sum());
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤에 복제 큐로 넘긴다.
+     * - 트랜잭션 밖에서 호출되면 (auto-commit) 순서 토큰만 받고 즉시 큐에 넣음
+     *   (이미 커밋되어 행 락이 없으므로 같은 키를 한 곳에서만 쓰는 경우(하트비트)에만 순서가 맞음)
+     * - 롤백된 트랜잭션의 작업은 버려짐
+     */
+    public void submitAfterCommit(ReplicationOp op) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(op.withOrderToken(nextOrderToken()));
+            return;
+        }
+
+        // 트랜잭션당 synchronization 1개만 등록하고 작업은 누적
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof PendingOps pending) {
+                pending.ops.add(op);
+                return;
+            }
+        }
+        PendingOps pending = new PendingOps();
+        pending.ops.add(op);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    /**
+     * Master 순서 토큰 발급 (현재 트랜잭션 커넥션 사용)
+     * - 실패해도 업무 트랜잭션은 깨지 않음 → 0(순번 없음)으로 보내고 Slave에서는 조건 없이 반영
+     */
+    private long nextOrderToken() {
+        try {
+            Long token = masterSqlSession.selectOne(REPLICATION_MAPPER + "selectReplOrderToken");
+            if (token != null) return token;
+        } catch (Exception e) {
+            log.warn("⚠️ [Replicator] 복제 순서 토큰 발급 실패. 순번 없이 복제합니다 : {}", e.getMessage());
+        }
+        unordered.increment();
+        return 0L;
+    }
+
+    /**
+     * 레인 큐에 적재 (큐가 가득 차면 빌 때까지 호출 스레드를 막음 = 역압)
+     * - 큐를 건너뛰어 저널로 바로 쓰면 레인에 남은 같은 키의 이전 작업보다 먼저 기록되므로 그렇게 하지 않음
+     * - 레인 스레드가 이미 종료된 경우(셧다운)에만 저널로 직접 기록 (종료 시 큐는 모두 비운 뒤임)
+     */
+    public void enqueue(ReplicationOp op) {
+        Lane lane = lanes[Math.floorMod(op.getPartitionKey().hashCode(), lanes.length)];
+        boolean interrupted = false;
+        boolean waited = false;
+        try {
+            while (true) {
+                try {
+                    if (lane.queue.offer(op, 1, TimeUnit.SECONDS)) {
+                        enqueued.increment();
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    // 커밋된 작업이므로 버리지 않고 계속 대기, 인터럽트 상태는 나중에 복원
+                    interrupted = true;
+                }
+                if (!lane.thread.isAlive()) break;
+                if (!waited) {
+                    waited = true;
+                    blocked.increment();
+                    log.warn("⚠️ [Replicator] 복제 큐 포화. 자리가 날 때까지 대기합니다 (statement: {}, key: {})",
+                            op.getStatementId(), op.getPartitionKey());
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        log.error("❌ [Replicator] 복제 레인 종료됨. 저널로 바로 기록합니다 (statement: {}, key: {})",
+                op.getStatementId(), op.getPartitionKey());
+        toJournal(List.of(op));
+    }
+
+    /**
+     * 레인에서 꺼낸 배치 처리
+     * - Slave 장애 or 저널에 밀린 작업이 있으면 → 순서 유지를 위해 저널로
+     * - 그 외에는 Slave에 그룹 커밋, 실패하면 저널로
+     */
+    private void applyBatch(List<ReplicationOp> batch) {
+        if (!dbStatusManager.isSlaveAlive() || journal.hasPending()) {
+            toJournal(batch);
+            return;
+        }
+
+        try {
+            writeBatch(batch);
+
+            long lag = System.currentTimeMillis() - batch.get(0).getCapturedAt();
+            applied.add(batch.size());
+            batches.increment();
+            lastBatchSize = batch.size();
+            lastLagMillis = lag;
+            if (batch.size() > maxObservedBatchSize) maxObservedBatchSize = batch.size();
+            if (lag > maxLagMillis) maxLagMillis = lag;
+
+            log.debug("✅ [Replicator] Slave 그룹 커밋 완료 ({}건, lag={}ms)", batch.size(), lag);
+
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.error("❌ [Replicator] Slave 그룹 커밋 실패 ({}건). 저널로 이관합니다 : {}", batch.size(), e.getMessage());
+            toJournal(batch);
+        }
+    }
+
+    private void toJournal(List<ReplicationOp> ops) {
+        try {
+            journal.append(ops);
+            journaled.add(ops.size());
+        } catch (Exception e) {
+            lost.add(ops.size());
+            log.error("💀 [Replicator] 저널 기록 실패. Slave 반영 누락 {}건 : {}", ops.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 배치 단위 그룹 커밋 (JournalReplayer도 같은 경로 사용)
+     * - BATCH Executor로 모아서 flush → 한 번의 Slave 커밋
+     * - 순서 토큰이 있는 UPDATE는 키별 마지막 반영 토큰(TB_REPL_KEY_ORDER, 행 잠금)보다 오래되면 건너뜀
+     *   (같은 트랜잭션의 작업은 토큰이 같으므로 모두 반영)
+     */
+    public void writeBatch(List<ReplicationOp> batch) {
+        TransactionStatus status = slaveTransactionManager.getTransaction(new DefaultTransactionDefinition());
+        try {
+            Map<String, Long> lastTokens = lockOrderTokens(batch);
+            Map<String, Long> advanced = new LinkedHashMap<>();
+            for (ReplicationOp op : batch) {
+                if (isOrdered(op)) {
+                    String key = orderKey(op);
+                    Long last = lastTokens.get(key);
+                    if (last != null && op.getOrderToken() < last) {
+                        staleSkipped.increment();
+                        log.debug("[Replicator] 이미 더 새로운 값이 반영된 작업 건너뜀 (key={}, token={} < {})",
+                                key, op.getOrderToken(), last);
+                        continue;
+                    }
+                    lastTokens.put(key, op.getOrderToken());
+                    advanced.put(key, op.getOrderToken());
+                }
+                switch (op.getKind()) {
+                    case INSERT -> slaveBatchSqlSession.insert(op.getStatementId(), op.getParameter());
+                    case UPDATE -> slaveBatchSqlSession.update(op.getStatementId(), op.getParameter());
+                    case DELETE -> slaveBatchSqlSession.delete(op.getStatementId(), op.getParameter());
+                }
+            }
+            for (Map.Entry<String, Long> entry : advanced.entrySet()) {
+                Map<String, Object> param = new HashMap<>();
+                param.put("partKey", entry.getKey());
+                param.put("orderToken", entry.getValue());
+                slaveBatchSqlSession.update(REPLICATION_MAPPER + "mergeReplKeyOrder", param);
+            }
+            slaveBatchSqlSession.flushStatements();
+        } catch (RuntimeException e) {
+            slaveTransactionManager.rollback(status);
+            throw e;
+        }
+        slaveTransactionManager.commit(status);
+    }
+
+    // 배치에 나오는 키의 마지막 반영 토큰을 잠그고 읽음 (다른 노드의 같은 키 반영과 직렬화)
+    // - 처음 보는 키는 잠글 행이 없음 → 두 노드가 동시에 넣으면 한쪽이 PK 충돌로 실패 → 저널 재생에서 다시 비교
+    private Map<String, Long> lockOrderTokens(List<ReplicationOp> batch) {
+        List<String> keys = batch.stream()
+                .filter(SlaveReplicator::isOrdered)
+                .map(SlaveReplicator::orderKey)
+                .distinct()
+                .toList();
+        Map<String, Long> tokens = new HashMap<>();
+        for (int from = 0; from < keys.size(); from += ORDER_KEY_CHUNK) {
+            List<String> chunk = keys.subList(from, Math.min(from + ORDER_KEY_CHUNK, keys.size()));
+            List<Map<String, Object>> rows = slaveBatchSqlSession.selectList(
+                    REPLICATION_MAPPER + "selectReplKeyOrders", Map.of("keys", chunk));
+            for (Map<String, Object> row : rows) {
+                tokens.put((String) row.get("PART_KEY"), ((Number) row.get("ORDER_TOKEN")).longValue());
+            }
+        }
+        return tokens;
+    }
+
+    // 순서 비교 대상: 절대값을 덮어쓰는 UPDATE 중 순서 토큰이 있는 것
+    private static boolean isOrdered(ReplicationOp op) {
+        return op.getKind() == ReplicationOp.Kind.UPDATE && op.getOrderToken() > 0;
+    }
+
+    // 같은 키라도 대상 테이블(statement)이 다르면 따로 비교
+    private static String orderKey(ReplicationOp op) {
+        String statement = op.getStatementId().substring(op.getStatementId().lastIndexOf('.') + 1);
+        return statement + ":" + op.getPartitionKey();
+    }
+
+    // 1초마다 처리량 계산
+    @Scheduled(fixedRate = 1000)
+    public void tick() {
+        long now = applied.sum();
+        opsPerSec = now - prevApplied;
+        prevApplied = now;
+    }
+
+    public Map<String, Object> getStats() {
+        long depth = 0;
+        for (Lane lane : lanes) depth += lane.queue.size();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lanes", lanes.length);
+        stats.put("queueDepth", depth);
+        stats.put("enqueued", enqueued.sum());
+        stats.put("applied", applied.sum());
+        stats.put("failed", failed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("blocked", blocked.sum());
+        stats.put("journaled", journaled.sum());
+        stats.put("lost", lost.sum());
+        stats.put("batches", batches.sum());
+        stats.put("staleSkipped", staleSkipped.sum());
+        stats.put("unordered", unordered.sum());
+        stats.put("lastBatchSize", lastBatchSize);
+        stats.put("maxBatchSize", maxObservedBatchSize);
+        stats.put("lastLagMillis", lastLagMillis);
+        stats.put("maxLagMillis", maxLagMillis);
+        stats.put("opsPerSec", opsPerSec);
+        return stats;
+    }
+
+    // 트랜잭션 커밋 후 한꺼번에 큐로 넘기기 위한 보관함
+    private final class PendingOps implements TransactionSynchronization {
+        private final List<ReplicationOp> ops = new ArrayList<>();
+        private long orderToken;
+
+        // 커밋 직전: 이 트랜잭션이 잡은 행 락이 아직 유지됨 → 같은 행을 다음에 쓰는 트랜잭션은 더 큰 토큰을 받음
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            orderToken = nextOrderToken();
+        }
+
+        @Override
+        public void afterCommit() {
+            for (ReplicationOp op : ops) {
+                enqueue(op.withOrderToken(orderToken));
+            }
+        }
+    }
+
+    private final class Lane implements Runnable {
+        private final BlockingQueue<ReplicationOp> queue;
+        private Thread thread;
+
+        Lane(int capacity) {
+            this.queue = new LinkedBlockingQueue<>(capacity);
+        }
+
+        @Override
+        public void run() {
+            List<ReplicationOp> batch = new ArrayList<>(maxBatchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    ReplicationOp first = queue.poll(500, TimeUnit.MILLISECONDS);
+                    if (first == null) continue;
+
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    applyBatch(batch);
+                } catch (InterruptedException e) {
+                    // 종료 요청: 남은 큐는 위 while 조건으로 마저 비움
+                    if (!running) {
+                        queue.drainTo(batch);
+                        if (!batch.isEmpty()) applyBatch(batch);
+                        return;
+                    }
+                } catch (Exception e) {
+                    log.error("❌ [Replicator] 레인 처리 중 오류 : {}", e.getMessage());
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package kr.co.api.backend.schedule;
 
+import jakarta.annotation.PreDestroy;
 import kr.co.api.backend.config.DbStatusManager;
-import lombok.extern.slf4j.Slf4j;
+import kr.co.api.backend.replication.JournalReplayer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -10,69 +11,94 @@ import org.springframework.stereotype.Component;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
-@Slf4j
 @Component
 public class DbHealthChecker {
 
+    // 한 번 걸린 프로브가 이 시간 넘게 안 끝나면 실패로 간주
+    private static final long STUCK_PROBE_MS = 2000;
+
     private final DataSource masterPingDataSource;
     private final DataSource slavePingDataSource;
     private final DbStatusManager dbStatusManager;
+    private final JournalReplayer journalReplayer;
+
+    // Master/Slave 프로브 전용 스레드 (공용 스케줄러 스레드를 막지 않도록 병렬 실행)
+    private final ExecutorService probeExecutor = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "db-health-probe");
+        t.setDaemon(true);
+        return t;
+    });
 
-    // 상태 변화 감지를 위한 이전 상태 저장 변수
-    private boolean wasMasterAlive = true;
-    private boolean wasSlaveAlive = true;
+    // 진행 중인 프로브 시작 시각 (0 = 없음)
+    private final AtomicLong masterProbeStartedAt = new AtomicLong();
+    private final AtomicLong slaveProbeStartedAt = new AtomicLong();
 
     @Autowired
     public DbHealthChecker(
             @Qualifier("masterPingDataSource") DataSource masterPingDataSource,
             @Qualifier("slavePingDataSource") DataSource slavePingDataSource,
-            DbStatusManager dbStatusManager) {
+            DbStatusManager dbStatusManager,
+            JournalReplayer journalReplayer) {
         this.masterPingDataSource = masterPingDataSource;
         this.slavePingDataSource = slavePingDataSource;
         this.dbStatusManager = dbStatusManager;
+        this.journalReplayer = journalReplayer;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probeExecutor.shutdownNow();
     }
 
-    // 1초(1000ms)마다 실행되어 DB 생존 여부 확인
+    // 1초(1000ms)마다 Master/Slave 프로브를 병렬로 띄움 (결과는 각 프로브 스레드가 반영)
     @Scheduled(fixedDelay = 1000)
     public void checkDbHealth() {
+        probe(true);
+        probe(false);
+    }
 
-        // -------------------------------------------------------
-        // 1. Master DB 검사
-        // -------------------------------------------------------
-        boolean isMasterAlive = checkConnection(masterPingDataSource);
-
-        // 상태가 변경되었을 때만 로그 출력 (UP <-> DOWN)
-        if (wasMasterAlive && !isMasterAlive) {
-            // Case: Master가 살아있다가 죽음 (장애 발생)
-            log.error("[긴급 장애 감지] Master DB 연결이 끊겼습니다! (Connection Refused)");
-            log.error("[Failover 가동] 모든 트래픽을 즉시 Slave DB로 전환합니다.");
-        }
-        else if (!wasMasterAlive && isMasterAlive) {
-            // Case: Master가 죽었다가 살아남 (복구)
-            log.info("[자동 복구] Master DB 연결이 정상화되었습니다.");
-            log.info("[Failback 완료] 메인 트래픽 처리를 Master DB로 복귀시킵니다.");
+    private void probe(boolean master) {
+        AtomicLong startedAt = master ? masterProbeStartedAt : slaveProbeStartedAt;
+        long now = System.currentTimeMillis();
+        long inFlightSince = startedAt.get();
+
+        // 이전 프로브가 아직 진행 중이면 새로 띄우지 않음. 너무 오래 걸리면 실패 1회로 기록
+        if (inFlightSince != 0) {
+            if (now - inFlightSince > STUCK_PROBE_MS) {
+                record(master, false, now - inFlightSince);
+            }
+            return;
         }
+        if (!startedAt.compareAndSet(0, now)) return;
+
+        probeExecutor.execute(() -> {
+            try {
+                long t0 = System.nanoTime();
+                boolean ok = checkConnection(master ? masterPingDataSource : slavePingDataSource);
+                record(master, ok, (System.nanoTime() - t0) / 1_000_000);
+            } finally {
+                startedAt.set(0);
+            }
+        });
+    }
 
-        // 상태 매니저에 최신 상태 반영
-        dbStatusManager.setMasterAlive(isMasterAlive);
-        wasMasterAlive = isMasterAlive; // 현재 상태 기억
-
-
-        // -------------------------------------------------------
-        // 2. Slave DB 검사
-        // -------------------------------------------------------
-        boolean isSlaveAlive = checkConnection(slavePingDataSource);
-
-        if (wasSlaveAlive && !isSlaveAlive) {
-            log.warn("[경고] Slave DB 연결 끊김. (Master 단독 운영 체제로 전환)");
-        }
-        else if (!wasSlaveAlive && isSlaveAlive) {
-            log.info("[복구] Slave DB 재연결 성공. (이중화 대기 상태 복귀)");
+    // 상태 전환 로그는 DbStatusManager가 남김
+    private void record(boolean master, boolean ok, long latencyMs) {
+        if (master) {
+            dbStatusManager.recordMasterProbe(ok, latencyMs);
+            return;
         }
 
-        dbStatusManager.setSlaveAlive(isSlaveAlive);
-        wasSlaveAlive = isSlaveAlive;
+        boolean wasSlaveAlive = dbStatusManager.isSlaveAlive();
+        dbStatusManager.recordSlaveProbe(ok, latencyMs);
+        if (!wasSlaveAlive && dbStatusManager.isSlaveAlive()) {
+            // Slave 복구 시점에 밀린 복제 저널 재생 시작
+            journalReplayer.wakeUp();
+        }
     }
 
     /**
@@ -93,4 +119,4 @@ public class DbHealthChecker {
             return false;
         }
     }
-}
\ No newline at end of file
+}
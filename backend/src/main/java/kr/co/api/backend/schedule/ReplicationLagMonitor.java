@@ -0,0 +1,75 @@
+package kr.co.api.backend.schedule;
+
+import kr.co.api.backend.config.DbStatusManager;
+import kr.co.api.backend.mapper.ReplicationMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * [복제 지연 측정기]
+ * - Master에 노드별 하트비트(현재 시각)를 기록 → @CoreBanking 복제 파이프라인을 타고 Slave로 전달
+ * - Slave에서 마지막으로 도착한 하트비트를 읽어 지연(ms)을 계산해 DbStatusManager에 반영
+ * - ReplicationRoutingDataSource는 이 값으로 Slave 읽기 여부를 판단
+ */
+@Slf4j
+@Component
+public class ReplicationLagMonitor {
+
+    private final ReplicationMapper replicationMapper;
+    private final SqlSessionTemplate slaveSqlSession;
+    private final DbStatusManager dbStatusManager;
+
+    @Value("${flobank.routing.node-id:${HOSTNAME:local}}")
+    private String nodeId;
+
+    // 가장 최근에 Master에 기록한 하트비트
+    private volatile long lastWrittenTs;
+
+    @Autowired
+    public ReplicationLagMonitor(
+            ReplicationMapper replicationMapper,
+            @Qualifier("slaveSqlSessionTemplate") SqlSessionTemplate slaveSqlSession,
+            DbStatusManager dbStatusManager) {
+        this.replicationMapper = replicationMapper;
+        this.slaveSqlSession = slaveSqlSession;
+        this.dbStatusManager = dbStatusManager;
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void beat() {
+        // Master 장애 시에는 라우팅이 Slave로 가므로 하트비트를 쓰지 않음
+        if (dbStatusManager.isMasterAlive()) {
+            try {
+                long now = System.currentTimeMillis();
+                replicationMapper.updateReplHeartbeat(nodeId, now);
+                lastWrittenTs = now;
+            } catch (Exception e) {
+                log.debug("[Lag Monitor] 하트비트 기록 실패 : {}", e.getMessage());
+            }
+        }
+
+        dbStatusManager.setSlaveLagMillis(measureLag());
+    }
+
+    private long measureLag() {
+        if (!dbStatusManager.isSlaveAlive() || lastWrittenTs == 0L) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            Long slaveTs = slaveSqlSession.selectOne(
+                    "kr.co.api.backend.mapper.ReplicationMapper.selectReplHeartbeat", nodeId);
+            if (slaveTs == null) return Long.MAX_VALUE;
+
+            // 마지막 하트비트까지 도착했으면 지연 없음, 아니면 Slave가 가진 하트비트 이후 경과 시간
+            return slaveTs >= lastWrittenTs ? 0L : System.currentTimeMillis() - slaveTs;
+        } catch (Exception e) {
+            log.debug("[Lag Monitor] Slave 하트비트 조회 실패 : {}", e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+}
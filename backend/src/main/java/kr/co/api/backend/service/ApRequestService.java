@@ -1,16 +1,29 @@
 package kr.co.api.backend.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import kr.co.api.backend.dto.ApRequestDTO;
+import kr.co.api.backend.dto.ApCall;
 import kr.co.api.backend.dto.ApResponseDTO;
+import kr.co.api.backend.tcp.ApCallGuard;
+import kr.co.api.backend.tcp.ApCodeGuard;
 import kr.co.api.backend.tcp.ApGateway;
+import kr.co.api.backend.tcp.ApMessageCodec;
+import kr.co.api.backend.tcp.ApMultiplexClient;
+import kr.co.api.backend.tcp.ApResponseCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 /**
  * [공통 서비스]
@@ -23,7 +36,21 @@ import java.time.LocalDateTime;
 public class ApRequestService {
 
     private final ApGateway apGateway;       // TCP 통신 게이트웨이
-    private final ObjectMapper objectMapper; // JSON 변환기
+    private final ApMessageCodec apMessageCodec; // 요청/응답 JSON 변환기 (중간 JsonNode/String 없이)
+    private final ApMultiplexClient apMultiplexClient; // 비동기 다중화 연결
+    private final ApCallGuard apCallGuard;             // 요청 코드별 격벽/서킷/타임아웃
+    private final ApResponseCache apResponseCache;     // 조회성 요청 코드 응답 캐시
+
+    // 다중화 미사용 시 비동기 요청을 동기 게이트웨이로 보내는 가상 스레드 (요청 스레드는 바로 리턴)
+    private final ExecutorService syncFallbackExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // 다중화 미사용 시 일괄 요청 1건당 동시에 쓰는 동기 연결 수 (풀 10개를 혼자 다 쓰지 않도록)
+    @Value("${flobank.ap.batch.sync-concurrency:4}")
+    private int batchSyncConcurrency;
+
+    // 일괄 요청은 격벽 자리가 날 때까지 이만큼 기다림 (앞 건 응답이 오면 자리가 남 → 건별 실패 대신 대기)
+    @Value("${flobank.ap.batch.permit-wait-ms:10000}")
+    private long batchPermitWaitMs;
 
     /**
      * AP 서버로 요청을 보내고 표준 응답(ApResponseDTO)을 받습니다.
@@ -34,52 +61,200 @@ public class ApRequestService {
      * @return AP 서버로부터 받은 표준 응답(ApResponseDTO)
      */
     public ApResponseDTO execute(String requestCode, Object payload, Class<ApResponseDTO> apResponseDTOClass) {
+        return execute(requestCode, payload, -1);
+    }
 
-        String jsonRequest = "";
-        try {
-            // 1. Payload 객체를 JsonNode로 변환
-            JsonNode payloadNode = objectMapper.valueToTree(payload);
+    // permitWaitMs: 격벽 자리 대기 시간 (음수면 기본 bulkhead-wait-ms)
+    private ApResponseDTO execute(String requestCode, Object payload, long permitWaitMs) {
+        // 캐시 정책이 있는 코드는 캐시/동일 요청 합치기를 거침 (send는 실패도 에러 DTO로 돌려주므로 join에서 예외 없음)
+        ApResponseDTO responseDTO = apResponseCache
+                .get(requestCode, payload,
+                        () -> CompletableFuture.completedFuture(send(requestCode, payload, permitWaitMs)))
+                .join();
+        if (responseDTO.isSuccess()) {
+            apResponseCache.onWriteSuccess(requestCode, payload);
+        }
+        return responseDTO;
+    }
 
-            // 2. 표준 요청 DTO(ApRequestDTO) 생성
-            ApRequestDTO requestDTO = new ApRequestDTO(
-                    requestCode,
-                    payloadNode,
-                    LocalDateTime.now()
-            );
+    private ApResponseDTO send(String requestCode, Object payload, long permitWaitMs) {
 
-            // 3. DTO -> JSON 문자열로 변환
-            jsonRequest = objectMapper.writeValueAsString(requestDTO);
-            log.info("[TCP SEND] RequestCode: {}, Payload: {}", requestCode, jsonRequest);
+        // 0. 요청 코드별 동시 요청 한도 / 서킷 확인 (막히면 AP 서버로 보내지 않고 즉시 에러 응답)
+        ApCodeGuard guard = apCallGuard.forCode(requestCode);
+        ApCodeGuard.Admission admission = permitWaitMs < 0 ? guard.tryEnter() : guard.tryEnter(permitWaitMs);
+        if (!admission.isAdmitted()) {
+            return rejected(requestCode, admission);
+        }
 
-            // 4. 게이트웨이를 통해 AP 서버로 전송 및 응답 수신 (핵심)
-            // [수정] String이 아닌 byte[]로 직접 통신하도록 변경
-            byte[] responseBytes = apGateway.sendAndReceive(jsonRequest.getBytes(StandardCharsets.UTF_8));
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            // 1. 표준 요청 봉투(ApRequestDTO 형식)로 payload를 바로 byte[]에 기록
+            byte[] request = apMessageCodec.encodeRequest(requestCode, payload, null);
+            log.info("[TCP SEND] RequestCode: {}, Size: {}B", requestCode, request.length);
+            if (log.isDebugEnabled()) {
+                log.debug("[TCP SEND] Payload: {}", new String(request, StandardCharsets.UTF_8));
+            }
 
-            // 5. [수정] byte[] 응답을 UTF-8 문자열로 변환
-            String jsonResponse = new String(responseBytes, StandardCharsets.UTF_8);
-            log.info("[TCP RECV] Response: {}", jsonResponse);
+            // 2. 게이트웨이를 통해 AP 서버로 전송 및 응답 수신 (핵심, 응답 대기는 코드별 타임아웃)
+            byte[] responseBytes = apGateway.sendAndReceive(request, guard.getTimeoutMs());
 
-            // 6. JSON 응답 -> 표준 응답 DTO(ApResponseDTO)로 변환
-            ApResponseDTO responseDTO = objectMapper.readValue(jsonResponse, ApResponseDTO.class);
+            // 3. byte[] 응답 -> 표준 응답 DTO(ApResponseDTO)로 바로 변환
+            ApResponseDTO responseDTO = apMessageCodec.decodeResponse(responseBytes);
+            log.info("[TCP RECV] RequestCode: {}, Status: {}, Size: {}B",
+                    requestCode, responseDTO.getStatus(), responseBytes.length);
+            if (log.isDebugEnabled()) {
+                log.debug("[TCP RECV] Response: {}", new String(responseBytes, StandardCharsets.UTF_8));
+            }
 
-            // 7. AP 서버가 에러를 반환했는지 확인
+            // 4. AP 서버가 에러를 반환했는지 확인
             if ("ERROR".equals(responseDTO.getStatus())) {
                 log.warn("[AP_SERVER_ERROR] Code: {}, Message: {}", requestCode, responseDTO.getMessage());
             }
 
+            success = !"ERROR".equals(responseDTO.getStatus());
             return responseDTO;
 
         } catch (Exception e) {
             // TCP 통신 실패 (타임아웃, 서버 다운 등) 또는 JSON 파싱 실패
-            log.error("[TCP_CLIENT_ERROR] Request: {} | Error: {}", jsonRequest, e.getMessage(), e);
-
-            // AP 서버와 통신 자체가 실패했을 때 클라이언트(컨트롤러)에게 보낼 공통 에러 DTO
-            return new ApResponseDTO(
-                    "ERROR",
-                    "AP 서버와 통신 중 오류가 발생했습니다: " + e.getMessage(),
-                    null,
-                    LocalDateTime.now()
-            );
+            log.error("[TCP_CLIENT_ERROR] RequestCode: {} | Error: {}", requestCode, e.getMessage(), e);
+
+            return communicationError(e);
+        } finally {
+            guard.exit(admission, success, System.nanoTime() - start);
         }
     }
+
+    /**
+     * AP 서버 비동기 요청 (응답을 기다리는 동안 스레드/TCP 연결을 점유하지 않음)
+     * - 요청마다 correlationId를 넣어 다중화 연결(ApMultiplexClient)로 보내고 응답은 같은 id로 매칭
+     * - 다중화가 꺼져 있으면 기존 동기 게이트웨이를 가상 스레드에서 호출
+     * - 통신 실패 시에도 예외가 아닌 공통 에러 DTO로 완료 (execute와 동일)
+     */
+    public CompletableFuture<ApResponseDTO> executeAsync(String requestCode, Object payload) {
+        if (!apMultiplexClient.isEnabled()) {
+            return CompletableFuture.supplyAsync(
+                    () -> execute(requestCode, payload, ApResponseDTO.class), syncFallbackExecutor);
+        }
+        return executeMultiplexed(requestCode, payload, -1);
+    }
+
+    private CompletableFuture<ApResponseDTO> executeMultiplexed(String requestCode, Object payload, long permitWaitMs) {
+        return apResponseCache.get(requestCode, payload, () -> sendAsync(requestCode, payload, permitWaitMs))
+                .thenApply(responseDTO -> {
+                    if (responseDTO.isSuccess()) {
+                        apResponseCache.onWriteSuccess(requestCode, payload);
+                    }
+                    return responseDTO;
+                });
+    }
+
+    private CompletableFuture<ApResponseDTO> sendAsync(String requestCode, Object payload, long permitWaitMs) {
+        String correlationId = UUID.randomUUID().toString();
+        byte[] request;
+        try {
+            request = apMessageCodec.encodeRequest(requestCode, payload, correlationId);
+        } catch (Exception e) {
+            log.error("[TCP_CLIENT_ERROR] RequestCode: {} | 요청 변환 실패: {}", requestCode, e.getMessage(), e);
+            return CompletableFuture.completedFuture(communicationError(e));
+        }
+
+        // 다중화 경로는 동기 커넥션 풀 한도가 아닌 별도 한도 (async-max-concurrent)
+        ApCodeGuard guard = apCallGuard.forCode(requestCode);
+        ApCodeGuard.Admission admission = guard.tryEnterAsync(permitWaitMs);
+        if (!admission.isAdmitted()) {
+            return CompletableFuture.completedFuture(rejected(requestCode, admission));
+        }
+        log.info("[TCP SEND] RequestCode: {}, CorrelationId: {}", requestCode, correlationId);
+
+        long start = System.nanoTime();
+        return apMultiplexClient.send(correlationId, request, guard.getTimeoutMs())
+                .thenApply(responseBytes -> {
+                    ApResponseDTO responseDTO = readResponse(responseBytes);
+                    log.info("[TCP RECV] CorrelationId: {}, Status: {}", correlationId, responseDTO.getStatus());
+                    if ("ERROR".equals(responseDTO.getStatus())) {
+                        log.warn("[AP_SERVER_ERROR] Code: {}, Message: {}", requestCode, responseDTO.getMessage());
+                    }
+                    return responseDTO;
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.error("[TCP_CLIENT_ERROR] RequestCode: {}, CorrelationId: {} | Error: {}",
+                            requestCode, correlationId, cause.toString());
+                    return communicationError(cause);
+                })
+                .whenComplete((responseDTO, e) -> guard.exitAsync(admission,
+                        responseDTO != null && !"ERROR".equals(responseDTO.getStatus()),
+                        System.nanoTime() - start));
+    }
+
+    /**
+     * AP 서버 일괄 요청 (건별 결과, 부분 실패 허용)
+     * - 다중화 연결: 응답을 기다리지 않고 전부 연달아 보낸 뒤(파이프라이닝) 응답을 모음
+     *   코드별 다중화 한도가 차면 앞 건 응답으로 자리가 날 때까지 보내는 쪽이 대기 (최대 batch.permit-wait-ms)
+     * - 다중화 미사용: 동기 게이트웨이로 최대 batch.sync-concurrency건씩 동시에 (격벽 자리도 같은 시간만큼 대기)
+     * - 결과는 calls와 같은 순서. 실패한 건은 해당 자리에 공통 에러 DTO (나머지 건에는 영향 없음)
+     */
+    public List<ApResponseDTO> executeBatch(List<ApCall> calls) {
+        if (calls == null || calls.isEmpty()) return List.of();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<ApResponseDTO>> futures;
+        if (apMultiplexClient.isEnabled()) {
+            futures = calls.stream()
+                    .map(call -> executeMultiplexed(call.getRequestCode(), call.getPayload(), batchPermitWaitMs))
+                    .toList();
+        } else {
+            Semaphore permits = new Semaphore(Math.max(1, batchSyncConcurrency));
+            futures = calls.stream()
+                    .map(call -> CompletableFuture.supplyAsync(() -> {
+                        permits.acquireUninterruptibly();
+                        try {
+                            return execute(call.getRequestCode(), call.getPayload(), batchPermitWaitMs);
+                        } finally {
+                            permits.release();
+                        }
+                    }, syncFallbackExecutor))
+                    .toList();
+        }
+
+        // execute / executeAsync 모두 실패를 에러 DTO로 돌려주므로 join에서 예외 없음
+        List<ApResponseDTO> results = futures.stream().map(CompletableFuture::join).toList();
+
+        long failed = results.stream().filter(r -> "ERROR".equals(r.getStatus())).count();
+        log.info("[TCP BATCH] {}건 처리 (실패 {}건, {}ms)",
+                results.size(), failed, (System.nanoTime() - start) / 1_000_000);
+        return results;
+    }
+
+    private ApResponseDTO readResponse(byte[] responseBytes) {
+        try {
+            return apMessageCodec.decodeResponse(responseBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 격벽/서킷에 막힌 요청 (AP 서버로 보내지 않음)
+    private static ApResponseDTO rejected(String requestCode, ApCodeGuard.Admission admission) {
+        String reason = admission == ApCodeGuard.Admission.CIRCUIT_OPEN
+                ? "요청 일시 차단 중 (" + requestCode + ")"
+                : "동시 요청 한도 초과 (" + requestCode + ")";
+        log.warn("[TCP_CLIENT_REJECT] RequestCode: {} | {}", requestCode, admission);
+        return communicationError(reason);
+    }
+
+    private static ApResponseDTO communicationError(Throwable e) {
+        return communicationError(e.getMessage());
+    }
+
+    // AP 서버와 통신 자체가 실패했을 때 클라이언트(컨트롤러)에게 보낼 공통 에러 DTO
+    private static ApResponseDTO communicationError(String detail) {
+        return new ApResponseDTO(
+                "ERROR",
+                "AP 서버와 통신 중 오류가 발생했습니다: " + detail,
+                null,
+                LocalDateTime.now()
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,173 @@
+package kr.co.api.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import kr.co.api.backend.cache.CrossRateMatrix;
+import kr.co.api.backend.cache.RateSnapshotCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [교차 통화 환산]
+ * - 환율 스냅샷이 바뀔 때마다(적재 노드 / pub/sub 수신 노드 모두) CrossRateMatrix를 새로 만들어 참조만 교체
+ * - 환산은 행렬 조회 + 정수 연산만 (DB / Redis 조회 없음)
+ * - 반올림: BASE는 반올림(표시용), BUY는 버림(고객이 받는 금액), SELL은 올림(고객이 내는 금액)
+ */
+@Slf4j
+@Service
+public class CurrencyConversionService {
+
+    private final RateSnapshotCache rateSnapshotCache;
+    private final Set<String> per100Currencies;
+
+    private volatile CrossRateMatrix matrix;
+
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder portfolios = new LongAdder();
+    private volatile long lastBuildMicros;
+
+    /**
+     * 포트폴리오 환산 결과
+     *
+     * @param total    환산 가능한 통화 합계 (target 통화)
+     * @param unpriced 환율이 없어 합계에서 빠진 통화
+     */
+    public record Portfolio(String target, CrossRateMatrix.Side side, long total,
+                            List<Line> lines, List<String> unpriced, long version, LocalDate rateDt) {
+    }
+
+    // rate: from 1단위당 target (표시용)
+    public record Line(String currency, long amount, long converted, double rate) {
+    }
+
+    public CurrencyConversionService(RateSnapshotCache rateSnapshotCache,
+                                     @Value("${flobank.fx.per-100-currencies:JPY,IDR}") List<String> per100Currencies) {
+        this.rateSnapshotCache = rateSnapshotCache;
+        this.per100Currencies = Set.copyOf(per100Currencies);
+    }
+
+    // 스냅샷은 먼저 적재되어 있음 (RateSnapshotCache 기동 시 적재분의 Updated 이벤트는 이 빈 생성 전이라 못 받음)
+    @PostConstruct
+    public void init() {
+        rebuild(rateSnapshotCache.getSnapshot());
+    }
+
+    @EventListener
+    public void onSnapshotUpdated(RateSnapshotCache.Updated event) {
+        rebuild(event.current());
+    }
+
+    private synchronized void rebuild(RateSnapshotCache.Snapshot snapshot) {
+        CrossRateMatrix current = matrix;
+        if (current != null && snapshot.version() < current.getVersion()) return;
+
+        long start = System.nanoTime();
+        CrossRateMatrix next = CrossRateMatrix.of(snapshot, per100Currencies);
+        matrix = next;
+        lastBuildMicros = (System.nanoTime() - start) / 1_000;
+        rebuilds.increment();
+        log.info("♻️ [CrossRate] v{} 교차환율 {}×{} 생성 ({}us)",
+                next.getVersion(), next.size(), next.size(), lastBuildMicros);
+    }
+
+    public CrossRateMatrix getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * 단건 환산 (side별 기본 반올림)
+     *
+     * @throws IllegalArgumentException 환율이 없는 통화
+     */
+    public long convert(String from, String to, long amount, CrossRateMatrix.Side side) {
+        return matrix.convert(from, to, amount, side, rounding(side));
+    }
+
+    // side별 기본 반올림
+    public static RoundingMode rounding(CrossRateMatrix.Side side) {
+        return switch (side) {
+            case BASE -> RoundingMode.HALF_UP;
+            case BUY -> RoundingMode.DOWN;
+            case SELL -> RoundingMode.UP;
+        };
+    }
+
+    /**
+     * 통화별 금액을 target 통화로 모두 환산 (다통화 잔액 화면)
+     * - 한 요청 안에서는 같은 행렬 1개로 계산 (중간에 환율이 바뀌어도 섞이지 않음)
+     *
+     * @throws IllegalArgumentException 환율이 없는 target 통화
+     * @throws ArithmeticException      합계가 long 범위를 넘음
+     */
+    public Portfolio convertPortfolio(Map<String, Long> amounts, String target, CrossRateMatrix.Side side) {
+        CrossRateMatrix m = matrix;
+        int to = m.indexOf(target);
+        if (to < 0) {
+            throw new IllegalArgumentException("환율 정보가 없는 통화입니다. (" + target + ")");
+        }
+        portfolios.increment();
+        RoundingMode mode = rounding(side);
+
+        List<Line> lines = new ArrayList<>(amounts.size());
+        List<String> unpriced = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<String, Long> entry : amounts.entrySet()) {
+            String currency = entry.getKey();
+            long amount = entry.getValue() != null ? entry.getValue() : 0L;
+            int from = m.indexOf(currency);
+            if (from < 0) {
+                unpriced.add(currency);
+                continue;
+            }
+            long converted = m.convert(from, to, amount, side, mode);
+            total = Math.addExact(total, converted);
+            lines.add(new Line(currency, amount, converted, m.rate(side, from, to)));
+        }
+        return new Portfolio(target, side, total, lines, unpriced, m.getVersion(), m.getRateDt());
+    }
+
+    /**
+     * 화면 표시용 교차환율표 (from 행 → to 열, 1단위 기준)
+     */
+    public Map<String, Object> getRateTable(CrossRateMatrix.Side side) {
+        CrossRateMatrix m = matrix;
+        int n = m.size();
+        double[][] rates = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                rates[i][j] = m.rate(side, i, j);
+            }
+        }
+        Map<String, Object> table = new LinkedHashMap<>();
+        table.put("version", m.getVersion());
+        table.put("rateDt", m.getRateDt());
+        table.put("side", side);
+        table.put("currencies", m.getCurrencies());
+        table.put("rates", rates);
+        return table;
+    }
+
+    public Map<String, Object> getStats() {
+        CrossRateMatrix m = matrix;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", m.getVersion());
+        stats.put("rateDt", m.getRateDt() != null ? m.getRateDt().toString() : null);
+        stats.put("currencies", m.size());
+        stats.put("cells", (long) m.size() * m.size());
+        stats.put("per100Currencies", per100Currencies.stream().sorted().toList());
+        stats.put("rebuilds", rebuilds.sum());
+        stats.put("lastBuildMicros", lastBuildMicros);
+        stats.put("portfolios", portfolios.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,157 @@
+package kr.co.api.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.co.api.backend.dto.ExchangeQuoteDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [환전 견적 저장소 (Redis)]
+ * - 견적 1건 = 키 1개 (exchange:quote:{quoteId}), TTL 지나면 Redis가 지움
+ * - 실행 시 GET + DEL을 Lua 1번으로 → 같은 견적은 어느 노드에서든 딱 한 번만 꺼내짐 (중복 실행 불가)
+ * - 저장 값은 HMAC 서명 → Redis 값이 바뀌었거나 다른 고객의 견적이면 실행 거부
+ */
+@Slf4j
+@Component
+public class ExchangeQuoteStore {
+
+    private static final String KEY_PREFIX = "exchange:quote:";
+    private static final String HMAC = "HmacSHA256";
+
+    // 있으면 꺼내면서 지움 (GETDEL이 없는 Redis 버전 호환)
+    private static final DefaultRedisScript<String> CONSUME_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('get', KEYS[1]) if v then redis.call('del', KEYS[1]) end return v",
+            String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec signingKey;
+
+    @Value("${flobank.exchange.quote.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder consumed = new LongAdder();
+    private final LongAdder missing = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ExchangeQuoteStore(StringRedisTemplate redisTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${flobank.exchange.quote.secret:${flobank.aes.secret}}") String secret) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.signingKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC);
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * 견적 번호 / 만료 시각 / 서명을 채워 저장
+     */
+    public ExchangeQuoteDTO save(ExchangeQuoteDTO quote) {
+        long now = System.currentTimeMillis();
+        quote.setQuoteId(UUID.randomUUID().toString());
+        quote.setIssuedAt(now);
+        quote.setExpiresAt(now + ttlSeconds * 1000);
+        quote.setSignature(sign(quote));
+
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + quote.getQuoteId(),
+                    objectMapper.writeValueAsString(quote), Duration.ofSeconds(ttlSeconds));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("환전 견적 저장 실패", e);
+        }
+        issued.increment();
+        return quote;
+    }
+
+    /**
+     * 견적 꺼내기 (꺼낸 순간 삭제 → 실행이 실패해도 같은 견적으로 다시 실행할 수 없음)
+     *
+     * @throws IllegalArgumentException 만료/이미 사용/읽을 수 없음/서명 불일치/다른 고객의 견적 (요청한 quoteId가 잘못됨)
+     */
+    public ExchangeQuoteDTO consume(String quoteId, String custCode) {
+        String json = quoteId == null ? null
+                : redisTemplate.execute(CONSUME_SCRIPT, List.of(KEY_PREFIX + quoteId));
+        if (json == null) {
+            missing.increment();
+            throw new IllegalArgumentException("환율 견적이 만료되었거나 이미 사용되었습니다. 다시 조회해주세요.");
+        }
+
+        ExchangeQuoteDTO quote;
+        try {
+            quote = objectMapper.readValue(json, ExchangeQuoteDTO.class);
+        } catch (JsonProcessingException e) {
+            rejected.increment();
+            throw new IllegalArgumentException("환율 견적을 읽을 수 없습니다. 다시 조회해주세요.");
+        }
+
+        if (quote.getSignature() == null || !MessageDigest.isEqual(
+                quote.getSignature().getBytes(StandardCharsets.UTF_8),
+                sign(quote).getBytes(StandardCharsets.UTF_8))) {
+            rejected.increment();
+            log.warn("🚨 [ExchangeQuote] 서명 불일치 (quoteId={})", quoteId);
+            throw new IllegalArgumentException("유효하지 않은 환율 견적입니다.");
+        }
+        if (!quote.getCustCode().equals(custCode)) {
+            rejected.increment();
+            log.warn("🚨 [ExchangeQuote] 다른 고객의 견적 실행 시도 (quoteId={}, custCode={})", quoteId, custCode);
+            throw new IllegalArgumentException("유효하지 않은 환율 견적입니다.");
+        }
+        // TTL 경계에서 꺼낸 경우
+        if (quote.getExpiresAt() < System.currentTimeMillis()) {
+            missing.increment();
+            throw new IllegalArgumentException("환율 견적이 만료되었거나 이미 사용되었습니다. 다시 조회해주세요.");
+        }
+
+        consumed.increment();
+        return quote;
+    }
+
+    // 서명 대상: signature를 뺀 전체 필드 (순서 고정)
+    private String sign(ExchangeQuoteDTO q) {
+        String payload = String.join("|",
+                q.getQuoteId(), q.getCustCode(), q.getCustName(),
+                q.getExchType(), q.getExchFromCurrency(), q.getExchToCurrency(), q.getCurrency(),
+                q.getKrwAcctNo(), q.getFrgnAcctNo(), q.getFrgnBalNo(),
+                String.valueOf(q.getKrwAmount()), String.valueOf(q.getFrgnAmount()), String.valueOf(q.getAppliedRate()),
+                String.valueOf(q.getIssuedAt()), String.valueOf(q.getExpiresAt()));
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(signingKey);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("환전 견적 서명 실패", e);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("issued", issued.sum());
+        stats.put("consumed", consumed.sum());
+        stats.put("expiredOrUsed", missing.sum());
+        stats.put("rejected", rejected.sum());
+        return stats;
+    }
+}
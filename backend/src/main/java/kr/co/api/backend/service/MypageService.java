@@ -1,5 +1,6 @@
 package kr.co.api.backend.service;
 
+import kr.co.api.backend.annotation.CustomerLane;
 import kr.co.api.backend.dto.*;
 import kr.co.api.backend.mapper.DepositMapper;
 import kr.co.api.backend.mapper.ExtAcctMapper;
@@ -123,6 +124,7 @@ public class MypageService {
     }
 
     // 원화 -> 원환 입금, 출금
+    @CustomerLane("transfer")
     @Transactional
     public void processCustAcctBal(CustTranHistDTO custTranHistDTO){
         BigDecimal amount = custTranHistDTO.getTranAmount();
@@ -1,17 +1,23 @@
 package kr.co.api.backend.service;
 
+import kr.co.api.backend.annotation.CustomerLane;
+import kr.co.api.backend.cache.CrossRateMatrix;
+import kr.co.api.backend.cache.RateSnapshotCache;
 import kr.co.api.backend.dto.*;
+import kr.co.api.backend.mapper.FrgnAcctMapper;
 import kr.co.api.backend.mapper.OnlineExchangeMapper;
 import kr.co.api.backend.service.async.LogProducer;
+import kr.co.api.backend.service.async.event.ExchangeLogEvent;
+import kr.co.api.backend.service.async.event.TransferLogEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Slf4j
@@ -21,7 +27,10 @@ public class OnlineExchangeService {
 
     private final OnlineExchangeMapper onlineExchangeMapper;
     private final LogProducer logProducer; // Redis Producer
-    private final ObjectMapper objectMapper; // Spring Boot에 기본 내장됨
+    private final RateSnapshotCache rateSnapshotCache; // 통화별 최신 환율 (메모리)
+    private final FrgnAcctMapper frgnAcctMapper;
+    private final CurrencyConversionService currencyConversionService;
+    private final ExchangeQuoteStore exchangeQuoteStore; // 환전 견적 (Redis)
 
     // 환전 시, 약관 동의 여부 확인
     public boolean isTermsAgreed(String custCode) {
@@ -37,6 +46,7 @@ public class OnlineExchangeService {
     }
 
     // 온라인 환전 처리
+    @CustomerLane(value = "exchange", key = "#custCode")
     @Transactional
     public void processOnlineExchange(FrgnExchOnlineDTO dto, String custCode) {
         if (custCode == null) {
@@ -69,7 +79,7 @@ public class OnlineExchangeService {
            1. 환율 조회
            ========================= */
         // dto.getExchToCurrency() 대신 위에서 구한 targetCurrency(외화코드) 사용
-        RateDTO rate = onlineExchangeMapper.selectLatestRate(targetCurrency);
+        RateDTO rate = rateSnapshotCache.getLatest(targetCurrency);
 
         if (rate == null) {
             throw new IllegalStateException("환율 정보를 조회할 수 없습니다. (통화코드: " + targetCurrency + ")");
@@ -109,68 +119,165 @@ public class OnlineExchangeService {
         /* =========================
            4. 환전 처리
            ========================= */
-        if ("B".equals(dto.getExchType())) {
-            // =====================
-            // 외화 매수 (KRW → 외화)
-            // =====================
-            Long krwAmount = dto.getExchKrwAmount();
-            Long currentKrwBalance = krwAcct.getAcctBalance();
+        applyRate(dto, rate.getRhistBaseRate(), targetCurrency);
+        post(dto, custName, krwAcct.getAcctNo(), krwAcct.getAcctBalance(),
+                frgnBalance.getBalNo(), frgnBalance.getBalBalance());
+    }
 
-            if (currentKrwBalance < krwAmount) {
-                throw new IllegalStateException("원화 잔액이 부족합니다.");
-            }
+    /**
+     * 환전 견적 (1단계)
+     * - 환율 / 금액 / 계좌를 지금 확정해서 Redis에 서명해 보관 (flobank.exchange.quote.ttl-seconds)
+     * - 잔액은 참고용으로만 확인 (락 없음, 실제 차감 가능 여부는 실행 시 다시 확인)
+     */
+    public ExchangeQuoteDTO quoteOnlineExchange(FrgnExchOnlineDTO dto, String custCode) {
+        if (custCode == null) {
+            throw new IllegalStateException("고객 정보를 찾을 수 없습니다.");
+        }
+        if (onlineExchangeMapper.checkExchangeTermsAgreed(custCode) == 0) {
+            throw new IllegalStateException("환전 서비스 약관에 동의하지 않았습니다. 약관 동의 후 진행해주세요.");
+        }
 
-            double rateValue = rate.getRhistBaseRate();
-            long foreignAmount = (long) (krwAmount / rateValue);
+        String custName = onlineExchangeMapper.selectCustNameByCustCode(custCode);
+        if (custName == null) {
+            throw new IllegalStateException("고객 이름을 조회할 수 없습니다.");
+        }
 
-            // 원화 차감
-            onlineExchangeMapper.updateKrwAcctBalance(
-                    krwAcct.getAcctNo(),
-                    currentKrwBalance - krwAmount
-            );
+        String targetCurrency = "B".equals(dto.getExchType())
+                ? dto.getExchToCurrency()
+                : dto.getExchFromCurrency();
 
-            // 외화 증가
-            onlineExchangeMapper.updateFrgnBalance(
-                    frgnBalance.getBalNo(),
-                    frgnBalance.getBalBalance() + foreignAmount
-            );
+        RateDTO rate = rateSnapshotCache.getLatest(targetCurrency);
+        if (rate == null) {
+            throw new IllegalStateException("환율 정보를 조회할 수 없습니다. (통화코드: " + targetCurrency + ")");
+        }
 
-            dto.setExchFrgnAmount(foreignAmount);
-            dto.setExchAppliedRate(rateValue);
+        CustAcctDTO krwAcct = onlineExchangeMapper.selectMyKrwAccount(custCode);
+        if (krwAcct == null) {
+            throw new IllegalStateException("원화 계좌를 찾을 수 없습니다.");
+        }
 
-        } else if ("S".equals(dto.getExchType())) {
-            Long foreignAmount = dto.getExchFrgnAmount();
-            Long currentForeignBalance = frgnBalance.getBalBalance();
+        FrgnAcctDTO frgnAcct = onlineExchangeMapper.selectMyFrgnAccount(custCode);
+        if (frgnAcct == null) {
+            throw new IllegalStateException("외화 계좌를 찾을 수 없습니다.");
+        }
 
-            if (currentForeignBalance < foreignAmount) {
-                throw new IllegalStateException("외화 잔액이 부족합니다.");
-            }
+        FrgnAcctBalanceDTO frgnBalance = onlineExchangeMapper.selectMyFrgnBalance(frgnAcct.getFrgnAcctNo(), targetCurrency);
+        if (frgnBalance == null) {
+            throw new IllegalStateException("외화 지갑 정보를 찾을 수 없습니다.");
+        }
 
-            double rateValue = rate.getRhistBaseRate();
-            long krwAmount = (long) (foreignAmount * rateValue); // 소수점 버림 처리됨
+        applyRate(dto, rate.getRhistBaseRate(), targetCurrency);
 
-            // 외화 계좌 차감
-            onlineExchangeMapper.updateFrgnBalance(
-                    frgnBalance.getBalNo(),
-                    currentForeignBalance - foreignAmount
-            );
+        // 지금 잔액으로 안 되는 견적은 발급하지 않음
+        if ("B".equals(dto.getExchType()) && krwAcct.getAcctBalance() < dto.getExchKrwAmount()) {
+            throw new IllegalStateException("원화 잔액이 부족합니다.");
+        }
+        if ("S".equals(dto.getExchType()) && frgnBalance.getBalBalance() < dto.getExchFrgnAmount()) {
+            throw new IllegalStateException("외화 잔액이 부족합니다.");
+        }
 
-            // 원화 계좌 증가
-            onlineExchangeMapper.updateKrwAcctBalance(
-                    krwAcct.getAcctNo(),
-                    krwAcct.getAcctBalance() + krwAmount
-            );
+        ExchangeQuoteDTO quote = new ExchangeQuoteDTO();
+        quote.setCustCode(custCode);
+        quote.setCustName(custName);
+        quote.setExchType(dto.getExchType());
+        quote.setExchFromCurrency(dto.getExchFromCurrency());
+        quote.setExchToCurrency(dto.getExchToCurrency());
+        quote.setCurrency(targetCurrency);
+        quote.setKrwAcctNo(krwAcct.getAcctNo());
+        quote.setFrgnAcctNo(frgnAcct.getFrgnAcctNo());
+        quote.setFrgnBalNo(frgnBalance.getBalNo());
+        quote.setKrwAmount(dto.getExchKrwAmount());
+        quote.setFrgnAmount(dto.getExchFrgnAmount());
+        quote.setAppliedRate(dto.getExchAppliedRate());
+        return exchangeQuoteStore.save(quote);
+    }
+
+    /**
+     * 견적 실행 (2단계)
+     * - 견적을 Redis에서 꺼내면서 지움 (같은 견적 중복 실행 불가)
+     * - 약관 / 고객명 / 환율 / 계좌 조회는 견적에 있으므로 생략, 두 잔액 행만 PK로 잠금 (원화 → 외화 순서, 즉시 환전과 같은 순서)
+     */
+    @CustomerLane(value = "exchange", key = "#custCode")
+    @Transactional
+    public FrgnExchOnlineDTO executeQuote(String quoteId, String custCode) {
+        ExchangeQuoteDTO quote = exchangeQuoteStore.consume(quoteId, custCode);
+
+        Long krwBalance = onlineExchangeMapper.selectKrwBalanceForUpdate(quote.getKrwAcctNo());
+        if (krwBalance == null) {
+            throw new IllegalStateException("원화 계좌를 찾을 수 없습니다.");
+        }
+        Long frgnBalance = onlineExchangeMapper.selectFrgnBalanceByBalNoForUpdate(quote.getFrgnBalNo());
+        if (frgnBalance == null) {
+            throw new IllegalStateException("외화 지갑 정보를 찾을 수 없습니다.");
+        }
 
-            dto.setExchKrwAmount(krwAmount);
+        FrgnExchOnlineDTO dto = new FrgnExchOnlineDTO();
+        dto.setExchCustCode(quote.getCustCode());
+        dto.setExchType(quote.getExchType());
+        dto.setExchFromCurrency(quote.getExchFromCurrency());
+        dto.setExchToCurrency(quote.getExchToCurrency());
+        dto.setExchKrwAcctNo(quote.getKrwAcctNo());
+        dto.setExchFrgnAcctNo(quote.getFrgnAcctNo());
+        dto.setExchFrgnBalNo(quote.getFrgnAcctNo());
+        dto.setExchKrwAmount(quote.getKrwAmount());
+        dto.setExchFrgnAmount(quote.getFrgnAmount());
+        dto.setExchAppliedRate(quote.getAppliedRate());
+
+        post(dto, quote.getCustName(), quote.getKrwAcctNo(), krwBalance, quote.getFrgnBalNo(), frgnBalance);
+        return dto;
+    }
+
+    /**
+     * 매매기준율로 금액 계산
+     * - 사기(B): 원화 금액 → 외화 금액 (소수점 버림)
+     * - 팔기(S): 외화 금액 → 원화 금액 (소수점 버림), 통화 코드는 외화 → KRW로 명시
+     */
+    private static void applyRate(FrgnExchOnlineDTO dto, double rateValue, String targetCurrency) {
+        if ("B".equals(dto.getExchType())) {
+            dto.setExchFrgnAmount((long) (dto.getExchKrwAmount() / rateValue));
+            dto.setExchAppliedRate(rateValue);
+        } else if ("S".equals(dto.getExchType())) {
+            dto.setExchKrwAmount((long) (dto.getExchFrgnAmount() * rateValue));
             dto.setExchAppliedRate(rateValue);
 
             // 통화 코드 명시
             dto.setExchFromCurrency(targetCurrency); // 파는 돈 (외화, 예: USD)
             dto.setExchToCurrency("KRW");            // 받는 돈 (원화)
-
         } else {
             throw new IllegalArgumentException("잘못된 환전 유형입니다.");
         }
+    }
+
+    /**
+     * 잠근 잔액 기준으로 차감/증가 + 거래 이력 + 환전 이력 (금액은 dto에 계산되어 있음)
+     */
+    private void post(FrgnExchOnlineDTO dto, String custName,
+                      String krwAcctNo, long krwBalance, String frgnBalNo, long frgnBalance) {
+        if ("B".equals(dto.getExchType())) {
+            // =====================
+            // 외화 매수 (KRW → 외화)
+            // =====================
+            if (krwBalance < dto.getExchKrwAmount()) {
+                throw new IllegalStateException("원화 잔액이 부족합니다.");
+            }
+
+            // 원화 차감
+            onlineExchangeMapper.updateKrwAcctBalance(krwAcctNo, krwBalance - dto.getExchKrwAmount());
+
+            // 외화 증가
+            onlineExchangeMapper.updateFrgnBalance(frgnBalNo, frgnBalance + dto.getExchFrgnAmount());
+
+        } else {
+            if (frgnBalance < dto.getExchFrgnAmount()) {
+                throw new IllegalStateException("외화 잔액이 부족합니다.");
+            }
+
+            // 외화 계좌 차감
+            onlineExchangeMapper.updateFrgnBalance(frgnBalNo, frgnBalance - dto.getExchFrgnAmount());
+
+            // 원화 계좌 증가
+            onlineExchangeMapper.updateKrwAcctBalance(krwAcctNo, krwBalance + dto.getExchKrwAmount());
+        }
 
         // =========================
         // 4-1. 계좌이체 이력 저장 (Master DB 저장 & Slave 비동기 전송)
@@ -178,7 +285,7 @@ public class OnlineExchangeService {
         if ("B".equals(dto.getExchType())) {
             // 1. 원화 출금
             onlineExchangeMapper.insertCustTranHist(
-                    krwAcct.getAcctNo(),
+                    krwAcctNo,
                     custName,
                     2, // 출금
                     dto.getExchKrwAmount(),
@@ -187,15 +294,8 @@ public class OnlineExchangeService {
             );
 
             // 1-1. 원화 출금 로그 -> Redis 큐 전송 (Slave 동기화용)
-            Map<String, Object> logDataKrw = new HashMap<>();
-            logDataKrw.put("log_type", "TRANSFER");
-            logDataKrw.put("acctNo", krwAcct.getAcctNo());
-            logDataKrw.put("custName", custName);
-            logDataKrw.put("tranType", 2);
-            logDataKrw.put("amount", dto.getExchKrwAmount());
-            logDataKrw.put("recAcctNo", dto.getExchFrgnAcctNo());
-            logDataKrw.put("memo", "외화 환전 출금");
-            logProducer.sendLog(logDataKrw);
+            logProducer.sendLog(TransferLogEvent.of(
+                    krwAcctNo, custName, 2, dto.getExchKrwAmount(), dto.getExchFrgnAcctNo(), "외화 환전 출금"));
 
             // 외화 입금
             onlineExchangeMapper.insertCustTranHist(
@@ -203,46 +303,32 @@ public class OnlineExchangeService {
                     custName,
                     1,
                     dto.getExchFrgnAmount(),
-                    krwAcct.getAcctNo(),
+                    krwAcctNo,
                     "외화 환전 입금"
             );
 
             // 외화 입금 로그 -> Redis 큐 전송
-            Map<String, Object> logDataFrgn = new HashMap<>();
-            logDataFrgn.put("log_type", "TRANSFER");
-            logDataFrgn.put("acctNo", dto.getExchFrgnAcctNo());
-            logDataFrgn.put("custName", custName);
-            logDataFrgn.put("tranType", 1);
-            logDataFrgn.put("amount", dto.getExchFrgnAmount());
-            logDataFrgn.put("recAcctNo", krwAcct.getAcctNo());
-            logDataFrgn.put("memo", "외화 환전 입금");
-            logProducer.sendLog(logDataFrgn);
+            logProducer.sendLog(TransferLogEvent.of(
+                    dto.getExchFrgnAcctNo(), custName, 1, dto.getExchFrgnAmount(), krwAcctNo, "외화 환전 입금"));
 
-        } else if ("S".equals(dto.getExchType())) {
+        } else {
             // 1. 외화 출금
             onlineExchangeMapper.insertCustTranHist(
                     dto.getExchFrgnAcctNo(),
                     custName,
                     2, // 출금
                     dto.getExchFrgnAmount(),
-                    krwAcct.getAcctNo(),
+                    krwAcctNo,
                     "외화 환전 출금"
             );
 
             // 1-1. 외화 출금 로그 -> Redis 큐 전송
-            Map<String, Object> logDataFrgn = new HashMap<>();
-            logDataFrgn.put("log_type", "TRANSFER");
-            logDataFrgn.put("acctNo", dto.getExchFrgnAcctNo());
-            logDataFrgn.put("custName", custName);
-            logDataFrgn.put("tranType", 2);
-            logDataFrgn.put("amount", dto.getExchFrgnAmount());
-            logDataFrgn.put("recAcctNo", krwAcct.getAcctNo());
-            logDataFrgn.put("memo", "외화 환전 출금");
-            logProducer.sendLog(logDataFrgn);
+            logProducer.sendLog(TransferLogEvent.of(
+                    dto.getExchFrgnAcctNo(), custName, 2, dto.getExchFrgnAmount(), krwAcctNo, "외화 환전 출금"));
 
             // 2. 원화 입금
             onlineExchangeMapper.insertCustTranHist(
-                    krwAcct.getAcctNo(),
+                    krwAcctNo,
                     custName,
                     1, // 입금
                     dto.getExchKrwAmount(),
@@ -251,15 +337,8 @@ public class OnlineExchangeService {
             );
 
             // 2-1. 원화 입금 로그 -> Redis 큐 전송
-            Map<String, Object> logDataKrw = new HashMap<>();
-            logDataKrw.put("log_type", "TRANSFER");
-            logDataKrw.put("acctNo", krwAcct.getAcctNo());
-            logDataKrw.put("custName", custName);
-            logDataKrw.put("tranType", 1);
-            logDataKrw.put("amount", dto.getExchKrwAmount());
-            logDataKrw.put("recAcctNo", dto.getExchFrgnAcctNo());
-            logDataKrw.put("memo", "외화 환전 입금");
-            logProducer.sendLog(logDataKrw);
+            logProducer.sendLog(TransferLogEvent.of(
+                    krwAcctNo, custName, 1, dto.getExchKrwAmount(), dto.getExchFrgnAcctNo(), "외화 환전 입금"));
         }
 
         /* =========================
@@ -270,19 +349,8 @@ public class OnlineExchangeService {
 
         onlineExchangeMapper.insertOnlineExchange(dto);
 
-        // Slave 동기화를 위해 Redis로 데이터 전송 (비동기)
-        try {
-            // DTO를 Map으로 변환
-            Map<String, Object> exchangeMap = objectMapper.convertValue(dto, Map.class);
-
-            // Worker가 처리할 수 있도록 "환전 내역"인지 "이체 내역"인지 구분
-            exchangeMap.put("log_type", "EXCHANGE");
-
-            logProducer.sendLog(exchangeMap); // 큐에 넣기
-
-        } catch (Exception e) {
-            log.error("Redis 전송 실패 (환전 내역): {}", e.getMessage());
-        }
+        // Slave 동기화를 위해 이력 이벤트 전송 (비동기, insert 컬럼만 담은 타입 이벤트)
+        logProducer.sendLog(ExchangeLogEvent.from(dto));
     }
 
 
@@ -323,4 +391,28 @@ public class OnlineExchangeService {
         return result;
     }
 
+    // 내 원화 + 외화 통화별 잔액을 target 통화로 환산 (다통화 잔액 화면 합계)
+    public CurrencyConversionService.Portfolio getMyPortfolio(String custCode, String target, CrossRateMatrix.Side side) {
+        if (custCode == null) {
+            throw new IllegalStateException("고객 정보를 찾을 수 없습니다.");
+        }
+
+        Map<String, Long> amounts = new LinkedHashMap<>();
+
+        CustAcctDTO krwAcct = onlineExchangeMapper.selectMyKrwAccount(custCode);
+        if (krwAcct != null && krwAcct.getAcctBalance() != null) {
+            amounts.put(CrossRateMatrix.KRW, krwAcct.getAcctBalance());
+        }
+
+        FrgnAcctDTO frgnAcct = onlineExchangeMapper.selectMyFrgnAccount(custCode);
+        if (frgnAcct != null && frgnAcct.getFrgnAcctNo() != null) {
+            for (FrgnAcctBalanceDTO bal : frgnAcctMapper.selectSubFrgnAcctAll(frgnAcct.getFrgnAcctNo())) {
+                if (bal.getBalCurrency() == null || bal.getBalBalance() == null) continue;
+                amounts.merge(bal.getBalCurrency(), bal.getBalBalance(), Long::sum);
+            }
+        }
+
+        return currencyConversionService.convertPortfolio(amounts, target, side);
+    }
+
 }
@@ -0,0 +1,285 @@
+package kr.co.api.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import kr.co.api.backend.cache.RateSnapshotCache;
+import kr.co.api.backend.dto.RateDTO;
+import kr.co.api.backend.dto.RateTickDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [실시간 환율 피드 (SSE)]
+ * - 구독 시 전체 환율(snapshot) 1번, 이후 새 고시가 적재되면 바뀐 통화만(delta) 전송
+ * - 원천은 RateSnapshotCache: 적재 노드의 pub/sub 알림 → 노드마다 스냅샷 1번 재적재 → 이 노드 구독자 전체에 전송
+ *   → 구독자가 몇 명이든 DB 조회는 노드당 고시 1회분
+ * - 전송은 노드당 브로드캐스터 스레드 1개가 전부 처리 (이벤트 JSON은 1번만 만들고, 구독자별 snapshot → delta 순서 보장)
+ * - delta에는 from/version이 있어 클라이언트가 받은 버전과 이어지지 않으면 snapshot을 다시 보냄
+ */
+@Slf4j
+@Service
+public class RateFeedService {
+
+    private static final DateTimeFormatter DT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final RateSnapshotCache rateSnapshotCache;
+    private final ObjectMapper objectMapper;
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+
+    // 모든 전송은 이 스레드에서만 (Client.version도 이 스레드에서만 읽고 씀)
+    private final ExecutorService broadcaster = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "rate-feed-broadcaster");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${flobank.rate-feed.max-clients:10000}")
+    private int maxClients;
+
+    // 연결 유지 시간 (만료되면 클라이언트가 재연결 → 새 snapshot)
+    @Value("${flobank.rate-feed.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    // 메트릭
+    private final LongAdder subscribed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder snapshotsSent = new LongAdder();
+    private final LongAdder deltasSent = new LongAdder();
+    private final LongAdder broadcasts = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private volatile int lastDeltaCurrencies;
+
+    // 버전별 snapshot JSON 1개만 보관 (재접속이 몰려도 직렬화는 버전당 1번, 브로드캐스터 스레드 전용)
+    private long snapshotJsonVersion = -1;
+    private String snapshotJson;
+
+    public RateFeedService(RateSnapshotCache rateSnapshotCache, ObjectMapper objectMapper) {
+        this.rateSnapshotCache = rateSnapshotCache;
+        this.objectMapper = objectMapper;
+    }
+
+    public SseEmitter subscribe() {
+        if (clients.size() >= maxClients) {
+            rejected.increment();
+            throw new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE, "환율 피드 접속자가 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Client client = new Client(emitter);
+        clients.add(client);
+        subscribed.increment();
+
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(e -> clients.remove(client));
+
+        broadcaster.execute(() -> sendSnapshot(client, rateSnapshotCache.getSnapshot()));
+        return emitter;
+    }
+
+    // 스냅샷 교체 → 바뀐 통화만 모아 전체 구독자에게
+    @EventListener
+    public void onSnapshotUpdated(RateSnapshotCache.Updated event) {
+        RateSnapshotCache.Snapshot from = event.previous();
+        RateSnapshotCache.Snapshot to = event.current();
+
+        List<RateTickDTO> changed = new ArrayList<>();
+        for (RateDTO rate : to.rates().values()) {
+            RateTickDTO tick = toTick(rate, to.previous().get(rate.getRhistCurrency()));
+            RateDTO before = from.rates().get(rate.getRhistCurrency());
+            if (before == null || !tick.equals(toTick(before, from.previous().get(before.getRhistCurrency())))) {
+                changed.add(tick);
+            }
+        }
+        List<String> removed = from.rates().keySet().stream()
+                .filter(cur -> !to.rates().containsKey(cur))
+                .toList();
+        if (changed.isEmpty() && removed.isEmpty()) {
+            // 피드에 보이는 값은 그대로 → 보낼 것 없이 버전만 따라감 (안 올리면 다음 변경 때 전원 전체 스냅샷)
+            broadcaster.execute(() -> {
+                for (Client client : clients) {
+                    if (client.version == from.version()) client.version = to.version();
+                }
+            });
+            log.debug("[RateFeed] v{} → v{} 변경 통화 없음", from.version(), to.version());
+            return;
+        }
+
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("from", from.version());
+        delta.put("version", to.version());
+        delta.put("rates", changed);
+        if (!removed.isEmpty()) delta.put("removed", removed);
+        String json = toJson(delta);
+        lastDeltaCurrencies = changed.size();
+
+        broadcaster.execute(() -> {
+            broadcasts.increment();
+            int sent = 0;
+            for (Client client : clients) {
+                if (client.version == from.version()) {
+                    if (send(client, "delta", to.version(), json)) {
+                        client.version = to.version();
+                        deltasSent.increment();
+                        sent++;
+                    }
+                } else if (client.version != 0 && client.version < to.version()) {
+                    // 중간 버전을 놓친 구독자 → 전체 다시
+                    sendSnapshot(client, to);
+                }
+                // version == 0 : 아직 snapshot 대기 중 (곧 최신 snapshot을 받음)
+            }
+            log.info("📡 [RateFeed] v{} → v{} 변경 {}개 통화, {}명 전송",
+                    from.version(), to.version(), changed.size(), sent);
+        });
+    }
+
+    // 프록시/로드밸런서 유휴 연결 끊김 방지 + 끊긴 구독자 정리
+    @Scheduled(fixedRateString = "${flobank.rate-feed.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (clients.isEmpty()) return;
+        broadcaster.execute(() -> {
+            for (Client client : clients) {
+                try {
+                    client.emitter.send(SseEmitter.event().comment("hb"));
+                } catch (IOException | IllegalStateException e) {
+                    drop(client);
+                }
+            }
+        });
+    }
+
+    private void sendSnapshot(Client client, RateSnapshotCache.Snapshot snapshot) {
+        if (snapshotJsonVersion != snapshot.version()) {
+            List<RateTickDTO> rates = new ArrayList<>(snapshot.rates().size());
+            for (RateDTO rate : snapshot.rates().values()) {
+                rates.add(toTick(rate, snapshot.previous().get(rate.getRhistCurrency())));
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("version", snapshot.version());
+            body.put("rates", rates);
+            snapshotJson = toJson(body);
+            snapshotJsonVersion = snapshot.version();
+        }
+        if (send(client, "snapshot", snapshot.version(), snapshotJson)) {
+            client.version = snapshot.version();
+            snapshotsSent.increment();
+        }
+    }
+
+    private boolean send(Client client, String name, long version, String json) {
+        try {
+            client.emitter.send(SseEmitter.event()
+                    .name(name)
+                    .id(String.valueOf(version))
+                    .data(json, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 연결을 끊었거나 이미 완료된 emitter
+            drop(client);
+            return false;
+        }
+    }
+
+    private void drop(Client client) {
+        sendFailures.increment();
+        clients.remove(client);
+        try {
+            client.emitter.complete();
+        } catch (Exception ignored) {
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("환율 피드 직렬화 실패", e);
+        }
+    }
+
+    private static RateTickDTO toTick(RateDTO rate, RateDTO prev) {
+        Double chg = null;
+        Double chgPct = null;
+        if (rate.getRhistBaseRate() != null && prev != null && prev.getRhistBaseRate() != null) {
+            BigDecimal now = BigDecimal.valueOf(rate.getRhistBaseRate());
+            BigDecimal before = BigDecimal.valueOf(prev.getRhistBaseRate());
+            chg = now.subtract(before).doubleValue();
+            if (before.signum() != 0) {
+                chgPct = now.subtract(before).multiply(BigDecimal.valueOf(100))
+                        .divide(before, 2, RoundingMode.HALF_UP).doubleValue();
+            }
+        }
+        return new RateTickDTO(
+                rate.getRhistCurrency(),
+                rate.getRhistCurName(),
+                rate.getRhistBaseRate(),
+                rate.getRhistTtBuyRate(),
+                rate.getRhistTtSellRate(),
+                chg,
+                chgPct,
+                rate.getRhistRegDt() != null ? rate.getRhistRegDt().format(DT) : null,
+                rate.getRhistAnnounceNo()
+        );
+    }
+
+    @PreDestroy
+    public void destroy() {
+        broadcaster.shutdownNow();
+        clients.forEach(client -> {
+            try {
+                client.emitter.complete();
+            } catch (Exception ignored) {
+            }
+        });
+        clients.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("clients", clients.size());
+        stats.put("maxClients", maxClients);
+        stats.put("subscribed", subscribed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("snapshotVersion", rateSnapshotCache.getSnapshot().version());
+        stats.put("broadcasts", broadcasts.sum());
+        stats.put("snapshotsSent", snapshotsSent.sum());
+        stats.put("deltasSent", deltasSent.sum());
+        stats.put("lastDeltaCurrencies", lastDeltaCurrencies);
+        stats.put("sendFailures", sendFailures.sum());
+        return stats;
+    }
+
+    // 구독자 1명 (version: 마지막으로 보낸 스냅샷 버전, 0 = 아직 안 보냄)
+    private static final class Client {
+        private final SseEmitter emitter;
+        private long version;
+
+        private Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package kr.co.api.backend.service;
 
+import kr.co.api.backend.cache.RateSeries;
+import kr.co.api.backend.cache.RateSeriesStore;
+import kr.co.api.backend.cache.RateSnapshotCache;
 import kr.co.api.backend.dto.RateDTO;
 import kr.co.api.backend.mapper.RateMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
@@ -13,10 +17,12 @@ import java.util.List;
 public class RateQueryService {
 
     private final RateMapper rateMapper;
+    private final RateSnapshotCache rateSnapshotCache;
+    private final RateSeriesStore rateSeriesStore;
 
     // 통화별 최신 환율 조회
     public List<RateDTO> getLatestRates() {
-        return rateMapper.selectLatestRates();
+        return rateSnapshotCache.getAllLatest();
     }
 
     // 특정 통화 환율 히스토리 조회
@@ -31,13 +37,30 @@ public class RateQueryService {
 
     /**
      * 단일 통화의 최신 환율 1건 조회
-     * TB_EXCH_RATE_HIST 에 저장된 가장 최근 고시일 데이터를 사용한다.
+     * TB_EXCH_RATE_HIST 에 저장된 가장 최근 고시일 데이터를 사용한다. (메모리 스냅샷, 없으면 DB)
      */
     public RateDTO getLatestRateForCurrency(String currency) {
         if (currency == null || currency.isBlank()) {
             return null;
         }
-        return rateMapper.selectLatestRate(currency);
+        return rateSnapshotCache.getLatest(currency);
+    }
+
+    // 차트용 기간 시계열 (최대 maxPoints개로 줄임, 메모리 시계열)
+    public List<RateSeries.Point> getRateSeries(String currency, LocalDate from, LocalDate to, int maxPoints) {
+        RateSeries series = rateSeriesStore.get(currency);
+        return series == null ? List.of() : series.downsample(from, to, maxPoints);
+    }
+
+    // 일/주/월 봉
+    public List<RateSeries.Candle> getRateOhlc(String currency, LocalDate from, LocalDate to, RateSeries.Unit unit) {
+        RateSeries series = rateSeriesStore.get(currency);
+        return series == null ? List.of() : series.ohlc(from, to, unit);
+    }
+
+    // 통화별 최신 환율 + 전일/전주/전월 대비 + 5/20/60일 이동평균
+    public List<RateSeries.Summary> getRateSummaries() {
+        return rateSeriesStore.summaries();
     }
 
 
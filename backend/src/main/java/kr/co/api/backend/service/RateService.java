@@ -1,25 +1,41 @@
 package kr.co.api.backend.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import kr.co.api.backend.annotation.WorkloadPool;
+import kr.co.api.backend.cache.RateSnapshotCache;
+import kr.co.api.backend.config.Workload;
 import kr.co.api.backend.dto.RateDTO;
 import kr.co.api.backend.mapper.RateMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RateService {
 
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 수출입은행 API 행별 결과 코드 (1: 성공, 2: DATA 코드 오류, 3: 인증코드 오류, 4: 일일 제한 횟수 마감)
+    private static final String RESULT_OK = "1";
+
     private final RateMapper rateMapper;
+    private final RateSnapshotCache rateSnapshotCache;
 
     @Value("${eximbank.api.base-url}")
     private String baseUrl;
@@ -29,105 +45,182 @@ public class RateService {
 
     private final WebClient webClient = WebClient.builder().build();
 
-    // 트랜잭션 문제일 수 있으니 테스트를 위해 잠시 주석 처리 해보세요.
-    // (정상 동작하면 다시 주석 해제)
-    // @Transactional // 테스트 중에는 주석 처리 유지
-    public void collectTodayRate() {
-
-        String today = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+    /**
+     * 적재 결과
+     *
+     * @param inserted 오늘 처음 들어온 통화 (고시회차 1)
+     * @param changed  오늘 이미 있지만 환율이 바뀐 통화 (고시회차 +1)
+     * @param skipped  오늘 마지막 고시와 같은 환율
+     * @param failed   파싱 실패 / API 결과 코드 오류 / MERGE 실패
+     */
+    public record IngestResult(int fetched, int inserted, int changed, int skipped, int failed, long elapsedMs) {
+    }
 
-//        log.info(">>> [API 호출 시작] 날짜: {}", today);
+    /**
+     * 오늘 환율 적재
+     * - 응답을 List<Map>으로 만들지 않고 토큰 단위로 읽어 바로 RateDTO로
+     * - 오늘 이미 적재된 행을 한 번에 조회해서 비교 → 새 통화/바뀐 환율만 MERGE 1건(단일 트랜잭션)으로 기록
+     * - 같은 날 환율이 바뀌어 다시 돌면 해당 통화만 고시회차(rhistAnnounceNo)를 올려서 추가
+     */
+    @WorkloadPool(Workload.BATCH)
+    public IngestResult collectTodayRate() {
+        long start = System.nanoTime();
+        LocalDate regDate = LocalDate.now();
+        String today = regDate.format(DateTimeFormatter.BASIC_ISO_DATE);
 
-        List<Map<String, Object>> response = webClient.get()
+        byte[] body = webClient.get()
                 .uri(baseUrl + "?authkey=" + authKey + "&searchdate=" + today + "&data=AP01")
                 .retrieve()
-                .bodyToMono(List.class)
+                .bodyToMono(byte[].class)
                 .block();
 
-        if (response == null || response.isEmpty()) {
-//            log.info("[RATE] API 응답 없음");
-            return;
+        if (body == null || body.length == 0) {
+            log.info("[RATE] API 응답 없음 ({})", today);
+            return new IngestResult(0, 0, 0, 0, 0, elapsedMs(start));
         }
 
-        LocalDate regDate = LocalDate.now();
-        int insertCount = 0;
-        int skipCount = 0;
-
-        // [디버깅] 첫 번째 데이터의 키값들 전체 출력 (대소문자 확인용)
-        if (!response.isEmpty()) {
-//            log.info(">>> [데이터 검증] 첫번째 Row Keys: {}", response.get(0).keySet());
+        List<RateDTO> fetched = new ArrayList<>();
+        int failed;
+        try {
+            failed = parseRates(body, regDate, fetched);
+        } catch (IOException e) {
+            log.error("❌ [RATE] 응답 해석 실패 : {}", e.getMessage());
+            return new IngestResult(0, 0, 0, 0, 1, elapsedMs(start));
         }
 
-        for (Map<String, Object> item : response) {
-
-            // 1. 대소문자 무관하게 값 가져오기 위한 유틸 사용
-            String currencyRaw = getString(item, "CUR_UNIT"); // 아래 유틸 메소드 확인
-
-            if (currencyRaw == null || currencyRaw.isBlank()) {
-                // 여기서 걸리면 로그를 찍어서 확인
-//                log.warn(">>> [SKIP] 통화코드(CUR_UNIT) 없음. 해당 Row 데이터: {}", item);
-                continue;
+        // 오늘 통화별 마지막 고시 (쿼리 1번)
+        Map<String, RateDTO> lastAnnounced = new HashMap<>();
+        for (RateDTO row : rateMapper.selectRatesByRegDt(regDate)) {
+            RateDTO prev = lastAnnounced.get(row.getRhistCurrency());
+            if (prev == null || row.getRhistAnnounceNo() > prev.getRhistAnnounceNo()) {
+                lastAnnounced.put(row.getRhistCurrency(), row);
             }
+        }
 
-            String currency = currencyRaw.replace("(100)", "").trim();
-
-            // 2. 중복 체크
-            if (rateMapper.existsTodayRate(currency, regDate) > 0) {
-                skipCount++;
+        List<RateDTO> toWrite = new ArrayList<>();
+        int inserted = 0;
+        int changed = 0;
+        int skipped = 0;
+        for (RateDTO rate : fetched) {
+            RateDTO prev = lastAnnounced.get(rate.getRhistCurrency());
+            if (prev == null) {
+                rate.setRhistAnnounceNo(1);
+                inserted++;
+            } else if (sameRate(prev, rate)) {
+                skipped++;
                 continue;
+            } else {
+                rate.setRhistAnnounceNo(prev.getRhistAnnounceNo() + 1);
+                changed++;
             }
+            toWrite.add(rate);
+            lastAnnounced.put(rate.getRhistCurrency(), rate); // 응답 안에 같은 통화가 두 번 오면 뒤의 것만 비교
+        }
 
+        if (!toWrite.isEmpty()) {
             try {
-                RateDTO dto = new RateDTO();
-                dto.setRhistCurrency(currency);
+                rateMapper.mergeRates(toWrite);
+            } catch (RuntimeException e) {
+                log.error("❌ [RATE] MERGE 실패, 오늘 적재분 {}건 반영 안 됨 : {}", toWrite.size(), e.getMessage());
+                failed += toWrite.size();
+                inserted = 0;
+                changed = 0;
+            }
+        }
 
-                // [수정] getString, getDouble, getInt 유틸 메소드 사용
-                dto.setRhistCurName(getString(item, "CUR_NM"));
+        IngestResult result = new IngestResult(fetched.size(), inserted, changed, skipped, failed, elapsedMs(start));
+        log.info("✅ [RATE] {} 적재 완료 (수신 {}, 신규 {}, 변경 {}, 동일 {}, 실패 {}, {}ms)",
+                today, result.fetched(), inserted, changed, skipped, failed, result.elapsedMs());
 
-                dto.setRhistBaseRate(getDouble(item, "DEAL_BAS_R"));
-                dto.setRhistBkprRate(getInt(item, "BKPR"));
-                dto.setRhistTtBuyRate(getDouble(item, "TTB"));
-                dto.setRhistTtSellRate(getDouble(item, "TTS"));
-                dto.setRhistSmbsBaseRate(getDouble(item, "KFTC_DEAL_BAS_R"));
-                dto.setRhistSmbsBkprRate(getInt(item, "KFTC_BKPR"));
+        // 새 환율이 들어왔으면 메모리 스냅샷 교체 + 다른 노드에 알림
+        if (inserted + changed > 0) {
+            rateSnapshotCache.refreshAndPublish();
+        }
+        return result;
+    }
 
+    /**
+     * 응답 배열을 토큰 단위로 읽어 RateDTO로 변환 (필드명 대소문자 무관)
+     *
+     * @return 변환 실패 행 수
+     */
+    private int parseRates(byte[] body, LocalDate regDate, List<RateDTO> out) throws IOException {
+        int failed = 0;
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("배열 응답이 아닙니다.");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                RateDTO dto = new RateDTO();
+                String result = null;
+                boolean bad = false;
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName().toUpperCase(Locale.ROOT);
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    String value = token == JsonToken.VALUE_NULL ? null : parser.getText();
+                    try {
+                        switch (field) {
+                            case "RESULT" -> result = value;
+                            case "CUR_UNIT" -> dto.setRhistCurrency(
+                                    value == null ? null : value.replace("(100)", "").trim());
+                            case "CUR_NM" -> dto.setRhistCurName(value);
+                            case "DEAL_BAS_R" -> dto.setRhistBaseRate(toDouble(value));
+                            case "BKPR" -> dto.setRhistBkprRate(toInt(value));
+                            case "TTB" -> dto.setRhistTtBuyRate(toDouble(value));
+                            case "TTS" -> dto.setRhistTtSellRate(toDouble(value));
+                            case "KFTC_DEAL_BAS_R" -> dto.setRhistSmbsBaseRate(toDouble(value));
+                            case "KFTC_BKPR" -> dto.setRhistSmbsBkprRate(toInt(value));
+                            default -> { }
+                        }
+                    } catch (NumberFormatException e) {
+                        bad = true;
+                        log.warn("⚠️ [RATE] 숫자 변환 실패 ({}={})", field, value);
+                    }
+                }
+
+                if (result != null && !RESULT_OK.equals(result)) {
+                    failed++;
+                    log.warn("⚠️ [RATE] API 결과 코드 {} (통화: {})", result, dto.getRhistCurrency());
+                    continue;
+                }
+                if (dto.getRhistCurrency() == null || dto.getRhistCurrency().isBlank() || bad) {
+                    failed++;
+                    continue;
+                }
                 dto.setRhistRegDt(regDate);
-                dto.setRhistAnnounceNo(1);
-
-                rateMapper.insertRate(dto);
-                insertCount++;
-//                log.info(">>> [INSERT] 저장 성공: {}", currency);
-
-            } catch (Exception e) {
-//                log.error(">>> [ERROR] {} 저장 실패: {}", currency, e.getMessage());
+                out.add(dto);
             }
         }
-
-
+        return failed;
     }
 
-    // ==========================================
-    //  [안전한 파싱 헬퍼 메소드들] - 아래 메소드들을 클래스 하단에 추가하세요
-    // ==========================================
-
-    // 대소문자 구분 없이 key를 찾아서 String 반환
-    private String getString(Map<String, Object> map, String key) {
-        if (map.get(key) != null) return map.get(key).toString();
-        if (map.get(key.toLowerCase()) != null) return map.get(key.toLowerCase()).toString();
-        return null;
+    // 마지막 고시와 환율이 모두 같은지
+    private static boolean sameRate(RateDTO a, RateDTO b) {
+        return Objects.equals(a.getRhistBaseRate(), b.getRhistBaseRate())
+                && a.getRhistBkprRate() == b.getRhistBkprRate()
+                && Objects.equals(a.getRhistTtBuyRate(), b.getRhistTtBuyRate())
+                && Objects.equals(a.getRhistTtSellRate(), b.getRhistTtSellRate())
+                && Objects.equals(a.getRhistSmbsBaseRate(), b.getRhistSmbsBaseRate())
+                && a.getRhistSmbsBkprRate() == b.getRhistSmbsBkprRate();
     }
 
-    // 대소문자 구분 없이 key를 찾아서 Double 반환
-    private Double getDouble(Map<String, Object> map, String key) {
-        String val = getString(map, key);
+    // "1,350.5" → 1350.5
+    private static Double toDouble(String val) {
         if (val == null || val.isBlank()) return null;
         return Double.parseDouble(val.replace(",", "").trim());
     }
 
-    // 대소문자 구분 없이 key를 찾아서 int 반환
-    private int getInt(Map<String, Object> map, String key) {
-        String val = getString(map, key);
+    private static int toInt(String val) {
         if (val == null || val.isBlank()) return 0;
         return Integer.parseInt(val.replace(",", "").trim());
     }
-}
\ No newline at end of file
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
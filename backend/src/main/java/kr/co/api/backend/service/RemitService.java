@@ -1,5 +1,6 @@
 package kr.co.api.backend.service;
 
+import kr.co.api.backend.annotation.CustomerLane;
 import kr.co.api.backend.dto.CustAcctDTO;
 import kr.co.api.backend.dto.CustFrgnAcctDTO;
 import kr.co.api.backend.dto.FrgnRemtTranDTO;
@@ -24,6 +25,7 @@ public class RemitService {
     private final PasswordEncoder passwordEncoder;
 
     // 외화 이체
+    @CustomerLane("remit")
     @Transactional
     public boolean saveFrgnTran(FrgnRemtTranDTO frgnRemtTranDTO){
         try {
@@ -1,6 +1,8 @@
 package kr.co.api.backend.service.admin;
 
 import jakarta.annotation.PostConstruct;
+import kr.co.api.backend.annotation.WorkloadPool;
+import kr.co.api.backend.config.Workload;
 import kr.co.api.backend.dto.admin.dashboard.*;
 import kr.co.api.backend.mapper.admin.DashboardMapper;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +36,7 @@ public class DashboardService {
     }
 
     @Scheduled(fixedRate = 5 * 60 * 1000) // 5분마다 r갱신
+    @WorkloadPool(Workload.REPORTING)       // 통계용 풀스캔은 OLTP와 분리된 통계 전용 풀에서
     public void refreshStats() {
         log.info("Refreshing dashboard stats...");
 
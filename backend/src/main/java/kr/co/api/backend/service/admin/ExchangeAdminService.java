@@ -1,6 +1,8 @@
 package kr.co.api.backend.service.admin;
 
 import jakarta.annotation.PostConstruct;
+import kr.co.api.backend.annotation.WorkloadPool;
+import kr.co.api.backend.config.Workload;
 import kr.co.api.backend.dto.admin.exchange.*;
 import kr.co.api.backend.mapper.admin.ExchangeAdminMapper;
 import lombok.RequiredArgsConstructor;
@@ -53,6 +55,7 @@ public class ExchangeAdminService {
      * synchronized: 동시 실행 방지 (멀티쓰레드에서 안전하게 캐시 갱신)
      */
     @Scheduled(fixedRate = 5 * 60 * 1000)
+    @WorkloadPool(Workload.REPORTING)
     public synchronized void refreshStats() {
         log.info("Refreshing exchange admin stats...");
 
@@ -87,6 +90,7 @@ public class ExchangeAdminService {
      *
      * @return Map (list, page, pageSize, totalPage, totalCount)
      */
+    @WorkloadPool(Workload.REPORTING)
     public Map<String, Object> getExchangeHistoryPage(String searchType, String keyword, int page) {
 
         int pageSize = 10;  // 한 페이지당 노출 개수
@@ -128,6 +132,7 @@ public class ExchangeAdminService {
      * @param page 쿠폰 페이지 번호
      * @return Map (list, page, pageSize, totalPage, totalCount)
      */
+    @WorkloadPool(Workload.REPORTING)
     public Map<String, Object> getCouponIssuePage(int page) {
 
         int pageSize = 5;  // 쿠폰 테이블은 한 페이지 5개 노출
@@ -1,6 +1,9 @@
 package kr.co.api.backend.service.admin;
 
+import kr.co.api.backend.annotation.WorkloadPool;
+import kr.co.api.backend.cache.DepositCatalogCache;
 import kr.co.api.backend.config.FilePathConfig;
+import kr.co.api.backend.config.Workload;
 import kr.co.api.backend.dto.*;
 import kr.co.api.backend.mapper.admin.ProductMapper;
 import kr.co.api.backend.service.PdfAiService;
@@ -25,6 +28,7 @@ public class ProductService {
     private final ProductMapper productMapper;
     private final FilePathConfig filePathConfig;
     private final PdfAiService pdfAiService;
+    private final DepositCatalogCache depositCatalogCache;
 
     /**
      * 상품 등록 (파일 업로드 포함)
@@ -95,6 +99,9 @@ public class ProductService {
             map3.put("list", withdrawAmts);
             productMapper.insertWithdrawalAmounts(map3);
         }
+
+        // 7. 상품 캐시 무효화 (커밋 이후 전 노드)
+        depositCatalogCache.evictProduct(dpstId);
     }
 
     /**
@@ -157,10 +164,11 @@ public class ProductService {
 
     public void updateStatus(String dpstId, int status) {
         productMapper.updateStatus(dpstId, status);
+        depositCatalogCache.evictProduct(dpstId);
     }
 
     public ProductDTO getProductById(String dpstId) {
-        return productMapper.getProductById(dpstId);
+        return depositCatalogCache.getAdminProductById(dpstId);
     }
 
     public List<ProductPeriodDTO> getPeriods(String dpstId) {
@@ -179,8 +187,11 @@ public class ProductService {
         return productMapper.getLimits(dpstId);
     }
 
+    @WorkloadPool(Workload.BATCH)
     public void updateOpenedProducts() {
         productMapper.updateStatusToOpened();
+        // 오픈일 도래 상품이 여러 건일 수 있어 전체 무효화
+        depositCatalogCache.evictProduct(null);
     }
 
     // 관리자용 약관 파일 확인 메서드
@@ -0,0 +1,352 @@
+package kr.co.api.backend.service.async;
+
+import kr.co.api.backend.config.DbStatusManager;
+import kr.co.api.backend.service.async.HistoryLogWriter.Item;
+import kr.co.api.backend.service.async.event.HistoryLogCodec;
+import kr.co.api.backend.service.async.event.HistoryLogEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [이력 에러 큐(history_queue:error) 재처리]
+ * - 주기 실행 + 관리자 수동 실행. 노드 간에는 Redis 락으로 한 번에 한 노드만
+ * - 큐 앞에서 batchSize건을 읽어 재시도 시각이 된 건만 HistoryLogWriter로 배치 저장 (eventId 멱등이라 중복 반영 없음)
+ * - 실패 분류
+ *   · 일시 장애(커넥션/타임아웃/락 등): attempts 증가 + 지수 백오프로 next_attempt_at 설정 후 큐 뒤로
+ *   · poison(디코딩 불가/알 수 없는 타입/제약·문법 오류) 또는 maxAttempts 초과: history_queue:poison으로 격리
+ * - 처리 결과를 먼저 큐 뒤에 넣고 읽은 구간을 LTRIM → 중간에 죽어도 유실 없이 최대 중복(멱등으로 무해)
+ */
+@Slf4j
+@Component
+public class HistoryDlqReplayer {
+
+    static final String POISON_QUEUE_NAME = "history_queue:poison";
+    private static final String LOCK_KEY = "history_queue:error:replay-lock";
+
+    // 재처리 관리 필드 (이전 버전 Map 파라미터에서는 제거)
+    private static final String ATTEMPTS = "attempts";
+    private static final String NEXT_ATTEMPT_AT = "next_attempt_at";
+    private static final String ERROR_CLASS = "error_class";
+    private static final Set<String> META_FIELDS = Set.of(
+            "error_msg", ATTEMPTS, NEXT_ATTEMPT_AT, ERROR_CLASS,
+            LogWorker.DLQ_PAYLOAD_FIELD, "raw_payload");
+
+    // 내가 잡은 락만 해제
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final HistoryLogWriter historyLogWriter;
+    private final DbStatusManager dbStatusManager;
+
+    @Value("${flobank.history-log.dlq.batch-size:500}")
+    private int batchSize;
+
+    @Value("${flobank.history-log.dlq.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${flobank.history-log.dlq.base-backoff-ms:5000}")
+    private long baseBackoffMs;
+
+    @Value("${flobank.history-log.dlq.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+
+    @Value("${flobank.history-log.dlq.lock-ttl-ms:60000}")
+    private long lockTtlMs;
+
+    @Value("${flobank.history-log.dlq.applied-retention-days:7}")
+    private int appliedRetentionDays;
+
+    // 메트릭
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder poisoned = new LongAdder();
+    private volatile long lastRunAt;
+    private volatile long lastRunMillis;
+    private volatile Map<String, Object> lastResult = Map.of();
+
+    public HistoryDlqReplayer(RedisTemplate<String, Object> redisTemplate,
+                              HistoryLogWriter historyLogWriter,
+                              DbStatusManager dbStatusManager) {
+        this.redisTemplate = redisTemplate;
+        this.historyLogWriter = historyLogWriter;
+        this.dbStatusManager = dbStatusManager;
+    }
+
+    @Scheduled(fixedDelayString = "${flobank.history-log.dlq.replay-interval-ms:30000}")
+    public void scheduledReplay() {
+        try {
+            replay();
+        } catch (Exception e) {
+            log.error("❌ [DLQ 재처리] 실행 실패 : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 에러 큐 1회 재처리 (batchSize건)
+     *
+     * @return 이번 실행 결과 (skipped 사유 or 건수)
+     */
+    public synchronized Map<String, Object> replay() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        // Slave 장애 중엔 전부 일시 장애로 실패할 것이므로 attempts만 소모하지 않도록 건너뜀
+        if (!dbStatusManager.isSlaveAlive()) {
+            result.put("skipped", "Slave DB 장애");
+            return result;
+        }
+
+        String token = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue()
+                .setIfAbsent(LOCK_KEY, token, Duration.ofMillis(lockTtlMs));
+        if (!Boolean.TRUE.equals(locked)) {
+            result.put("skipped", "다른 노드에서 재처리 중");
+            return result;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            replayBatch(result);
+        } finally {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), token);
+        }
+
+        runs.increment();
+        lastRunAt = start;
+        lastRunMillis = System.currentTimeMillis() - start;
+        lastResult = result;
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void replayBatch(Map<String, Object> result) {
+        List<Object> entries = redisTemplate.opsForList().range(LogWorker.ERROR_QUEUE_NAME, 0, batchSize - 1);
+        if (entries == null || entries.isEmpty()) {
+            result.put("read", 0);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Object> requeue = new ArrayList<>();
+        List<Object> poison = new ArrayList<>();
+        List<Map<String, Object>> dueEntries = new ArrayList<>();
+        List<Item> dueItems = new ArrayList<>();
+        int notDue = 0;
+
+        for (Object raw : entries) {
+            if (!(raw instanceof Map<?, ?> map)) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("raw_entry", String.valueOf(raw));
+                poison.add(markPoison(entry, "해석 불가 항목"));
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>((Map<String, Object>) map);
+            if (longValue(entry.get(NEXT_ATTEMPT_AT)) > now) {
+                requeue.add(entry);
+                notDue++;
+                continue;
+            }
+            try {
+                dueItems.add(toItem(entry));
+                dueEntries.add(entry);
+            } catch (Exception e) {
+                poison.add(markPoison(entry, "복원 실패: " + e.getMessage()));
+            }
+        }
+
+        int applied = 0;
+        int skipped = 0;
+        int retry = 0;
+        if (!dueItems.isEmpty()) {
+            try {
+                int dup = historyLogWriter.writeBatch(dueItems);
+                applied = dueItems.size() - dup;
+                skipped = dup;
+
+            } catch (Exception batchError) {
+                if (isTransient(batchError)) {
+                    // DB 자체가 불안정 → 건별로 두드리지 않고 전체를 백오프 후 재시도
+                    log.warn("⚠️ [DLQ 재처리] 일시 장애로 배치 저장 실패. {}건 백오프 후 재시도 : {}",
+                            dueEntries.size(), batchError.getMessage());
+                    for (Map<String, Object> entry : dueEntries) {
+                        retry += retryOrPoison(entry, batchError, requeue, poison);
+                    }
+                } else {
+                    // 문제 건만 골라내기 위해 건별 저장
+                    for (int i = 0; i < dueItems.size(); i++) {
+                        Map<String, Object> entry = dueEntries.get(i);
+                        try {
+                            if (historyLogWriter.writeOne(dueItems.get(i))) applied++;
+                            else skipped++;
+                        } catch (Exception e) {
+                            if (isTransient(e)) {
+                                retry += retryOrPoison(entry, e, requeue, poison);
+                            } else {
+                                poison.add(markPoison(entry, e.getMessage()));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // 남길 건을 먼저 뒤에 붙이고 읽은 구간 제거 (그 사이 LogWorker가 추가한 건은 영향 없음)
+        if (!requeue.isEmpty()) redisTemplate.opsForList().rightPushAll(LogWorker.ERROR_QUEUE_NAME, requeue);
+        if (!poison.isEmpty()) redisTemplate.opsForList().rightPushAll(POISON_QUEUE_NAME, poison);
+        redisTemplate.opsForList().trim(LogWorker.ERROR_QUEUE_NAME, entries.size(), -1);
+
+        replayed.add(applied);
+        duplicates.add(skipped);
+        retried.add(retry);
+        poisoned.add(poison.size());
+
+        result.put("read", entries.size());
+        result.put("replayed", applied);
+        result.put("duplicates", skipped);
+        result.put("retried", retry);
+        result.put("notDue", notDue);
+        result.put("poisoned", poison.size());
+
+        if (applied > 0 || !poison.isEmpty()) {
+            log.info("♻️ [DLQ 재처리] 이력 {}건 재반영 (중복 {}건, 재시도 대기 {}건, 격리 {}건)",
+                    applied, skipped, retry, poison.size());
+        }
+    }
+
+    /**
+     * DLQ 항목 → 저장 단위
+     * - 바이너리 이벤트 원본(payload)이 있으면 이벤트 객체/eventId 그대로 복원
+     * - 이전 버전 Map 이력은 관리 필드만 빼고 그대로 매퍼 파라미터 (eventId 없음 → 중복 검사 없이 저장)
+     */
+    private static Item toItem(Map<String, Object> entry) {
+        if (entry.get(LogWorker.DLQ_PAYLOAD_FIELD) instanceof String encoded) {
+            HistoryLogEvent event = HistoryLogCodec.decode(Base64.getDecoder().decode(encoded));
+            return new Item(event.getLogType(), event.getEventId(), event);
+        }
+        if (entry.containsKey("raw_payload")) {
+            throw new IllegalArgumentException("디코딩할 수 없는 원본 payload");
+        }
+
+        Object logType = entry.get("log_type");
+        if (!(logType instanceof String type) || !HistoryLogWriter.supports(type)) {
+            throw new IllegalArgumentException("알 수 없는 로그 타입: " + logType);
+        }
+        Map<String, Object> param = new LinkedHashMap<>(entry);
+        param.keySet().removeAll(META_FIELDS);
+        return new Item(type, null, param);
+    }
+
+    // attempts 증가 후 백오프 재시도 대기, 한도 초과 시 poison
+    private int retryOrPoison(Map<String, Object> entry, Exception e, List<Object> requeue, List<Object> poison) {
+        int attempts = (int) longValue(entry.get(ATTEMPTS)) + 1;
+        if (attempts >= maxAttempts) {
+            poison.add(markPoison(entry, "최대 재시도 횟수 초과 (" + maxAttempts + "회): " + e.getMessage()));
+            return 0;
+        }
+        entry.put(ATTEMPTS, attempts);
+        entry.put(NEXT_ATTEMPT_AT, System.currentTimeMillis() + backoffMillis(attempts));
+        entry.put(ERROR_CLASS, "TRANSIENT");
+        entry.put("error_msg", e.getMessage());
+        requeue.add(entry);
+        return 1;
+    }
+
+    // base * 2^(attempts-1), 상한 maxBackoffMs, ±20% 지터 (여러 건이 같은 시각에 몰리지 않도록)
+    private long backoffMillis(int attempts) {
+        long delay = baseBackoffMs << Math.min(attempts - 1, 20);
+        delay = Math.min(delay, maxBackoffMs);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (delay * jitter);
+    }
+
+    private static Map<String, Object> markPoison(Map<String, Object> entry, String reason) {
+        entry.put(ERROR_CLASS, "POISON");
+        entry.put("error_msg", reason);
+        entry.remove(NEXT_ATTEMPT_AT);
+        return entry;
+    }
+
+    /**
+     * 일시 장애 여부
+     * - 커넥션/타임아웃/락/트랜잭션 시작 실패 → 재시도
+     * - 제약 조건 위반, SQL 문법, 파라미터 매핑 오류 등 → poison (다시 해도 같은 결과)
+     * - 분류 불가는 재시도 (maxAttempts로 상한)
+     */
+    static boolean isTransient(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof TransientDataAccessException
+                    || t instanceof RecoverableDataAccessException
+                    || t instanceof DataAccessResourceFailureException
+                    || t instanceof CannotCreateTransactionException
+                    || t instanceof SQLTransientException
+                    || t instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (t instanceof NonTransientDataAccessException
+                    || t instanceof IllegalArgumentException
+                    || t instanceof ClassCastException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 멱등 적용 기록 정리 (매일 04:30)
+    @Scheduled(cron = "0 30 4 * * *", zone = "Asia/Seoul")
+    public void purgeAppliedEvents() {
+        try {
+            int deleted = historyLogWriter.purgeApplied(appliedRetentionDays);
+            log.info("[DLQ 재처리] {}일 지난 이력 적용 기록 {}건 정리", appliedRetentionDays, deleted);
+        } catch (Exception e) {
+            log.error("❌ [DLQ 재처리] 적용 기록 정리 실패 : {}", e.getMessage());
+        }
+    }
+
+    private static long longValue(Object value) {
+        return value instanceof Number n ? n.longValue() : 0L;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        try {
+            stats.put("dlqDepth", redisTemplate.opsForList().size(LogWorker.ERROR_QUEUE_NAME));
+            stats.put("poisonDepth", redisTemplate.opsForList().size(POISON_QUEUE_NAME));
+        } catch (Exception e) {
+            stats.put("dlqDepth", -1);
+            stats.put("poisonDepth", -1);
+        }
+        stats.put("runs", runs.sum());
+        stats.put("replayed", replayed.sum());
+        stats.put("duplicates", duplicates.sum());
+        stats.put("retried", retried.sum());
+        stats.put("poisoned", poisoned.sum());
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("lastRunMillis", lastRunMillis);
+        stats.put("lastResult", lastResult);
+        return stats;
+    }
+}
@@ -0,0 +1,178 @@
+package kr.co.api.backend.service.async;
+
+import kr.co.api.backend.mapper.HistoryLogMapper;
+import kr.co.api.backend.service.async.event.ExchangeLogEvent;
+import kr.co.api.backend.service.async.event.TransferLogEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * [이력 Slave 저장 (멱등)]
+ * - 스트림 소비자(LogWorker)와 DLQ 재처리(HistoryDlqReplayer)가 같이 사용
+ * - 이벤트 키(eventId)를 TB_HIST_EVENT_APPLIED에 이력 행과 같은 트랜잭션으로 기록 → 같은 이벤트는 한 번만 반영
+ * - 이미 적용된 키는 배치 전에 한 번에 조회해서 건너뜀 (재전송/재처리가 수천 건이어도 배치 그대로 유지)
+ * - eventId가 없는 이전 버전 이력은 중복 검사 없이 저장
+ */
+@Slf4j
+@Component
+public class HistoryLogWriter {
+
+    private static final String MAPPER = "kr.co.api.backend.mapper.HistoryLogMapper.";
+    private static final String INSERT_APPLIED = MAPPER + "insertAppliedEvent";
+
+    // Oracle IN 목록 최대 개수
+    private static final int IN_LIST_LIMIT = 1000;
+
+    // 적용 기록 PK (이 제약 위반만 '이미 적용됨'으로 봄)
+    private static final String APPLIED_PK = "PK_HIST_EVENT_APPLIED";
+
+    // log_type → 저장 statement
+    private static final Map<String, String> STATEMENTS = Map.of(
+            ExchangeLogEvent.LOG_TYPE, "kr.co.api.backend.mapper.OnlineExchangeMapper.insertOnlineExchange",
+            TransferLogEvent.LOG_TYPE, "kr.co.api.backend.mapper.OnlineExchangeMapper.insertCustTranHist"
+    );
+
+    private final SqlSessionTemplate slaveSqlSession;
+    private final SqlSessionTemplate slaveBatchSqlSession;
+    private final PlatformTransactionManager slaveTransactionManager;
+
+    @Autowired
+    public HistoryLogWriter(
+            @Qualifier("slaveSqlSessionTemplate") SqlSessionTemplate slaveSqlSession,
+            @Qualifier("slaveBatchSqlSessionTemplate") SqlSessionTemplate slaveBatchSqlSession,
+            @Qualifier("slaveTransactionManager") PlatformTransactionManager slaveTransactionManager
+    ) {
+        this.slaveSqlSession = slaveSqlSession;
+        this.slaveBatchSqlSession = slaveBatchSqlSession;
+        this.slaveTransactionManager = slaveTransactionManager;
+    }
+
+    public static boolean supports(String logType) {
+        return STATEMENTS.containsKey(logType);
+    }
+
+    /**
+     * log_type별 JDBC Batch + 단일 트랜잭션 저장
+     * - 실패 시 예외 그대로 던짐 (호출 측에서 건별 저장으로 전환)
+     *
+     * @return 이미 적용돼서 건너뛴 건수
+     */
+    public int writeBatch(List<Item> items) {
+        // 적용 여부 조회는 배치 트랜잭션 밖에서 (한 트랜잭션에 SIMPLE/BATCH executor 혼용 불가)
+        Set<String> seen = findApplied(items);
+        Map<String, List<Item>> byType = new LinkedHashMap<>();
+        int duplicates = 0;
+        for (Item item : items) {
+            // 같은 배치 안에 같은 이벤트가 두 번 들어온 경우(재전송)도 한 건만
+            if (item.eventId() != null && !seen.add(item.eventId())) {
+                duplicates++;
+                continue;
+            }
+            byType.computeIfAbsent(item.logType(), k -> new ArrayList<>()).add(item);
+        }
+        if (byType.isEmpty()) return duplicates;
+
+        TransactionStatus status = slaveTransactionManager.getTransaction(new DefaultTransactionDefinition());
+        try {
+            List<Item> keyed = new ArrayList<>();
+            for (Map.Entry<String, List<Item>> entry : byType.entrySet()) {
+                String statement = STATEMENTS.get(entry.getKey());
+                for (Item item : entry.getValue()) {
+                    slaveBatchSqlSession.insert(statement, item.param());
+                    if (item.eventId() != null) keyed.add(item);
+                }
+                // 타입별로 flush → 같은 SQL끼리 하나의 JDBC Batch
+                slaveBatchSqlSession.flushStatements();
+            }
+            for (Item item : keyed) {
+                slaveBatchSqlSession.insert(INSERT_APPLIED, appliedParam(item));
+            }
+            slaveBatchSqlSession.flushStatements();
+            slaveTransactionManager.commit(status);
+            return duplicates;
+
+        } catch (RuntimeException e) {
+            if (!status.isCompleted()) slaveTransactionManager.rollback(status);
+            throw e;
+        }
+    }
+
+    /**
+     * 건별 저장 (배치 실패 후 / DLQ 재처리)
+     * - 다른 노드가 먼저 반영해서 적용 기록 PK가 겹치면 이미 적용된 것으로 처리
+     *
+     * @return true = 저장됨, false = 이미 적용됨
+     */
+    public boolean writeOne(Item item) {
+        if (item.eventId() != null && !findApplied(List.of(item)).isEmpty()) return false;
+
+        TransactionStatus status = slaveTransactionManager.getTransaction(new DefaultTransactionDefinition());
+        try {
+            slaveSqlSession.insert(STATEMENTS.get(item.logType()), item.param());
+            if (item.eventId() != null) {
+                slaveSqlSession.insert(INSERT_APPLIED, appliedParam(item));
+            }
+            slaveTransactionManager.commit(status);
+            return true;
+
+        } catch (DuplicateKeyException e) {
+            if (!status.isCompleted()) slaveTransactionManager.rollback(status);
+            if (isAppliedKeyViolation(e)) return false;
+            throw e;
+        } catch (RuntimeException e) {
+            if (!status.isCompleted()) slaveTransactionManager.rollback(status);
+            throw e;
+        }
+    }
+
+    // 보관 기간이 지난 적용 기록 삭제 (그 이전 이벤트의 재처리는 이미 끝났다는 전제)
+    public int purgeApplied(int retentionDays) {
+        return slaveSqlSession.getMapper(HistoryLogMapper.class).deleteAppliedEventsBefore(retentionDays);
+    }
+
+    private Set<String> findApplied(List<Item> items) {
+        List<String> ids = new ArrayList<>();
+        for (Item item : items) {
+            if (item.eventId() != null) ids.add(item.eventId());
+        }
+        Set<String> applied = new HashSet<>();
+        if (ids.isEmpty()) return applied;
+
+        HistoryLogMapper mapper = slaveSqlSession.getMapper(HistoryLogMapper.class);
+        for (int i = 0; i < ids.size(); i += IN_LIST_LIMIT) {
+            applied.addAll(mapper.selectAppliedEventIds(ids.subList(i, Math.min(i + IN_LIST_LIMIT, ids.size()))));
+        }
+        return applied;
+    }
+
+    private static Map<String, Object> appliedParam(Item item) {
+        return Map.of("eventId", item.eventId(), "logType", item.logType());
+    }
+
+    private static boolean isAppliedKeyViolation(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (String.valueOf(t.getMessage()).contains(APPLIED_PK)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 저장 단위 (param = 매퍼 파라미터: 이벤트 객체 or 이전 버전 Map)
+     */
+    public record Item(String logType, String eventId, Object param) {
+    }
+}
@@ -1,37 +1,274 @@
 package kr.co.api.backend.service.async;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.co.api.backend.service.async.event.HistoryLogCodec;
+import kr.co.api.backend.service.async.event.HistoryLogEvent;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StreamOperations;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * [이력 데이터 비동기 전송 (Producer)]
+ * - 요청 스레드는 링 버퍼에 넣고 즉시 리턴 (Redis 지연/장애를 기다리지 않음)
+ * - 전송 스레드 1개가 링 버퍼를 모아서 바이너리 인코딩(HistoryLogCodec) 후 파이프라인 XADD
+ * - 링 버퍼가 가득 차면 제한된 대기열(overflow)로 넘기고 전송 스레드가 이어서 처리
+ *   (요청 스레드에서 fsync 디스크 쓰기를 하지 않음, 대기열까지 가득 찬 경우에만 최후 수단으로 직접 디스크에)
+ * - Redis가 죽어 있으면 전송 스레드가 로컬 디스크(LogSpillStore)로 넘기고,
+ *   Redis 복구 후 디스크에 쌓인 것부터 순서대로 전송
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class LogProducer {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final LogSpillStore spillStore;
 
-    // Redis Key (Queue 이름)
-    private static final String QUEUE_NAME = "history_queue";
+    // Redis Stream Key (소비자 그룹으로 여러 노드가 나눠서 처리)
+    public static final String STREAM_KEY = "history_stream";
+
+    // 레코드 필드 이름 (이력 1건 = 인코딩된 payload 필드 1개)
+    public static final String PAYLOAD_FIELD = "payload";
+
+    // 스트림 최대 길이 (근사 트리밍, 처리 완료된 오래된 레코드부터 잘림)
+    @Value("${flobank.history-log.stream-max-len:100000}")
+    private long streamMaxLen;
+
+    @Value("${flobank.history-log.ring-capacity:8192}")
+    private int ringCapacity;
+
+    // 링 버퍼가 가득 찼을 때 넘기는 대기열 크기
+    @Value("${flobank.history-log.overflow-capacity:65536}")
+    private int overflowCapacity;
+
+    // 1회 파이프라인 전송 건수
+    @Value("${flobank.history-log.forward-batch-size:256}")
+    private int forwardBatchSize;
+
+    // Redis 장애 중 재연결 시도 간격
+    @Value("${flobank.history-log.redis-retry-ms:1000}")
+    private long redisRetryMs;
+
+    private LogRingBuffer<HistoryLogEvent> ring;
+    private ArrayBlockingQueue<HistoryLogEvent> overflow;
+    private Thread forwarder;
+    private volatile boolean running;
+    private volatile boolean redisAvailable = true;
+    private long nextRedisRetryAt;
+
+    // 메트릭
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder forwarded = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder overflowFull = new LongAdder();
+    private final LongAdder forwardFailures = new LongAdder();
+    private final LongAdder lost = new LongAdder();
+    private final LongAdder encodedBytes = new LongAdder();
+    private final LongAdder encodedEvents = new LongAdder();
+
+    public LogProducer(@Qualifier("binaryRedisTemplate") RedisTemplate<String, byte[]> binaryRedisTemplate,
+                       LogSpillStore spillStore) {
+        this.binaryRedisTemplate = binaryRedisTemplate;
+        this.spillStore = spillStore;
+    }
+
+    @PostConstruct
+    public void start() {
+        ring = new LogRingBuffer<>(ringCapacity);
+        overflow = new ArrayBlockingQueue<>(overflowCapacity);
+        running = true;
+        forwarder = new Thread(this::forwardLoop, "history-log-forwarder");
+        forwarder.setDaemon(true);
+        forwarder.start();
+    }
+
+    // 종료 시 링 버퍼에 남은 건은 Redis or 디스크로 비움
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(forwarder);
+        try {
+            forwarder.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
     /**
-     * 이력 데이터 비동기 전송 (Producer)
+     * 이력 데이터 비동기 전송
      * - 목적: DB 변경 대기 시간을 없애 API 응답 속도 향상
-     * - 방식: Redis List(Queue)에 데이터를 밀어넣고(Push) 즉시 리턴
+     * - 방식: 링 버퍼에 넣고 즉시 리턴 (가득 차면 overflow 대기열로, 그것도 가득 차면 디스크로)
+     * - 이벤트마다 멱등 키(eventId)를 부여 → 재전송/DLQ 재처리 시 Slave에 한 번만 반영
      */
-    public void sendLog(Map<String, Object> logData) {
+    public void sendLog(HistoryLogEvent event) {
+        if (event.getEventId() == null) event.setEventId(UUID.randomUUID().toString());
+        accepted.increment();
+        // overflow에 밀린 게 있으면 뒤에 붙임 (같은 스레드가 보낸 이력 순서 유지)
+        if (overflow.isEmpty() && ring.offer(event)) {
+            log.debug("[비동기 요청] 이력 데이터가 전송 버퍼에 적재되었습니다. (Type: {})", event.getLogType());
+            return;
+        }
+
+        overflowed.increment();
+        if (overflow.offer(event)) {
+            LockSupport.unpark(forwarder);
+            return;
+        }
+
+        // 최후 수단: 전송 스레드가 한참 밀려 있음 → 요청 스레드가 직접 디스크에
+        overflowFull.increment();
+        spill(List.of(HistoryLogCodec.encode(event)));
+    }
+
+    private void forwardLoop() {
+        List<HistoryLogEvent> events = new ArrayList<>(forwardBatchSize);
+        List<byte[]> batch = new ArrayList<>(forwardBatchSize);
+        int idleSpins = 0;
+        while (running || ring.size() > 0 || !overflow.isEmpty()) {
+            events.clear();
+            batch.clear();
+            ring.drainTo(events, forwardBatchSize);
+            // 링에 있던 것(먼저 들어온 것) 다음에 overflow
+            if (events.size() < forwardBatchSize) {
+                overflow.drainTo(events, forwardBatchSize - events.size());
+            }
+            for (HistoryLogEvent event : events) {
+                byte[] encoded = HistoryLogCodec.encode(event);
+                encodedBytes.add(encoded.length);
+                encodedEvents.increment();
+                batch.add(encoded);
+            }
+
+            // 디스크에 밀린 게 있으면 순서 유지를 위해 새 건도 디스크 뒤에 붙이고, 디스크부터 전송
+            if (!redisAvailable || spillStore.hasPending()) {
+                if (!batch.isEmpty()) spill(batch);
+                if (running) forwardSpilled();
+            } else if (!batch.isEmpty()) {
+                if (!forward(batch)) spill(batch);
+            }
+
+            if (batch.isEmpty()) {
+                // 비어 있으면 점점 길게 대기 (최대 10ms)
+                idleSpins = Math.min(idleSpins + 1, 10);
+                if (running) LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(idleSpins));
+            } else {
+                idleSpins = 0;
+            }
+        }
+    }
+
+    /**
+     * Redis로 파이프라인 XADD
+     *
+     * @return 성공 여부 (실패 시 Redis 장애로 보고 재시도 시각 설정)
+     */
+    private boolean forward(List<byte[]> batch) {
         try {
-            // Redis List의 오른쪽에 데이터를 밀어넣음 (Push)
-            redisTemplate.opsForList().rightPush(QUEUE_NAME, logData);
+            XAddOptions options = XAddOptions.maxlen(streamMaxLen).approximateTrimming(true);
+            binaryRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    StreamOperations<String, String, byte[]> stream =
+                            ((RedisOperations<String, byte[]>) operations).opsForStream();
+                    for (byte[] payload : batch) {
+                        stream.add(toRecord(payload), options);
+                    }
+                    return null;
+                }
+            });
+            forwarded.add(batch.size());
+            if (!redisAvailable) {
+                redisAvailable = true;
+                log.info("✅ [비동기 적재 복구] Redis 연결이 복구되었습니다. 이력 전송을 재개합니다.");
+            }
+            return true;
+
+        } catch (Exception e) {
+            forwardFailures.increment();
+            if (redisAvailable) {
+                log.error("⚠️ [비동기 적재 실패] Redis 연결 실패. 이력 데이터를 로컬 디스크에 보관합니다 : {}", e.getMessage());
+            }
+            redisAvailable = false;
+            nextRedisRetryAt = System.currentTimeMillis() + redisRetryMs;
+            return false;
+        }
+    }
 
-            // 비동기 처리 성공 시각화
-            log.info("[비동기 요청] 이력 데이터가 Redis 큐(Queue)에 적재되었습니다.");
+    // 디스크에 쌓인 세그먼트를 오래된 순으로 전송 후 삭제 (Redis 재시도 간격마다)
+    private void forwardSpilled() {
+        if (!redisAvailable && System.currentTimeMillis() < nextRedisRetryAt) return;
 
+        try {
+            for (Path segment : spillStore.closeAndListSegments()) {
+                // 디스크에는 인코딩된 payload를 그대로 보관하므로 디코딩 없이 전송
+                List<byte[]> records = spillStore.readSegment(segment);
+                for (int i = 0; i < records.size(); i += forwardBatchSize) {
+                    List<byte[]> chunk = records.subList(i, Math.min(i + forwardBatchSize, records.size()));
+                    // 세그먼트 중간에 실패하면 다음 시도 때 처음부터 재전송 (소비 측은 at-least-once 전제)
+                    if (!forward(chunk)) return;
+                }
+                spillStore.delete(segment, records.size());
+                log.info("[비동기 적재 복구] 디스크에 보관된 이력 {}건을 Redis로 전송했습니다. ({})",
+                        records.size(), segment.getFileName());
+            }
+        } catch (Exception e) {
+            log.error("❌ [비동기 적재] 디스크 보관 이력 전송 실패 : {}", e.getMessage());
+            nextRedisRetryAt = System.currentTimeMillis() + redisRetryMs;
+        }
+    }
+
+    private void spill(List<byte[]> batch) {
+        try {
+            spillStore.append(batch);
         } catch (Exception e) {
-            log.error("⚠️ [비동기 적재 실패] Redis 연결 실패. 이력 데이터가 누락되었습니다 : {}", e.getMessage());
+            lost.add(batch.size());
+            log.error("💀 [비동기 적재 실패] 디스크 보관 실패. 이력 데이터 {}건이 누락되었습니다 : {}", batch.size(), e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    static MapRecord<String, String, byte[]> toRecord(byte[] payload) {
+        return StreamRecords.newRecord()
+                .in(STREAM_KEY)
+                .ofMap(Map.of(PAYLOAD_FIELD, payload));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("redisAvailable", redisAvailable);
+        stats.put("ringSize", ring.size());
+        stats.put("ringCapacity", ring.capacity());
+        stats.put("accepted", accepted.sum());
+        stats.put("forwarded", forwarded.sum());
+        long events = encodedEvents.sum();
+        stats.put("avgEncodedBytes", events == 0 ? 0 : encodedBytes.sum() / events);
+        stats.put("overflowSize", overflow.size());
+        stats.put("overflowCapacity", overflowCapacity);
+        stats.put("overflowed", overflowed.sum());
+        stats.put("overflowFull", overflowFull.sum());
+        stats.put("forwardFailures", forwardFailures.sum());
+        stats.put("spilled", spillStore.getSpilledTotal());
+        stats.put("spillPending", spillStore.pendingCount());
+        stats.put("lost", lost.sum());
+        return stats;
+    }
+}
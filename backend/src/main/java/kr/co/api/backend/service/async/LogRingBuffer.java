@@ -0,0 +1,81 @@
+package kr.co.api.backend.service.async;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * [이력 전송용 고정 크기 링 버퍼 (다중 생산자 / 단일 소비자)]
+ * - 요청 스레드는 CAS로 슬롯만 확보하고 바로 리턴 (락 / 노드 할당 없음)
+ * - 슬롯별 시퀀스로 "쓰기 완료" 여부를 판단 (Disruptor / Vyukov bounded queue 방식)
+ * - 가득 차면 offer가 false → 호출자가 overflow 대기열로 넘김
+ */
+final class LogRingBuffer<T> {
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    // 생산자가 다음에 확보할 위치
+    private final AtomicLong tail = new AtomicLong();
+    // 소비자가 다음에 읽을 위치 (소비자 스레드만 변경)
+    private volatile long head;
+
+    LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    boolean offer(T value) {
+        long pos = tail.get();
+        while (true) {
+            int idx = (int) (pos & mask);
+            long diff = sequences.get(idx) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots[idx] = value;
+                    sequences.set(idx, pos + 1); // 쓰기 완료 공개
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false; // 가득 참
+            } else {
+                pos = tail.get(); // 다른 생산자가 먼저 확보
+            }
+        }
+    }
+
+    /**
+     * 쓰기가 끝난 항목을 최대 max개 꺼냄 (소비자 스레드 전용)
+     *
+     * @return 꺼낸 개수
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<T> out, int max) {
+        int n = 0;
+        long pos = head;
+        while (n < max) {
+            int idx = (int) (pos & mask);
+            if (sequences.get(idx) != pos + 1) break; // 아직 안 쓰였거나 비어 있음
+            out.add((T) slots[idx]);
+            slots[idx] = null;
+            sequences.set(idx, pos + slots.length); // 다음 바퀴 생산자에게 반납
+            pos++;
+            n++;
+        }
+        head = pos;
+        return n;
+    }
+}
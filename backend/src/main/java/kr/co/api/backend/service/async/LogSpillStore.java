@@ -0,0 +1,187 @@
+package kr.co.api.backend.service.async;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * [이력 로그 디스크 스필]
+ * - Redis 장애 or 링 버퍼 포화 시 이력 레코드를 로컬 append-only 파일에 보관
+ * - 레코드 구조: [length(4)][crc32(4)][payload]  (프로세스가 쓰다 죽은 꼬리 레코드는 CRC로 걸러냄)
+ * - 세그먼트 단위로 롤링 → Redis 복구 후 오래된 세그먼트부터 전송하고 삭제
+ */
+@Slf4j
+@Component
+public class LogSpillStore {
+
+    private static final String SEGMENT_PREFIX = "spill-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_SIZE = 4 + 4;
+
+    @Value("${flobank.history-log.spill.dir:./data/history-spill}")
+    private String spillDir;
+
+    @Value("${flobank.history-log.spill.segment-size-mb:16}")
+    private int segmentSizeMb;
+
+    private Path dir;
+    private long nextSegmentNo;
+
+    // 현재 쓰기 세그먼트 (this 로 보호)
+    private FileChannel writer;
+    private Path writerPath;
+    private long writerBytes;
+
+    private final AtomicLong pendingRecords = new AtomicLong();
+    private final AtomicLong spilledTotal = new AtomicLong();
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        dir = Paths.get(spillDir);
+        Files.createDirectories(dir);
+
+        // 이전 프로세스가 남긴 세그먼트는 그대로 두고 전송 대상으로 셈
+        long pending = 0;
+        for (Path segment : listSegments()) {
+            pending += readSegment(segment).size();
+            nextSegmentNo = Math.max(nextSegmentNo, segmentNo(segment) + 1);
+        }
+        pendingRecords.set(pending);
+        if (pending > 0) {
+            log.warn("⚠️ [History Spill] 미전송 이력 {}건이 디스크에 남아 있습니다. Redis 연결 후 전송합니다.", pending);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeWriter();
+    }
+
+    public boolean hasPending() {
+        return pendingRecords.get() > 0;
+    }
+
+    public long pendingCount() {
+        return pendingRecords.get();
+    }
+
+    /**
+     * 레코드 추가 후 fsync (요청 스레드 / 전송 스레드 공용)
+     */
+    public synchronized void append(List<byte[]> records) throws IOException {
+        if (records.isEmpty()) return;
+
+        int total = 0;
+        for (byte[] r : records) total += HEADER_SIZE + r.length;
+        if (writer == null || writerBytes + total > (long) segmentSizeMb * 1024 * 1024) {
+            rollWriter();
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(total);
+        CRC32 crc = new CRC32();
+        for (byte[] r : records) {
+            crc.reset();
+            crc.update(r);
+            buf.putInt(r.length).putInt((int) crc.getValue()).put(r);
+        }
+        buf.flip();
+        while (buf.hasRemaining()) writer.write(buf);
+        writer.force(false);
+
+        writerBytes += total;
+        pendingRecords.addAndGet(records.size());
+        spilledTotal.addAndGet(records.size());
+    }
+
+    /**
+     * 전송할 세그먼트 목록 (오래된 순)
+     * - 현재 쓰기 세그먼트는 닫아서 포함시키고, 이후 append는 새 세그먼트로
+     */
+    public synchronized List<Path> closeAndListSegments() throws IOException {
+        closeWriter();
+        return listSegments();
+    }
+
+    // 세그먼트 전체 읽기 (CRC 불일치 / 잘린 꼬리 레코드에서 중단)
+    public List<byte[]> readSegment(Path segment) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(segment));
+        CRC32 crc = new CRC32();
+        while (buf.remaining() >= HEADER_SIZE) {
+            int len = buf.getInt();
+            int expected = buf.getInt();
+            if (len < 0 || len > buf.remaining()) break;
+
+            byte[] payload = new byte[len];
+            buf.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != expected) {
+                log.error("❌ [History Spill] CRC 불일치. {} 의 나머지 레코드를 건너뜁니다.", segment.getFileName());
+                break;
+            }
+            records.add(payload);
+        }
+        return records;
+    }
+
+    // 전송 완료된 세그먼트 삭제
+    public void delete(Path segment, int recordCount) throws IOException {
+        Files.deleteIfExists(segment);
+        pendingRecords.addAndGet(-recordCount);
+    }
+
+    public long getSpilledTotal() {
+        return spilledTotal.get();
+    }
+
+    private void rollWriter() throws IOException {
+        closeWriter();
+        writerPath = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSegmentNo++, SEGMENT_SUFFIX));
+        writer = FileChannel.open(writerPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        writerBytes = 0;
+    }
+
+    private void closeWriter() {
+        if (writer == null) return;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("[History Spill] 세그먼트 닫기 실패 {} : {}", writerPath, e.getMessage());
+        }
+        writer = null;
+        writerPath = null;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long segmentNo(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
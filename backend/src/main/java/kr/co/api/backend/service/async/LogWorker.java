@@ -1,97 +1,429 @@
 package kr.co.api.backend.service.async;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.co.api.backend.service.async.HistoryLogWriter.Item;
+import kr.co.api.backend.service.async.event.HistoryLogCodec;
+import kr.co.api.backend.service.async.event.HistoryLogEvent;
 import lombok.extern.slf4j.Slf4j;
-import org.mybatis.spring.SqlSessionTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.PlatformTransactionManager;
-import org.springframework.transaction.TransactionStatus;
-import org.springframework.transaction.support.DefaultTransactionDefinition;
 
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * [이력 스트림 소비자]
+ * - Redis Stream + 소비자 그룹: 노드/스레드마다 consumer를 두고 XREADGROUP(BLOCK, COUNT)으로 나눠 받음
+ * - log_type별로 묶어서 JDBC Batch + 단일 Slave 트랜잭션으로 저장 → 커밋 후에 XACK (at-least-once)
+ * - 저장은 HistoryLogWriter가 eventId 기준으로 멱등 처리 (재배달된 레코드는 건너뛰고 ACK)
+ * - 배치가 실패하면 건별로 다시 저장해서 문제 건만 에러 큐(DLQ)로 보내고 ACK
+ * - 죽은 consumer가 ACK 못 한 pending 레코드는 일정 시간 후 XCLAIM으로 가져와 재처리
+ */
 @Slf4j
 @Component
 public class LogWorker {
 
     private final RedisTemplate<String, Object> redisTemplate;
-    private final SqlSessionTemplate slaveSqlSession;
-    private final PlatformTransactionManager slaveTransactionManager;
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final HistoryLogWriter historyLogWriter;
 
-    // 큐 이름 상수 정의
-    private static final String QUEUE_NAME = "history_queue";
-    private static final String ERROR_QUEUE_NAME = "history_queue:error";
+    // 이전 버전(List 큐) 키: 기동 시 남은 데이터를 스트림으로 이관
+    private static final String LEGACY_QUEUE_NAME = "history_queue";
+    // 한 번의 회수에서 훑을 XPENDING 페이지 상한 (batchSize × 이 값)
+    private static final int MAX_RECLAIM_PAGES = 100;
+    static final String ERROR_QUEUE_NAME = "history_queue:error";
+
+    // DLQ 항목에 바이너리 이벤트 원본을 담는 필드 (재처리 시 이벤트 객체로 복원)
+    static final String DLQ_PAYLOAD_FIELD = "payload";
+
+    // 이전 버전(JSON Map) payload 해석용
+    private final GenericJackson2JsonRedisSerializer legacySerializer = new GenericJackson2JsonRedisSerializer();
+
+    @Value("${flobank.history-log.consumers:2}")
+    private int consumerCount;
+
+    @Value("${flobank.history-log.batch-size:200}")
+    private int batchSize;
+
+    @Value("${flobank.history-log.block-timeout-ms:1000}")
+    private long blockTimeoutMs;
+
+    // 배포(서비스) 단위 소비자 그룹
+    @Value("${flobank.history-log.group:history-workers}")
+    private String group;
+
+    // 이 시간 넘게 ACK 안 된 pending 레코드는 죽은 consumer 것으로 보고 회수
+    @Value("${flobank.history-log.reclaim-idle-ms:60000}")
+    private long reclaimIdleMs;
+
+    // 이 횟수 넘게 배달됐는데도 ACK 못 한 레코드는 DLQ로
+    @Value("${flobank.history-log.max-deliveries:5}")
+    private long maxDeliveries;
+
+    private final String consumerPrefix = resolveConsumerPrefix();
+    private final List<Thread> consumers = new ArrayList<>();
+    private volatile boolean running;
+
+    // 메트릭
+    private final LongAdder drained = new LongAdder();
+    private final LongAdder saved = new LongAdder();
+    private final LongAdder duplicatesSkipped = new LongAdder();
+    private final LongAdder acked = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder reclaimed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchFallbacks = new LongAdder();
+    private volatile long lastBatchSize;
+    private volatile long streamLength;
+    private volatile long pendingCount;
+    private volatile long drainPerSec;
+    private long prevDrained;
 
     @Autowired
     public LogWorker(
             RedisTemplate<String, Object> redisTemplate,
-            @Qualifier("slaveSqlSessionTemplate") SqlSessionTemplate slaveSqlSession,
-            @Qualifier("slaveTransactionManager") PlatformTransactionManager slaveTransactionManager
+            @Qualifier("binaryRedisTemplate") RedisTemplate<String, byte[]> binaryRedisTemplate,
+            HistoryLogWriter historyLogWriter
     ) {
         this.redisTemplate = redisTemplate;
-        this.slaveSqlSession = slaveSqlSession;
-        this.slaveTransactionManager = slaveTransactionManager;
+        this.binaryRedisTemplate = binaryRedisTemplate;
+        this.historyLogWriter = historyLogWriter;
+    }
+
+    // XREADGROUP BLOCK으로 대기하므로 공용 스케줄러가 아닌 전용 스레드에서 소비
+    @PostConstruct
+    public void start() {
+        createGroup();
+        migrateLegacyQueue();
+
+        running = true;
+        for (int i = 0; i < Math.max(1, consumerCount); i++) {
+            Consumer consumer = Consumer.from(group, consumerPrefix + "-" + i);
+            Thread t = new Thread(() -> consumeLoop(consumer), "history-log-consumer-" + i);
+            t.setDaemon(true);
+            consumers.add(t);
+            t.start();
+        }
+        log.info(">>> [Async Worker] 이력 스트림 소비 시작 (group={}, consumer={}-*, threads={}, batchSize={})",
+                group, consumerPrefix, consumers.size(), batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Thread t : consumers) {
+            try {
+                // XREADGROUP 대기 중이면 타임아웃 후 종료
+                t.join(blockTimeoutMs + 5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info(">>> [Async Worker] 이력 스트림 소비 종료 (saved={}, dlq={})", saved.sum(), deadLettered.sum());
+    }
+
+    // 그룹이 없으면 생성 (스트림도 함께 생성, 이미 있으면 BUSYGROUP 무시)
+    private void createGroup() {
+        try {
+            stream().createGroup(LogProducer.STREAM_KEY, ReadOffset.from("0"), group);
+        } catch (Exception e) {
+            if (!String.valueOf(e.getMessage()).contains("BUSYGROUP")
+                    && !(e.getCause() != null && String.valueOf(e.getCause().getMessage()).contains("BUSYGROUP"))) {
+                log.warn("⚠️ [Async Worker] 소비자 그룹 생성 실패 (소비 중 재시도) : {}", e.getMessage());
+            }
+        }
+    }
+
+    // List 큐 시절에 쌓여 있던 이력을 스트림으로 옮김 (롤링 배포 1회성)
+    private void migrateLegacyQueue() {
+        try {
+            long moved = 0;
+            Object data;
+            while ((data = redisTemplate.opsForList().leftPop(LEGACY_QUEUE_NAME)) != null) {
+                stream().add(LogProducer.toRecord(legacySerializer.serialize(data)));
+                moved++;
+            }
+            if (moved > 0) log.info("[Async Worker] 기존 List 큐 이력 {}건을 스트림으로 이관했습니다.", moved);
+        } catch (Exception e) {
+            log.warn("⚠️ [Async Worker] 기존 List 큐 이관 실패 : {}", e.getMessage());
+        }
+    }
+
+    private void consumeLoop(Consumer consumer) {
+        while (running) {
+            try {
+                List<MapRecord<String, String, byte[]>> records = stream().read(
+                        consumer,
+                        StreamReadOptions.empty().count(batchSize).block(Duration.ofMillis(blockTimeoutMs)),
+                        StreamOffset.create(LogProducer.STREAM_KEY, ReadOffset.lastConsumed()));
+                if (records == null || records.isEmpty()) continue;
+
+                drained.add(records.size());
+                processBatch(records);
+            } catch (Exception e) {
+                // Redis 장애 / 그룹 유실(NOGROUP) 등: 그룹 재생성 시도 후 잠깐 쉬고 재시도
+                log.error("❌ [Async Worker] 스트림 소비 중 오류 : {}", e.getMessage());
+                createGroup();
+                sleepQuietly(1000);
+            }
+        }
     }
 
     /**
-     * 0.1초(100ms)마다 Redis 큐를 확인하여 이력 데이터 처리
-     * - Master DB 부하 없음 (Slave DB에만 Write)
+     * log_type별로 묶어서 한 트랜잭션에 JDBC Batch 저장 → 커밋 후 XACK
+     * - 바이너리 레코드는 이벤트 객체로 바로 디코딩해서 그대로 매퍼 파라미터로 사용
+     * - 이미 적용된 eventId는 저장하지 않고 ACK만
+     * - 실패 시 건별 저장으로 전환해 정상 건은 살리고 문제 건만 DLQ
      */
-    @Scheduled(fixedDelay = 100)
-    public void processQueue() {
-        // 1. Redis 큐(왼쪽)에서 데이터 꺼내기 (Pop)
-        Object data = redisTemplate.opsForList().leftPop(QUEUE_NAME);
+    private void processBatch(List<MapRecord<String, String, byte[]>> records) {
+        List<Decoded> batch = new ArrayList<>();
+        for (MapRecord<String, String, byte[]> record : records) {
+            Decoded decoded;
+            try {
+                decoded = decode(record);
+            } catch (Exception e) {
+                toDeadLetter(record.getId(), rawPayload(record), "디코딩 실패: " + e.getMessage());
+                continue;
+            }
+            if (!HistoryLogWriter.supports(decoded.item().logType())) {
+                log.warn("[Async Worker] 알 수 없는 로그 타입입니다: {}", decoded.item().logType());
+                toDeadLetter(decoded, "알 수 없는 로그 타입: " + decoded.item().logType());
+                continue;
+            }
+            batch.add(decoded);
+        }
+        if (batch.isEmpty()) return;
 
-        if (data != null) {
-            TransactionStatus status = null;
-            Map<String, Object> map = null;
+        int duplicates;
+        try {
+            duplicates = historyLogWriter.writeBatch(batch.stream().map(Decoded::item).toList());
+        } catch (Exception e) {
+            batchFallbacks.increment();
+            log.warn("⚠️ [Async Worker] 배치 저장 실패 ({}건). 건별 저장으로 재시도합니다 : {}", batch.size(), e.getMessage());
+            batch.forEach(this::saveOne);
+            return;
+        }
 
-            try {
-                // Slave 트랜잭션 시작
-                status = slaveTransactionManager.getTransaction(new DefaultTransactionDefinition());
-                map = (Map<String, Object>) data;
+        // Slave 커밋이 끝난 뒤에만 ACK (여기서 죽으면 pending으로 남아 재처리됨)
+        ack(batch.stream().map(Decoded::id).toArray(RecordId[]::new));
+        saved.add(batch.size() - duplicates);
+        duplicatesSkipped.add(duplicates);
+        batches.increment();
+        lastBatchSize = batch.size();
+        log.debug("[부하 분산 처리됨] 이력 {}건 Slave DB 배치 저장 완료 (중복 {}건 제외)", batch.size() - duplicates, duplicates);
+    }
 
-                String logType = (String) map.get("log_type");
+    private void saveOne(Decoded decoded) {
+        try {
+            if (historyLogWriter.writeOne(decoded.item())) saved.increment();
+            else duplicatesSkipped.increment();
+            ack(decoded.id());
+        } catch (Exception e) {
+            log.error("[처리 실패] DB 저장 중 오류 발생. 에러 큐(Dead Letter Queue)로 이동합니다 : {}", e.getMessage());
+            toDeadLetter(decoded, e.getMessage());
+        }
+    }
 
-                // 처리 시작 알림
-                log.info("[Async Worker] 큐에서 이력 데이터 수신. (Type: {})", logType);
+    /**
+     * payload 디코딩
+     * - 바이너리(HistoryLogCodec) → 이벤트 객체가 곧 매퍼 파라미터
+     * - 그 외(이전 버전 JSON Map) → Map 그대로 파라미터
+     */
+    @SuppressWarnings("unchecked")
+    private Decoded decode(MapRecord<String, String, byte[]> record) {
+        byte[] payload = rawPayload(record);
+        if (HistoryLogCodec.isBinary(payload)) {
+            HistoryLogEvent event = HistoryLogCodec.decode(payload);
+            return new Decoded(record.getId(),
+                    new Item(event.getLogType(), event.getEventId(), event), event.toLogMap(), payload);
+        }
+        Map<String, Object> map = (Map<String, Object>) legacySerializer.deserialize(payload);
+        if (map == null) throw new IllegalArgumentException("빈 payload");
+        return new Decoded(record.getId(), new Item((String) map.get("log_type"), null, map), map, null);
+    }
 
-                if ("EXCHANGE".equals(logType)) {
-                    // 환전 이력 저장
-                    slaveSqlSession.insert("kr.co.api.backend.mapper.OnlineExchangeMapper.insertOnlineExchange", map);
-                    log.info("[환전 이력] Slave DB 적재 중...");
+    private static byte[] rawPayload(MapRecord<String, String, byte[]> record) {
+        return record.getValue().get(LogProducer.PAYLOAD_FIELD);
+    }
 
-                } else if ("TRANSFER".equals(logType)) {
-                    // 이체 이력 저장 (CustTranHist 등)
-                    slaveSqlSession.insert("kr.co.api.backend.mapper.OnlineExchangeMapper.insertCustTranHist", map);
-                    log.info("[이체 이력] Slave DB 적재 중...");
+    private void toDeadLetter(Decoded decoded, String reason) {
+        Map<String, Object> entry = new LinkedHashMap<>(decoded.logMap());
+        // 바이너리 이벤트는 원본도 같이 보관 (HistoryDlqReplayer가 이벤트 객체/eventId 그대로 복원)
+        if (decoded.payload() != null) {
+            entry.put(DLQ_PAYLOAD_FIELD, Base64.getEncoder().encodeToString(decoded.payload()));
+        }
+        toDeadLetter(decoded.id(), entry, reason);
+    }
 
-                } else {
-                    log.warn("[Async Worker] 알 수 없는 로그 타입입니다: {}", logType);
-                }
+    // DLQ(List)에는 사람이 읽을 수 있는 Map(JSON)으로 보관 후 스트림에서는 ACK. DLQ 적재 실패 시 ACK 하지 않아 pending으로 남김
+    private void toDeadLetter(RecordId id, Object data, String reason) {
+        try {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            if (data instanceof Map<?, ?> map) {
+                map.forEach((k, v) -> entry.put(String.valueOf(k), v));
+            } else if (data instanceof byte[] bytes) {
+                entry.put("raw_payload", Base64.getEncoder().encodeToString(bytes));
+            }
+            entry.put("error_msg", reason);
+            redisTemplate.opsForList().rightPush(ERROR_QUEUE_NAME, entry);
+            deadLettered.increment();
+            ack(id);
+        } catch (Exception e) {
+            log.error("💀 [Async Worker] 에러 큐 적재 실패. pending으로 남겨 재시도합니다 : {}", e.getMessage());
+        }
+    }
 
-                // 커밋
-                slaveTransactionManager.commit(status);
+    private void ack(RecordId... ids) {
+        if (ids.length == 0) return;
+        stream().acknowledge(LogProducer.STREAM_KEY, group, ids);
+        acked.add(ids.length);
+    }
 
-                // [핵심 로그] 부하 분산 성공 메시지
-                log.info("[부하 분산 처리됨] Master DB를 거치지 않고 Slave DB에 저장 완료. (Master 부하 0%)");
+    private StreamOperations<String, String, byte[]> stream() {
+        return binaryRedisTemplate.opsForStream();
+    }
 
-            } catch (Exception e) {
-                // 실패 시 롤백 및 에러 큐로 이동 (DLQ 패턴)
-                if (status != null) slaveTransactionManager.rollback(status);
+    /**
+     * 죽은 consumer의 pending 레코드 회수 (10초마다)
+     * - reclaimIdleMs 넘게 ACK 안 된 레코드를 이 노드의 reclaim consumer로 XCLAIM 후 재처리
+     * - 배달 횟수가 maxDeliveries를 넘은 레코드는 poison으로 보고 DLQ
+     * - XPENDING은 batchSize씩 시작 ID를 넘겨 가며 끝까지 훑음 (앞쪽 레코드가 아직 idle이 아니어도 뒤쪽을 놓치지 않게)
+     */
+    @Scheduled(fixedDelay = 10000)
+    public void reclaimPending() {
+        try {
+            String from = "-";
+            for (int page = 0; page < MAX_RECLAIM_PAGES; page++) {
+                PendingMessages pending = stream().pending(
+                        LogProducer.STREAM_KEY, group, Range.rightUnbounded(Range.Bound.inclusive(from)), batchSize);
+                if (pending == null || pending.isEmpty()) return;
 
-                log.error("[처리 실패] DB 저장 중 오류 발생. 에러 큐(Dead Letter Queue)로 이동합니다 : {}", e.getMessage());
+                reclaimPage(pending);
+                if (pending.size() < batchSize) return;
 
-                if (map != null) {
-                    map.put("error_msg", e.getMessage());
-                    redisTemplate.opsForList().rightPush(ERROR_QUEUE_NAME, map);
-                } else {
-                    redisTemplate.opsForList().rightPush(ERROR_QUEUE_NAME, data);
+                // 다음 페이지는 이번 페이지 마지막 ID 바로 다음부터
+                RecordId last = pending.get(pending.size() - 1).getId();
+                from = last.getTimestamp() + "-" + (last.getSequence() + 1);
+            }
+        } catch (Exception e) {
+            log.error("❌ [Async Worker] pending 회수 실패 : {}", e.getMessage());
+        }
+    }
+
+    private void reclaimPage(PendingMessages pending) {
+        List<RecordId> stale = new ArrayList<>();
+        List<RecordId> poison = new ArrayList<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().toMillis() < reclaimIdleMs) continue;
+            if (message.getTotalDeliveryCount() >= maxDeliveries) poison.add(message.getId());
+            else stale.add(message.getId());
+        }
+        if (stale.isEmpty() && poison.isEmpty()) return;
+
+        String reclaimer = consumerPrefix + "-reclaim";
+        Duration minIdle = Duration.ofMillis(reclaimIdleMs);
+
+        if (!poison.isEmpty()) {
+            for (MapRecord<String, String, byte[]> record : stream().claim(
+                    LogProducer.STREAM_KEY, group, reclaimer, minIdle, poison.toArray(new RecordId[0]))) {
+                String reason = "최대 재처리 횟수 초과 (" + maxDeliveries + "회)";
+                try {
+                    toDeadLetter(decode(record), reason);
+                } catch (Exception e) {
+                    toDeadLetter(record.getId(), rawPayload(record), reason);
                 }
             }
         }
+        if (!stale.isEmpty()) {
+            List<MapRecord<String, String, byte[]>> records = stream().claim(
+                    LogProducer.STREAM_KEY, group, reclaimer, minIdle, stale.toArray(new RecordId[0]));
+            if (!records.isEmpty()) {
+                reclaimed.add(records.size());
+                log.warn("♻️ [Async Worker] 미처리(pending) 이력 {}건 회수 후 재처리합니다.", records.size());
+                processBatch(records);
+            }
+        }
+    }
+
+    // 디코딩 결과 (item = 저장 단위, logMap/payload = DLQ 보관용, payload는 바이너리 레코드만)
+    private record Decoded(RecordId id, Item item, Map<String, Object> logMap, byte[] payload) {
+    }
+
+    private static String resolveConsumerPrefix() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+
+    // 1초마다 큐 깊이 / 처리량 갱신
+    @Scheduled(fixedRate = 1000)
+    public void tick() {
+        long now = drained.sum();
+        drainPerSec = now - prevDrained;
+        prevDrained = now;
+        try {
+            Long size = stream().size(LogProducer.STREAM_KEY);
+            streamLength = size != null ? size : 0;
+            PendingMessagesSummary summary = stream().pending(LogProducer.STREAM_KEY, group);
+            pendingCount = summary != null ? summary.getTotalPendingMessages() : 0;
+        } catch (Exception e) {
+            streamLength = -1;
+            pendingCount = -1;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("group", group);
+        stats.put("consumers", consumers.size());
+        stats.put("batchSize", batchSize);
+        stats.put("streamLength", streamLength);
+        stats.put("pending", pendingCount);
+        stats.put("drainPerSec", drainPerSec);
+        stats.put("drained", drained.sum());
+        stats.put("saved", saved.sum());
+        stats.put("duplicatesSkipped", duplicatesSkipped.sum());
+        stats.put("acked", acked.sum());
+        stats.put("reclaimed", reclaimed.sum());
+        stats.put("deadLettered", deadLettered.sum());
+        stats.put("batches", batches.sum());
+        stats.put("batchFallbacks", batchFallbacks.sum());
+        stats.put("lastBatchSize", lastBatchSize);
+        return stats;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
-}
\ No newline at end of file
+}
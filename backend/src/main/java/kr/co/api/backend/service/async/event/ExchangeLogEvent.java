@@ -0,0 +1,82 @@
+package kr.co.api.backend.service.async.event;
+
+import kr.co.api.backend.dto.FrgnExchOnlineDTO;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * [환전 이력 이벤트] → OnlineExchangeMapper.insertOnlineExchange
+ * - FrgnExchOnlineDTO에서 insert에 쓰는 컬럼만 보관
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ExchangeLogEvent implements HistoryLogEvent {
+
+    public static final String LOG_TYPE = "EXCHANGE";
+
+    // 멱등 키 (LogProducer가 부여)
+    @Setter
+    private String eventId;
+
+    private final String exchCustCode;
+    private final String exchKrwAcctNo;
+    private final String exchFrgnAcctNo;
+    private final String exchFrgnBalNo;
+    private final String exchType;
+    private final String exchFromCurrency;
+    private final String exchToCurrency;
+    private final Long exchKrwAmount;
+    private final Long exchFrgnAmount;
+    private final Double exchAppliedRate;
+    private final Integer exchStatus;
+    private final LocalDate exchReqDt;
+
+    public static ExchangeLogEvent from(FrgnExchOnlineDTO dto) {
+        return new ExchangeLogEvent(
+                dto.getExchCustCode(),
+                dto.getExchKrwAcctNo(),
+                dto.getExchFrgnAcctNo(),
+                dto.getExchFrgnBalNo(),
+                dto.getExchType(),
+                dto.getExchFromCurrency(),
+                dto.getExchToCurrency(),
+                dto.getExchKrwAmount(),
+                dto.getExchFrgnAmount(),
+                dto.getExchAppliedRate(),
+                dto.getExchStatus(),
+                dto.getExchReqDt()
+        );
+    }
+
+    @Override
+    public String getLogType() {
+        return LOG_TYPE;
+    }
+
+    @Override
+    public Map<String, Object> toLogMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("log_type", LOG_TYPE);
+        map.put("eventId", eventId);
+        map.put("exchCustCode", exchCustCode);
+        map.put("exchKrwAcctNo", exchKrwAcctNo);
+        map.put("exchFrgnAcctNo", exchFrgnAcctNo);
+        map.put("exchFrgnBalNo", exchFrgnBalNo);
+        map.put("exchType", exchType);
+        map.put("exchFromCurrency", exchFromCurrency);
+        map.put("exchToCurrency", exchToCurrency);
+        map.put("exchKrwAmount", exchKrwAmount);
+        map.put("exchFrgnAmount", exchFrgnAmount);
+        map.put("exchAppliedRate", exchAppliedRate);
+        map.put("exchStatus", exchStatus);
+        map.put("exchReqDt", exchReqDt == null ? null : exchReqDt.toString());
+        return map;
+    }
+}
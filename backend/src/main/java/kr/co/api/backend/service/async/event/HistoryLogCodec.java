@@ -0,0 +1,299 @@
+package kr.co.api.backend.service.async.event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * [이력 이벤트 바이너리 코덱]
+ * - 구조: [magic(1)][version(1)][type(1)][eventId(1 + 16)][null 비트맵(varint)][필드...]
+ *   · eventId: 있음 여부 1바이트 + UUID 128비트 (v2부터, v1 레코드는 eventId 없음)
+ *   · 문자열 : varint 길이 + UTF-8
+ *   · 정수   : zigzag varint
+ *   · 실수   : 8바이트 (IEEE 754)
+ *   · 날짜   : epochDay zigzag varint
+ *   · null 필드는 비트맵에만 표시하고 본문에서 생략
+ * - 클래스 메타데이터가 붙는 JSON(Map) 대비 레코드 크기가 수 배 작음
+ * - 인코딩 버퍼는 스레드별로 재사용 (결과 byte[] 1개만 할당)
+ * - 필드를 추가할 때는 VERSION을 올리고 decode에서 이전 버전도 읽도록 유지
+ */
+public final class HistoryLogCodec {
+
+    // JSON('{' = 0x7B)과 구분되는 첫 바이트
+    public static final byte MAGIC = (byte) 0xB1;
+    public static final byte VERSION = 2;
+
+    private static final byte TYPE_TRANSFER = 1;
+    private static final byte TYPE_EXCHANGE = 2;
+
+    private static final ThreadLocal<Writer> WRITERS = ThreadLocal.withInitial(() -> new Writer(256));
+
+    private HistoryLogCodec() {
+    }
+
+    public static boolean isBinary(byte[] bytes) {
+        return bytes != null && bytes.length >= 3 && bytes[0] == MAGIC;
+    }
+
+    public static byte[] encode(HistoryLogEvent event) {
+        Writer w = WRITERS.get();
+        w.reset();
+        w.writeByte(MAGIC);
+        w.writeByte(VERSION);
+
+        if (event instanceof TransferLogEvent e) {
+            w.writeByte(TYPE_TRANSFER);
+            w.writeUuid(e.getEventId());
+            w.writeVarLong(nullBits(e.getAcctNo(), e.getCustName(), e.getAmount(), e.getRecAcctNo(), e.getMemo()));
+            w.writeString(e.getAcctNo());
+            w.writeString(e.getCustName());
+            w.writeZigZag(e.getTranType());
+            if (e.getAmount() != null) w.writeZigZag(e.getAmount());
+            w.writeString(e.getRecAcctNo());
+            w.writeString(e.getMemo());
+
+        } else if (event instanceof ExchangeLogEvent e) {
+            w.writeByte(TYPE_EXCHANGE);
+            w.writeUuid(e.getEventId());
+            w.writeVarLong(nullBits(e.getExchCustCode(), e.getExchKrwAcctNo(), e.getExchFrgnAcctNo(),
+                    e.getExchFrgnBalNo(), e.getExchType(), e.getExchFromCurrency(), e.getExchToCurrency(),
+                    e.getExchKrwAmount(), e.getExchFrgnAmount(), e.getExchAppliedRate(), e.getExchStatus(),
+                    e.getExchReqDt()));
+            w.writeString(e.getExchCustCode());
+            w.writeString(e.getExchKrwAcctNo());
+            w.writeString(e.getExchFrgnAcctNo());
+            w.writeString(e.getExchFrgnBalNo());
+            w.writeString(e.getExchType());
+            w.writeString(e.getExchFromCurrency());
+            w.writeString(e.getExchToCurrency());
+            if (e.getExchKrwAmount() != null) w.writeZigZag(e.getExchKrwAmount());
+            if (e.getExchFrgnAmount() != null) w.writeZigZag(e.getExchFrgnAmount());
+            if (e.getExchAppliedRate() != null) w.writeDouble(e.getExchAppliedRate());
+            if (e.getExchStatus() != null) w.writeZigZag(e.getExchStatus());
+            if (e.getExchReqDt() != null) w.writeZigZag(e.getExchReqDt().toEpochDay());
+
+        } else {
+            throw new IllegalArgumentException("지원하지 않는 이력 이벤트: " + event.getClass().getName());
+        }
+        return w.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException 바이너리 레코드가 아님 / 지원하지 않는 버전·타입 / 잘린 레코드
+     */
+    public static HistoryLogEvent decode(byte[] bytes) {
+        if (!isBinary(bytes)) throw new IllegalArgumentException("바이너리 이력 레코드가 아닙니다.");
+        try {
+            return decode(new Reader(bytes, 1));
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘린 이력 레코드입니다. (" + bytes.length + " bytes)", e);
+        }
+    }
+
+    private static HistoryLogEvent decode(Reader r) {
+        int version = r.readByte();
+        if (version < 1 || version > VERSION) throw new IllegalArgumentException("지원하지 않는 이력 코덱 버전: " + version);
+
+        int type = r.readByte();
+        String eventId = version >= 2 ? r.readUuid() : null;
+        long nulls = r.readVarLong();
+        HistoryLogEvent event = switch (type) {
+            case TYPE_TRANSFER -> new TransferLogEvent(
+                    r.readString(nulls, 0),
+                    r.readString(nulls, 1),
+                    (int) r.readZigZag(),
+                    r.isNull(nulls, 2) ? null : r.readZigZag(),
+                    r.readString(nulls, 3),
+                    r.readString(nulls, 4));
+            case TYPE_EXCHANGE -> new ExchangeLogEvent(
+                    r.readString(nulls, 0),
+                    r.readString(nulls, 1),
+                    r.readString(nulls, 2),
+                    r.readString(nulls, 3),
+                    r.readString(nulls, 4),
+                    r.readString(nulls, 5),
+                    r.readString(nulls, 6),
+                    r.isNull(nulls, 7) ? null : r.readZigZag(),
+                    r.isNull(nulls, 8) ? null : r.readZigZag(),
+                    r.isNull(nulls, 9) ? null : r.readDouble(),
+                    r.isNull(nulls, 10) ? null : (int) r.readZigZag(),
+                    r.isNull(nulls, 11) ? null : LocalDate.ofEpochDay(r.readZigZag()));
+            default -> throw new IllegalArgumentException("알 수 없는 이력 타입: " + type);
+        };
+        event.setEventId(eventId);
+        return event;
+    }
+
+    // i번째 값이 null이면 i번째 비트 1
+    private static long nullBits(Object... values) {
+        long bits = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) bits |= 1L << i;
+        }
+        return bits;
+    }
+
+    private static final class Writer {
+        private byte[] buf;
+        private int pos;
+
+        Writer(int initial) {
+            this.buf = new byte[initial];
+        }
+
+        void reset() {
+            pos = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private void ensure(int n) {
+            if (pos + n > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        void writeVarLong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void writeZigZag(long v) {
+            writeVarLong((v << 1) ^ (v >> 63));
+        }
+
+        // UUID 문자열 → 16바이트 (UUID 형식이 아니면 예외)
+        void writeUuid(String id) {
+            if (id == null) {
+                writeByte(0);
+                return;
+            }
+            UUID uuid = UUID.fromString(id);
+            writeByte(1);
+            writeLong(uuid.getMostSignificantBits());
+            writeLong(uuid.getLeastSignificantBits());
+        }
+
+        void writeLong(long v) {
+            ensure(8);
+            for (int i = 7; i >= 0; i--) buf[pos++] = (byte) (v >>> (i * 8));
+        }
+
+        void writeDouble(double d) {
+            writeLong(Double.doubleToRawLongBits(d));
+        }
+
+        // null이면 아무것도 안 씀 (비트맵으로 표시됨). String.getBytes 없이 버퍼에 바로 UTF-8 인코딩
+        // 짝 없는 surrogate는 '?'로 (String.getBytes와 동일)
+        void writeString(String s) {
+            if (s == null) return;
+            int len = s.length();
+            int utf8Len = 0;
+            for (int i = 0; i < len; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) utf8Len++;
+                else if (c < 0x800) utf8Len += 2;
+                else if (!Character.isSurrogate(c)) utf8Len += 3;
+                else if (isPair(s, i)) {
+                    utf8Len += 4;
+                    i++;
+                } else utf8Len++;
+            }
+            writeVarLong(utf8Len);
+            ensure(utf8Len);
+            for (int i = 0; i < len; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    buf[pos++] = (byte) c;
+                } else if (c < 0x800) {
+                    buf[pos++] = (byte) (0xC0 | (c >> 6));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                } else if (!Character.isSurrogate(c)) {
+                    buf[pos++] = (byte) (0xE0 | (c >> 12));
+                    buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                } else if (isPair(s, i)) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    buf[pos++] = (byte) '?';
+                }
+            }
+        }
+
+        private static boolean isPair(String s, int i) {
+            return Character.isHighSurrogate(s.charAt(i)) && i + 1 < s.length()
+                    && Character.isLowSurrogate(s.charAt(i + 1));
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        int readByte() {
+            return buf[pos++];
+        }
+
+        boolean isNull(long nulls, int idx) {
+            return (nulls & (1L << idx)) != 0;
+        }
+
+        long readVarLong() {
+            long v = 0;
+            int shift = 0;
+            while (true) {
+                byte b = buf[pos++];
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+                shift += 7;
+            }
+        }
+
+        long readZigZag() {
+            long v = readVarLong();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        long readLong() {
+            long v = 0;
+            for (int i = 0; i < 8; i++) v = (v << 8) | (buf[pos++] & 0xFF);
+            return v;
+        }
+
+        double readDouble() {
+            return Double.longBitsToDouble(readLong());
+        }
+
+        String readUuid() {
+            if (readByte() == 0) return null;
+            return new UUID(readLong(), readLong()).toString();
+        }
+
+        String readString(long nulls, int idx) {
+            if (isNull(nulls, idx)) return null;
+            int len = (int) readVarLong();
+            String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return s;
+        }
+    }
+}
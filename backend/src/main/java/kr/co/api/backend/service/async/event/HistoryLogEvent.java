@@ -0,0 +1,21 @@
+package kr.co.api.backend.service.async.event;
+
+import java.util.Map;
+
+/**
+ * [비동기 이력 이벤트]
+ * - 이벤트 객체가 그대로 Slave insert 매퍼 파라미터로 쓰이도록 getter 이름을 매퍼 XML의 #{...}와 맞춤
+ */
+public interface HistoryLogEvent {
+
+    // 멱등 키 (LogProducer가 전송 시 UUID 부여, Slave 적용 시 중복 제거 기준)
+    String getEventId();
+
+    void setEventId(String eventId);
+
+    // 기존 Map 이력의 log_type 값 (EXCHANGE / TRANSFER)
+    String getLogType();
+
+    // DLQ 등 사람이 읽는 용도의 Map 표현 (log_type 포함)
+    Map<String, Object> toLogMap();
+}
@@ -0,0 +1,56 @@
+package kr.co.api.backend.service.async.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * [이체 이력 이벤트] → OnlineExchangeMapper.insertCustTranHist
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class TransferLogEvent implements HistoryLogEvent {
+
+    public static final String LOG_TYPE = "TRANSFER";
+
+    // 멱등 키 (LogProducer가 부여)
+    @Setter
+    private String eventId;
+
+    private final String acctNo;
+    private final String custName;
+    private final int tranType;      // 1:입금, 2:출금
+    private final Long amount;
+    private final String recAcctNo;
+    private final String memo;
+
+    // insertCustTranHist와 같은 인자 순서
+    public static TransferLogEvent of(String acctNo, String custName, int tranType,
+                                      Long amount, String recAcctNo, String memo) {
+        return new TransferLogEvent(acctNo, custName, tranType, amount, recAcctNo, memo);
+    }
+
+    @Override
+    public String getLogType() {
+        return LOG_TYPE;
+    }
+
+    @Override
+    public Map<String, Object> toLogMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("log_type", LOG_TYPE);
+        map.put("eventId", eventId);
+        map.put("acctNo", acctNo);
+        map.put("custName", custName);
+        map.put("tranType", tranType);
+        map.put("amount", amount);
+        map.put("recAcctNo", recAcctNo);
+        map.put("memo", memo);
+        return map;
+    }
+}
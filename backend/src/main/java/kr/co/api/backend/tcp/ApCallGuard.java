@@ -0,0 +1,102 @@
+package kr.co.api.backend.tcp;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * [AP 요청 코드별 보호 장치 관리]
+ * - 코드마다 ApCodeGuard(격벽/서킷/적응형 타임아웃)를 처음 쓸 때 생성
+ * - 동시 요청 한도는 코드별로 flobank.ap.guard.codes.{코드}.max-concurrent 로 지정 (없으면 기본값)
+ *   다중화(비동기) 경로 한도는 .async-max-concurrent (동기 커넥션 풀 크기와 무관)
+ */
+@Component
+public class ApCallGuard {
+
+    private static final String CODE_PROPERTY_PREFIX = "flobank.ap.guard.codes.";
+
+    private final Environment environment;
+    private final Map<String, ApCodeGuard> guards = new ConcurrentHashMap<>();
+
+    @Value("${flobank.ap.guard.max-concurrent:5}")
+    private int defaultMaxConcurrent;
+
+    @Value("${flobank.ap.guard.async-max-concurrent:500}")
+    private int defaultAsyncMaxConcurrent;
+
+    // 격벽 자리가 없을 때 잠깐 기다려 볼 시간 (0이면 바로 거절)
+    @Value("${flobank.ap.guard.bulkhead-wait-ms:50}")
+    private long bulkheadWaitMs;
+
+    @Value("${flobank.ap.guard.slow-call-ms:3000}")
+    private long slowCallMs;
+
+    @Value("${flobank.ap.guard.window-size:20}")
+    private int windowSize;
+
+    @Value("${flobank.ap.guard.min-calls:10}")
+    private int minCalls;
+
+    @Value("${flobank.ap.guard.failure-rate-percent:50}")
+    private int failureRatePercent;
+
+    @Value("${flobank.ap.guard.open-cooldown-ms:10000}")
+    private long openCooldownMs;
+
+    // 타임아웃 = clamp(최근 p99 × multiplier, min, max). 표본이 min-samples 미만이면 직전 값 유지
+    @Value("${flobank.ap.guard.timeout.min-ms:500}")
+    private long minTimeoutMs;
+
+    @Value("${flobank.ap.guard.timeout.max-ms:5000}")
+    private long maxTimeoutMs;
+
+    @Value("${flobank.ap.guard.timeout.multiplier:3.0}")
+    private double timeoutMultiplier;
+
+    @Value("${flobank.ap.guard.timeout.min-samples:50}")
+    private int timeoutMinSamples;
+
+    public ApCallGuard(Environment environment) {
+        this.environment = environment;
+    }
+
+    public ApCodeGuard forCode(String requestCode) {
+        return guards.computeIfAbsent(requestCode, this::create);
+    }
+
+    private ApCodeGuard create(String code) {
+        int maxConcurrent = environment.getProperty(
+                CODE_PROPERTY_PREFIX + code + ".max-concurrent", Integer.class, defaultMaxConcurrent);
+        int asyncMaxConcurrent = environment.getProperty(
+                CODE_PROPERTY_PREFIX + code + ".async-max-concurrent", Integer.class, defaultAsyncMaxConcurrent);
+        return new ApCodeGuard(code, maxConcurrent, asyncMaxConcurrent, bulkheadWaitMs, slowCallMs,
+                windowSize, minCalls, failureRatePercent, openCooldownMs, maxTimeoutMs);
+    }
+
+    // 30초마다 코드별 타임아웃 재계산
+    @Scheduled(fixedRateString = "${flobank.ap.guard.timeout.adapt-interval-ms:30000}")
+    public void adaptTimeouts() {
+        for (ApCodeGuard guard : guards.values()) {
+            guard.adaptTimeout(timeoutMinSamples, timeoutMultiplier, minTimeoutMs, maxTimeoutMs);
+        }
+    }
+
+    // 코드별 지연/에러/차단 현황 (요청 수 내림차순, 같으면 코드순)
+    public List<Map<String, Object>> getStats() {
+        List<ApCodeGuard> sorted = new ArrayList<>(guards.values());
+        sorted.sort(Comparator.comparing(ApCodeGuard::getCode));
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (ApCodeGuard guard : sorted) {
+            stats.add(guard.getStats());
+        }
+        stats.sort(Comparator.comparingLong(m -> -((Long) m.get("calls"))));
+        return stats;
+    }
+}
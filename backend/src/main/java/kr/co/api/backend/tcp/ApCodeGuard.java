@@ -0,0 +1,257 @@
+package kr.co.api.backend.tcp;
+
+import kr.co.api.backend.util.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [AP 요청 코드 1개의 격벽 + 서킷 브레이커 + 적응형 타임아웃]
+ * - 격벽: 코드별 동시 요청 수 제한 → 느린 코드가 커넥션 풀/스레드를 다 차지하지 못하게
+ *   동기(커넥션 풀)와 다중화(비동기) 경로는 자원이 달라 한도도 따로 (다중화 쪽은 연결이 아니라 응답 대기 건수)
+ * - 서킷: 최근 windowSize건 중 실패(에러/느린 응답) 비율이 임계치 이상이면 OPEN → 즉시 실패
+ *   cooldown 후 시험 호출 1건만 통과(HALF_OPEN), 성공하면 CLOSED, 실패하면 다시 OPEN
+ * - 타임아웃: 주기마다 최근 구간 p99 × 배수를 [min, max]로 잘라 다음 구간 타임아웃으로 사용
+ */
+@Slf4j
+public class ApCodeGuard {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // TRIAL = HALF_OPEN 시험 호출로 통과 (이 호출의 결과만 서킷 전환을 결정)
+    public enum Admission {
+        ADMITTED, TRIAL, BULKHEAD_FULL, CIRCUIT_OPEN;
+
+        public boolean isAdmitted() {
+            return this == ADMITTED || this == TRIAL;
+        }
+    }
+
+    private final String code;
+    private final int maxConcurrent;
+    private final Semaphore bulkhead;
+    private final int asyncMaxConcurrent;
+    private final Semaphore asyncBulkhead;
+    private final long bulkheadWaitMs;
+    private final long slowCallMs;
+    private final int minCalls;
+    private final int failureRatePercent;
+    private final long openCooldownMs;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private volatile long openedAt;
+
+    // 최근 결과 윈도우 (onResult 안에서만 변경, true = 실패)
+    private final boolean[] window;
+    private int windowIdx;
+    private int windowCalls;
+    private int windowFailures;
+
+    // 누적 지연(통계용) / 최근 구간 지연(타임아웃 계산용)
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram recent = new LatencyHistogram();
+    private volatile long timeoutMs;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder slowCalls = new LongAdder();
+    private final LongAdder rejectedBulkhead = new LongAdder();
+    private final LongAdder rejectedCircuit = new LongAdder();
+    private final LongAdder circuitOpens = new LongAdder();
+
+    public ApCodeGuard(String code, int maxConcurrent, int asyncMaxConcurrent, long bulkheadWaitMs, long slowCallMs,
+                       int windowSize, int minCalls, int failureRatePercent, long openCooldownMs,
+                       long initialTimeoutMs) {
+        this.code = code;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.bulkhead = new Semaphore(this.maxConcurrent);
+        this.asyncMaxConcurrent = Math.max(1, asyncMaxConcurrent);
+        this.asyncBulkhead = new Semaphore(this.asyncMaxConcurrent);
+        this.bulkheadWaitMs = bulkheadWaitMs;
+        this.slowCallMs = slowCallMs;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minCalls = minCalls;
+        this.failureRatePercent = failureRatePercent;
+        this.openCooldownMs = openCooldownMs;
+        this.timeoutMs = initialTimeoutMs;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    // 이번 요청에 쓸 응답 대기 시간 (ms)
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * 동기 게이트웨이 요청 진입 (isAdmitted()면 받은 Admission으로 반드시 exit 호출)
+     */
+    public Admission tryEnter() {
+        return tryEnter(bulkhead, bulkheadWaitMs);
+    }
+
+    // 자리 대기 시간을 직접 지정 (일괄 요청)
+    public Admission tryEnter(long waitMs) {
+        return tryEnter(bulkhead, waitMs);
+    }
+
+    /**
+     * 다중화 요청 진입 (isAdmitted()면 받은 Admission으로 반드시 exitAsync 호출)
+     *
+     * @param waitMs 자리가 없을 때 기다릴 시간 (음수면 기본 bulkhead-wait-ms)
+     */
+    public Admission tryEnterAsync(long waitMs) {
+        return tryEnter(asyncBulkhead, waitMs < 0 ? bulkheadWaitMs : waitMs);
+    }
+
+    private Admission tryEnter(Semaphore permits, long waitMs) {
+        boolean trial = false;
+        State current = state.get();
+        if (current == State.OPEN) {
+            // 쿨다운이 끝났으면 시험 호출 1건만 통과
+            if (System.currentTimeMillis() - openedAt < openCooldownMs
+                    || !state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                rejectedCircuit.increment();
+                return Admission.CIRCUIT_OPEN;
+            }
+            trial = true;
+            log.info("[AP HALF-OPEN] {} 시험 요청을 보냅니다.", code);
+        } else if (current == State.HALF_OPEN) {
+            // 시험 호출 결과가 나올 때까지 나머지는 차단
+            rejectedCircuit.increment();
+            return Admission.CIRCUIT_OPEN;
+        }
+
+        boolean acquired;
+        try {
+            acquired = waitMs <= 0
+                    ? permits.tryAcquire()
+                    : permits.tryAcquire(waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            // 시험 호출 자리를 못 얻었으면 OPEN으로 되돌려 다음 요청이 다시 시험
+            if (trial) state.compareAndSet(State.HALF_OPEN, State.OPEN);
+            rejectedBulkhead.increment();
+            return Admission.BULKHEAD_FULL;
+        }
+        return trial ? Admission.TRIAL : Admission.ADMITTED;
+    }
+
+    /**
+     * 요청 종료 (격벽 반환 + 결과 기록)
+     *
+     * @param admission tryEnter가 돌려준 값 (TRIAL인지 구분용)
+     * @param success   AP 통신 성공 + ERROR 응답 아님
+     */
+    public void exit(Admission admission, boolean success, long elapsedNanos) {
+        bulkhead.release();
+        record(admission == Admission.TRIAL, success, elapsedNanos);
+    }
+
+    public void exitAsync(Admission admission, boolean success, long elapsedNanos) {
+        asyncBulkhead.release();
+        record(admission == Admission.TRIAL, success, elapsedNanos);
+    }
+
+    private void record(boolean trial, boolean success, long elapsedNanos) {
+        calls.increment();
+        latency.recordNanos(elapsedNanos);
+        recent.recordNanos(elapsedNanos);
+
+        boolean slow = elapsedNanos / 1_000_000 > slowCallMs;
+        if (!success) errors.increment();
+        if (slow) slowCalls.increment();
+        onResult(trial, success && !slow);
+    }
+
+    private synchronized void onResult(boolean trial, boolean ok) {
+        State current = state.get();
+        if (trial) {
+            // OPEN → HALF_OPEN CAS를 이긴 시험 호출만 전환을 결정
+            if (current != State.HALF_OPEN) return;
+            if (ok) {
+                resetWindow();
+                state.set(State.CLOSED);
+                log.info("✅ [AP RECOVERY] {} 시험 요청 성공. 서킷을 닫습니다.", code);
+            } else {
+                open("시험 요청 실패");
+            }
+            return;
+        }
+        // OPEN / HALF_OPEN 중에 끝난 (열리기 전에 나간) 요청 결과는 반영하지 않음
+        if (current != State.CLOSED) return;
+
+        if (windowCalls == window.length) {
+            if (window[windowIdx]) windowFailures--;
+        } else {
+            windowCalls++;
+        }
+        window[windowIdx] = !ok;
+        if (!ok) windowFailures++;
+        windowIdx = (windowIdx + 1) % window.length;
+
+        if (windowCalls >= minCalls && windowFailures * 100 >= failureRatePercent * windowCalls) {
+            open("최근 " + windowCalls + "건 중 " + windowFailures + "건 실패/지연");
+        }
+    }
+
+    private void open(String reason) {
+        openedAt = System.currentTimeMillis();
+        state.set(State.OPEN);
+        circuitOpens.increment();
+        resetWindow();
+        log.error("🚨 [AP CIRCUIT OPEN] {} 요청을 {}ms 동안 차단합니다. ({})", code, openCooldownMs, reason);
+    }
+
+    private void resetWindow() {
+        for (int i = 0; i < window.length; i++) window[i] = false;
+        windowIdx = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+
+    /**
+     * 최근 구간 p99로 타임아웃 재계산 후 구간 초기화 (표본이 적으면 유지)
+     */
+    void adaptTimeout(int minSamples, double multiplier, long minTimeoutMs, long maxTimeoutMs) {
+        if (recent.getCount() >= minSamples) {
+            long p99Ms = recent.percentileMicros(99) / 1_000;
+            long next = (long) (p99Ms * multiplier);
+            timeoutMs = Math.max(minTimeoutMs, Math.min(maxTimeoutMs, next));
+        }
+        recent.reset();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("code", code);
+        stats.put("state", state.get().name());
+        stats.put("timeoutMs", timeoutMs);
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("inFlight", maxConcurrent - bulkhead.availablePermits());
+        stats.put("asyncMaxConcurrent", asyncMaxConcurrent);
+        stats.put("asyncInFlight", asyncMaxConcurrent - asyncBulkhead.availablePermits());
+        stats.put("calls", calls.sum());
+        stats.put("errors", errors.sum());
+        stats.put("slowCalls", slowCalls.sum());
+        stats.put("rejectedBulkhead", rejectedBulkhead.sum());
+        stats.put("rejectedCircuit", rejectedCircuit.sum());
+        stats.put("circuitOpens", circuitOpens.sum());
+        stats.put("latency", latency.summary());
+        return stats;
+    }
+}
@@ -0,0 +1,171 @@
+package kr.co.api.backend.tcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import kr.co.api.backend.dto.ApRequestDTO;
+import kr.co.api.backend.dto.ApResponseDTO;
+import org.springframework.integration.ip.tcp.serializer.AbstractByteArraySerializer;
+import org.springframework.integration.ip.tcp.serializer.ByteArrayLengthHeaderSerializer;
+import org.springframework.integration.ip.tcp.serializer.ByteArrayLfSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * [AP 메시지 변환/프레이밍 벤치마크] (관리자 수동 실행)
+ * - 변환: 기존 경로(valueToTree → String → byte[], byte[] → String → DTO) vs ApMessageCodec
+ * - 프레이밍: 줄바꿈 구분(LF) vs 4바이트 길이 헤더 수신 시간
+ * - 같은 JVM/데이터로 연달아 돌리므로 절대값보다 두 경로의 비율을 볼 것
+ */
+@Component
+public class ApCodecBenchmark {
+
+    private static final int MAX_ITERATIONS = 100_000;
+    private static final int MAX_ROWS = 500;
+    // 프레이밍 측정용으로 미리 이어 붙이는 스트림 상한 (응답이 크면 반복 횟수를 줄임)
+    private static final long MAX_FRAMING_BYTES = 64L * 1024 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final ApMessageCodec apMessageCodec;
+
+    public ApCodecBenchmark(ObjectMapper objectMapper, ApMessageCodec apMessageCodec) {
+        this.objectMapper = objectMapper;
+        this.apMessageCodec = apMessageCodec;
+    }
+
+    /**
+     * @param iterations 경로별 반복 횟수 (앞의 1/5은 워밍업으로 버림)
+     * @param rows       샘플 응답 data 행 수 (응답 크기 조절)
+     */
+    public Map<String, Object> run(int iterations, int rows) throws IOException {
+        if (iterations < 1 || iterations > MAX_ITERATIONS) {
+            throw new IllegalArgumentException("iterations는 1~" + MAX_ITERATIONS + " 사이여야 합니다.");
+        }
+        if (rows < 1 || rows > MAX_ROWS) {
+            throw new IllegalArgumentException("rows는 1~" + MAX_ROWS + " 사이여야 합니다.");
+        }
+        Map<String, Object> payload = samplePayload();
+        byte[] response = objectMapper.writeValueAsBytes(ApResponseDTO.ok(sampleRows(rows)));
+        int warmup = Math.max(1, iterations / 5);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("iterations", iterations);
+        result.put("requestBytes", apMessageCodec.encodeRequest("BENCH", payload, null).length);
+        result.put("responseBytes", response.length);
+
+        result.put("encodeLegacy", measure(warmup, iterations, () -> legacyEncode(payload)));
+        result.put("encodeCodec", measure(warmup, iterations, () -> apMessageCodec.encodeRequest("BENCH", payload, null)));
+        result.put("decodeLegacy", measure(warmup, iterations, () -> legacyDecode(response)));
+        result.put("decodeCodec", measure(warmup, iterations, () -> apMessageCodec.decodeResponse(response)));
+
+        // 워밍업 포함(1.2배) 스트림이 MAX_FRAMING_BYTES를 넘지 않게
+        int framingIterations = (int) Math.max(1, Math.min(iterations,
+                MAX_FRAMING_BYTES / (response.length + 4) * 5 / 6));
+        int framingWarmup = Math.max(1, framingIterations / 5);
+        result.put("framingIterations", framingIterations);
+
+        int maxMessageSize = Math.max(response.length + 1, 2048);
+        ByteArrayLfSerializer lf = new ByteArrayLfSerializer();
+        lf.setMaxMessageSize(maxMessageSize);
+        result.put("framingLf", measureFraming(lf, response, framingWarmup, framingIterations));
+        ByteArrayLengthHeaderSerializer lengthHeader = new ByteArrayLengthHeaderSerializer();
+        lengthHeader.setMaxMessageSize(maxMessageSize);
+        result.put("framingLength", measureFraming(lengthHeader, response, framingWarmup, framingIterations));
+        return result;
+    }
+
+    // 변경 전 ApRequestService.execute 의 요청 변환 경로
+    private byte[] legacyEncode(Object payload) throws IOException {
+        ApRequestDTO requestDTO = new ApRequestDTO("BENCH", objectMapper.valueToTree(payload), LocalDateTime.now());
+        String json = objectMapper.writeValueAsString(requestDTO);
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // 변경 전 ApRequestService.execute 의 응답 변환 경로
+    private ApResponseDTO legacyDecode(byte[] response) throws IOException {
+        String json = new String(response, StandardCharsets.UTF_8);
+        return objectMapper.readValue(json, ApResponseDTO.class);
+    }
+
+    // 같은 프레임을 한 스트림에 이어 붙여 두고 수신(deserialize)만 측정
+    private Map<String, Object> measureFraming(AbstractByteArraySerializer serializer, byte[] frame,
+                                               int warmup, int iterations) throws IOException {
+        int total = warmup + iterations;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(total * (frame.length + 4));
+        for (int i = 0; i < total; i++) {
+            serializer.serialize(frame, out);
+        }
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        for (int i = 0; i < warmup; i++) {
+            serializer.deserialize(in);
+        }
+        return measure(0, iterations, () -> serializer.deserialize(in));
+    }
+
+    private static Map<String, Object> measure(int warmup, int iterations, Task task) throws IOException {
+        for (int i = 0; i < warmup; i++) {
+            task.run();
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocBefore;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("nsPerOp", elapsed / iterations);
+        stats.put("opsPerSec", elapsed == 0 ? 0 : iterations * 1_000_000_000L / elapsed);
+        stats.put("allocBytesPerOp", allocated / iterations);
+        return stats;
+    }
+
+    // 회원가입 요청 정도 크기의 payload
+    private static Map<String, Object> samplePayload() {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("custId", "bench_user01");
+        payload.put("custName", "홍길동");
+        payload.put("custEmail", "bench_user01@flobank.co.kr");
+        payload.put("custHp", "010-1234-5678");
+        payload.put("custBirthDt", LocalDate.of(1990, 1, 1).toString());
+        payload.put("custGen", "M");
+        payload.put("custZip", "48058");
+        payload.put("custAddr1", "부산광역시 해운대구 센텀중앙로 97");
+        payload.put("custAddr2", "A동 1203호");
+        payload.put("custEngName", "HONG GILDONG");
+        payload.put("custStatus", 1);
+        payload.put("agreeMarketing", true);
+        return payload;
+    }
+
+    private ArrayNode sampleRows(int rows) {
+        ArrayNode data = objectMapper.createArrayNode();
+        for (int i = 0; i < rows; i++) {
+            ObjectNode row = data.addObject();
+            row.put("acctNo", String.format("1002-%08d", i));
+            row.put("currency", i % 2 == 0 ? "USD" : "JPY");
+            row.put("balance", 1_000_000L + i * 137L);
+            row.put("status", "ACTIVE");
+            row.put("memo", "외화 예금 잔액 조회 " + i);
+        }
+        return data;
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        Object run() throws IOException;
+    }
+}
@@ -2,6 +2,8 @@
 package kr.co.api.backend.tcp;
 
 import org.springframework.integration.annotation.MessagingGateway;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
 
 /**
  * flobank_api의 모든 서비스들이 AP 서버와 통신할 때 사용하는 공식 출입구(게이트웨이)
@@ -12,6 +14,11 @@ import org.springframework.integration.annotation.MessagingGateway;
 @MessagingGateway(defaultRequestChannel = "tcpClientRequestChannel")
 public interface ApGateway {
 
+    /**
+     * 요청별 응답 대기 시간(ms) 헤더 (TcpOutboundGateway의 remoteTimeout으로 사용, 없으면 기본 5초)
+     */
+    String TIMEOUT_HEADER = "apTimeoutMs";
+
     /**
      * AP 서버에 JSON 문자열(byte[])을 보내고,
      * AP 서버로부터 JSON 문자열(byte[]) 응답을 받습니다.
@@ -21,6 +28,15 @@ public interface ApGateway {
      */
     byte[] sendAndReceive(byte[] requestPayload);
 
+    /**
+     * 응답 대기 시간을 지정해서 전송 (요청 코드별 적응형 타임아웃용)
+     *
+     * @param requestPayload 서버로 보낼 JSON (byte[])
+     * @param timeoutMs      응답 대기 시간 (ms)
+     * @return 서버로부터 받은 JSON (byte[])
+     */
+    byte[] sendAndReceive(@Payload byte[] requestPayload, @Header(TIMEOUT_HEADER) long timeoutMs);
+
     /**
      * (참고) Spring이 byte[] <-> String 자동 변환을 지원하므로
      * 서비스단에서는 아래와 같이 String을 사용하는 것이 더 편리할 수 있습니다.
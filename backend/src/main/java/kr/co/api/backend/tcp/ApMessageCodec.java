@@ -0,0 +1,81 @@
+package kr.co.api.backend.tcp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import kr.co.api.backend.dto.ApResponseDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * [AP 서버 요청/응답 JSON 변환]
+ * - 요청: payload 객체를 JsonNode로 바꾸지 않고 JsonGenerator로 봉투(ApRequestDTO 형식)와 함께 바로 byte[]에 기록
+ *   (valueToTree → String → getBytes 의 중간 사본 제거, 결과 바이트는 ApRequestDTO 직렬화와 동일)
+ * - 응답: byte[]에서 바로 ApResponseDTO로 (String 변환 없음)
+ * - 기록 버퍼는 스레드별로 재사용 (너무 커진 버퍼는 반납하지 않음)
+ */
+@Component
+public class ApMessageCodec {
+
+    // 이보다 커진 버퍼는 재사용하지 않음 (대용량 1건 때문에 스레드마다 메모리를 물고 있지 않도록)
+    private static final int MAX_POOLED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<FrameBuffer> BUFFERS = ThreadLocal.withInitial(FrameBuffer::new);
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter valueWriter;
+    private final ObjectReader responseReader;
+
+    public ApMessageCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // 필드 값마다 flush 하지 않도록 (봉투를 다 쓰고 한 번만)
+        this.valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.responseReader = objectMapper.readerFor(ApResponseDTO.class);
+    }
+
+    /**
+     * 요청 봉투 인코딩 (필드 순서/형식은 ApRequestDTO 직렬화와 동일)
+     *
+     * @param correlationId 없으면 필드 생략 (동기 요청)
+     */
+    public byte[] encodeRequest(String requestCode, Object payload, String correlationId) throws IOException {
+        FrameBuffer buffer = BUFFERS.get();
+        buffer.reset();
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(buffer)) {
+            gen.writeStartObject();
+            gen.writeStringField("requestCode", requestCode);
+            gen.writeFieldName("payload");
+            valueWriter.writeValue(gen, payload);
+            gen.writeFieldName("requestTimestamp");
+            valueWriter.writeValue(gen, LocalDateTime.now());
+            if (correlationId != null) {
+                gen.writeStringField("correlationId", correlationId);
+            }
+            gen.writeEndObject();
+        }
+        byte[] frame = buffer.toByteArray();
+        if (buffer.capacity() > MAX_POOLED_BUFFER) BUFFERS.remove();
+        return frame;
+    }
+
+    public ApResponseDTO decodeResponse(byte[] frame) throws IOException {
+        return responseReader.readValue(frame);
+    }
+
+    // 내부 배열 크기를 알 수 있는 ByteArrayOutputStream (재사용용)
+    private static final class FrameBuffer extends ByteArrayOutputStream {
+
+        FrameBuffer() {
+            super(1024);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+    }
+}
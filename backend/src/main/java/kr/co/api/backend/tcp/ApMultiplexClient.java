@@ -0,0 +1,264 @@
+package kr.co.api.backend.tcp;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.dsl.context.IntegrationFlowContext;
+import org.springframework.integration.ip.tcp.TcpReceivingChannelAdapter;
+import org.springframework.integration.ip.tcp.TcpSendingMessageHandler;
+import org.springframework.integration.ip.tcp.connection.TcpConnectionCloseEvent;
+import org.springframework.integration.ip.tcp.connection.TcpNioClientConnectionFactory;
+import org.springframework.integration.ip.tcp.serializer.AbstractByteArraySerializer;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [AP 서버 비동기 다중화 연결]
+ * - TcpOutboundGateway는 요청 1건이 응답 올 때까지 연결 1개를 점유 → 동시 요청 수 = 풀 크기(10)
+ * - 여기서는 연결마다 송신(TcpSendingMessageHandler)/수신(TcpReceivingChannelAdapter) 어댑터를 분리해서
+ *   하나의 소켓에 여러 요청을 연달아 보내고, 응답의 correlationId로 기다리던 요청을 찾아 완료
+ * - 요청 스레드는 보내고 바로 리턴 (CompletableFuture), 응답 대기 중 점유하는 스레드/연결 없음
+ * - AP 서버가 응답에 correlationId를 돌려줘야 하므로 flobank.ap.multiplex.enabled로 켬
+ */
+@Slf4j
+@Component
+public class ApMultiplexClient {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String CORRELATION_FIELD = "correlationId";
+
+    private final IntegrationFlowContext flowContext;
+    private final AbstractByteArraySerializer apSerializer;
+
+    @Value("${flobank.ap.host}")
+    private String host;
+
+    @Value("${flobank.ap.port}")
+    private int port;
+
+    @Value("${flobank.ap.multiplex.enabled:false}")
+    private boolean enabled;
+
+    // AP 서버로 여는 소켓 수 (각 소켓에 요청 다중화)
+    @Value("${flobank.ap.multiplex.connections:2}")
+    private int connectionCount;
+
+    @Value("${flobank.ap.multiplex.request-timeout-ms:5000}")
+    private long requestTimeoutMs;
+
+    // 응답 대기 중 요청 수 상한 (초과 시 즉시 실패)
+    @Value("${flobank.ap.multiplex.max-in-flight:10000}")
+    private int maxInFlight;
+
+    // correlationId → 응답 대기 중 요청
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private volatile List<Link> links;
+    private final AtomicInteger nextLink = new AtomicInteger();
+
+    // 메트릭
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder replied = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder orphanReplies = new LongAdder();
+    private final LongAdder connectionLost = new LongAdder();
+
+    public ApMultiplexClient(IntegrationFlowContext flowContext, AbstractByteArraySerializer apSerializer) {
+        this.flowContext = flowContext;
+        this.apSerializer = apSerializer;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 요청 프레임 전송 (응답은 비동기로)
+     *
+     * @param correlationId 프레임(ApRequestDTO)에 들어 있는 것과 같은 값
+     * @return 응답 프레임. 타임아웃/연결 끊김/한도 초과 시 예외로 완료
+     */
+    public CompletableFuture<byte[]> send(String correlationId, byte[] frame) {
+        return send(correlationId, frame, requestTimeoutMs);
+    }
+
+    /**
+     * @param timeoutMs 이 요청의 응답 대기 시간 (요청 코드별 타임아웃)
+     */
+    public CompletableFuture<byte[]> send(String correlationId, byte[] frame, long timeoutMs) {
+        if (inFlight.size() >= maxInFlight) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("AP 동시 요청 한도 초과 (" + maxInFlight + ")"));
+        }
+
+        Link link = nextLink();
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        InFlight call = new InFlight(future, link.index());
+        if (inFlight.putIfAbsent(correlationId, call) != null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("중복 correlationId: " + correlationId));
+        }
+
+        future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((r, e) -> {
+            inFlight.remove(correlationId, call);
+            if (e instanceof TimeoutException) timeouts.increment();
+        });
+
+        try {
+            link.out().send(MessageBuilder.withPayload(frame).build());
+            sent.increment();
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    // 수신 어댑터 → 응답의 correlationId로 대기 중인 요청 완료
+    private void onReply(Message<?> message) {
+        byte[] frame = (byte[]) message.getPayload();
+        String correlationId;
+        try {
+            correlationId = readCorrelationId(frame);
+        } catch (IOException e) {
+            orphanReplies.increment();
+            log.warn("⚠️ [AP 다중화] 응답 해석 실패로 버립니다 : {}", e.getMessage());
+            return;
+        }
+
+        InFlight call = correlationId != null ? inFlight.remove(correlationId) : null;
+        if (call == null) {
+            // 타임아웃 이후 도착했거나 AP 서버가 correlationId를 돌려주지 않은 경우
+            orphanReplies.increment();
+            log.warn("⚠️ [AP 다중화] 대기 중인 요청이 없는 응답입니다. (correlationId={})", correlationId);
+            return;
+        }
+        replied.increment();
+        call.future().complete(frame);
+    }
+
+    // 소켓이 끊기면 그 소켓으로 보낸 요청은 응답이 올 수 없으므로 타임아웃까지 기다리지 않고 바로 실패
+    @EventListener
+    public void onConnectionClosed(TcpConnectionCloseEvent event) {
+        List<Link> current = links;
+        if (current == null) return;
+        for (Link link : current) {
+            if (!link.factoryName().equals(event.getConnectionFactoryName())) continue;
+
+            IOException cause = new IOException("AP 연결 종료 (" + event.getConnectionId() + ")");
+            inFlight.forEach((id, call) -> {
+                if (call.linkIndex() == link.index() && inFlight.remove(id, call)) {
+                    connectionLost.increment();
+                    call.future().completeExceptionally(cause);
+                }
+            });
+            log.warn("⚠️ [AP 다중화] 연결 종료 감지 ({}). 다음 요청 시 재연결합니다.", link.factoryName());
+        }
+    }
+
+    private Link nextLink() {
+        List<Link> current = links;
+        if (current == null) current = startLinks();
+        return current.get(Math.floorMod(nextLink.getAndIncrement(), current.size()));
+    }
+
+    /**
+     * 소켓마다 연결 팩토리 1개 + 송신/수신 어댑터 한 쌍을 동적 플로우로 등록 (첫 요청 시 1회)
+     * - 같은 팩토리를 공유하는 송신/수신 어댑터(collaborating adapters) → 보내는 쪽은 응답을 기다리지 않음
+     */
+    private synchronized List<Link> startLinks() {
+        if (links != null) return links;
+
+        List<Link> created = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, connectionCount); i++) {
+            TcpNioClientConnectionFactory factory = new TcpNioClientConnectionFactory(host, port);
+            factory.setSerializer(apSerializer);
+            factory.setDeserializer(apSerializer);
+            factory.setSingleUse(false);
+            factory.setSoKeepAlive(true);
+
+            TcpSendingMessageHandler sender = new TcpSendingMessageHandler();
+            sender.setConnectionFactory(factory);
+            TcpReceivingChannelAdapter receiver = new TcpReceivingChannelAdapter();
+            receiver.setConnectionFactory(factory);
+
+            String name = "apMultiplexLink" + i;
+            String factoryName = name + ".connectionFactory";
+            DirectChannel out = new DirectChannel();
+
+            flowContext.registration(IntegrationFlow.from(out).handle(sender).get())
+                    .id(name + ".out")
+                    .addBean(factoryName, factory)
+                    .register();
+            flowContext.registration(IntegrationFlow.from(receiver).handle((MessageHandler) this::onReply).get())
+                    .id(name + ".in")
+                    .register();
+
+            created.add(new Link(i, factoryName, out));
+        }
+        links = List.copyOf(created);
+        log.info(">>> [AP 다중화] {}:{} 연결 {}개 준비 완료 (timeout={}ms, maxInFlight={})",
+                host, port, created.size(), requestTimeoutMs, maxInFlight);
+        return links;
+    }
+
+    /**
+     * 응답 JSON에서 correlationId만 스트리밍으로 읽음 (트리/DTO로 만들지 않음)
+     * - 최상위 필드만 보고, 하위 객체(data)는 건너뜀
+     */
+    static String readCorrelationId(byte[] frame) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(frame)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (CORRELATION_FIELD.equals(field)) {
+                    return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        List<Link> current = links;
+        stats.put("connections", current != null ? current.size() : 0);
+        stats.put("inFlight", inFlight.size());
+        stats.put("maxInFlight", maxInFlight);
+        stats.put("sent", sent.sum());
+        stats.put("replied", replied.sum());
+        stats.put("timeouts", timeouts.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("connectionLost", connectionLost.sum());
+        stats.put("orphanReplies", orphanReplies.sum());
+        return stats;
+    }
+
+    private record InFlight(CompletableFuture<byte[]> future, int linkIndex) {
+    }
+
+    private record Link(int index, String factoryName, MessageChannel out) {
+    }
+}
@@ -0,0 +1,302 @@
+package kr.co.api.backend.tcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import kr.co.api.backend.dto.ApResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * [AP 조회성 요청 응답 캐시 (read-through)]
+ * - flobank.ap.cache.codes.{코드} 에 정책이 있는 요청 코드만 캐시 (나머지는 그대로 통과)
+ * - 키 = 요청 코드 + payload(key-fields만 또는 전체)를 정렬된 JSON으로 만든 SHA-256
+ * - OK 응답은 ttl-ms, 업무 실패(FAIL 등)는 negative-ttl-ms(0이면 캐시 안 함), ERROR는 캐시하지 않음
+ * - 같은 키 요청이 동시에 들어오면 AP 서버에는 1건만 보내고 나머지는 그 결과를 같이 받음
+ * - invalidated-by 의 쓰기 코드가 성공하면 같은 key-fields 값의 항목(값이 없으면 코드 전체)을 지움
+ * - 프로세스 내 캐시 → 다른 노드의 항목은 TTL로만 만료되므로 TTL은 짧게 잡을 것
+ * - 반환 객체는 여러 요청이 공유하므로 호출자가 수정하면 안 됨
+ */
+@Slf4j
+@Component
+public class ApResponseCache {
+
+    private static final String POLICY_PREFIX = "flobank.ap.cache.codes";
+    private static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final ObjectMapper objectMapper;
+    // Map 키 순서와 무관하게 같은 payload면 같은 해시가 나오도록 키 정렬
+    private final ObjectWriter keyWriter;
+
+    // 캐시 코드 → 영역
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+    // 쓰기 코드 → 무효화할 캐시 코드들
+    private final Map<String, List<Region>> invalidators = new ConcurrentHashMap<>();
+
+    /**
+     * 요청 코드 1개의 캐시 정책
+     *
+     * @param ttlMs         OK 응답 보관 시간
+     * @param negativeTtlMs 업무 실패 응답 보관 시간 (0이면 보관 안 함)
+     * @param keyFields     키에 쓸 payload 필드 (비우면 payload 전체)
+     * @param invalidatedBy 성공 시 이 코드의 캐시를 지우는 쓰기 요청 코드
+     */
+    public record Policy(long ttlMs, long negativeTtlMs, int maxSize,
+                         List<String> keyFields, List<String> invalidatedBy) {
+    }
+
+    public ApResponseCache(Environment environment, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.keyWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+        Map<String, Policy> policies = Binder.get(environment)
+                .bind(POLICY_PREFIX, Bindable.mapOf(String.class, Policy.class))
+                .orElse(Map.of());
+        policies.forEach((code, policy) -> {
+            Region region = new Region(code, policy);
+            regions.put(code, region);
+            if (policy.invalidatedBy() != null) {
+                for (String writeCode : policy.invalidatedBy()) {
+                    invalidators.computeIfAbsent(writeCode, k -> new ArrayList<>()).add(region);
+                }
+            }
+            log.info(">>> [AP 캐시] {} (ttl={}ms, negativeTtl={}ms, keyFields={}, invalidatedBy={})",
+                    code, policy.ttlMs(), policy.negativeTtlMs(), policy.keyFields(), policy.invalidatedBy());
+        });
+    }
+
+    public boolean isCached(String requestCode) {
+        return regions.containsKey(requestCode);
+    }
+
+    /**
+     * 캐시 조회 → 없으면 loader로 AP 서버 호출 (같은 키 동시 요청은 1건으로 합침)
+     * - 정책이 없는 코드는 loader를 그대로 호출
+     * - loader는 실패를 에러 DTO로 돌려주는 것을 전제 (예외로 끝나면 기다리던 요청도 같은 예외)
+     */
+    public CompletableFuture<ApResponseDTO> get(String requestCode, Object payload,
+                                                Supplier<CompletableFuture<ApResponseDTO>> loader) {
+        Region region = regions.get(requestCode);
+        if (region == null) return loader.get();
+
+        String key;
+        try {
+            key = key(payload, region.policy.keyFields());
+        } catch (Exception e) {
+            // 키를 못 만들면 캐시 없이 호출
+            log.warn("⚠️ [AP 캐시] {} 키 생성 실패로 캐시를 건너뜁니다 : {}", requestCode, e.getMessage());
+            return loader.get();
+        }
+
+        ApResponseDTO cached = region.getLocal(key);
+        if (cached != null) {
+            region.hits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<ApResponseDTO> mine = new CompletableFuture<>();
+        CompletableFuture<ApResponseDTO> leader = region.loading.putIfAbsent(key, mine);
+        if (leader != null) {
+            region.coalesced.increment();
+            return leader;
+        }
+
+        region.misses.increment();
+        long gen = region.generation.get();
+        CompletableFuture<ApResponseDTO> source;
+        try {
+            source = loader.get();
+        } catch (RuntimeException e) {
+            source = CompletableFuture.failedFuture(e);
+        }
+        source.whenComplete((response, e) -> {
+            // 캐시에 넣은 뒤 대기열에서 빼야 그 사이 들어온 요청이 AP 서버로 또 가지 않음
+            if (response != null) region.putLocal(key, response, gen);
+            region.loading.remove(key, mine);
+            if (e != null) mine.completeExceptionally(e);
+            else mine.complete(response);
+        });
+        return mine;
+    }
+
+    /**
+     * 쓰기 요청 성공 후 호출 → 이 코드로 무효화되는 캐시 항목 삭제
+     * - 캐시 코드에 key-fields가 있고 쓰기 payload에 그 값이 모두 있으면 해당 항목만, 아니면 코드 전체
+     */
+    public void onWriteSuccess(String writeCode, Object payload) {
+        List<Region> targets = invalidators.get(writeCode);
+        if (targets == null) return;
+
+        for (Region region : targets) {
+            List<String> keyFields = region.policy.keyFields();
+            String key = null;
+            if (keyFields != null && !keyFields.isEmpty()) {
+                try {
+                    key = key(payload, keyFields);
+                } catch (Exception e) {
+                    // 필드가 없거나 변환 실패 → 코드 전체 삭제
+                }
+            }
+            region.invalidate(key);
+            log.info("♻️ [AP 캐시] {} 성공으로 {} 캐시 무효화 ({})", writeCode, region.code, key == null ? "전체" : "1건");
+        }
+    }
+
+    // 관리자 수동 무효화 (requestCode가 null이면 모든 코드)
+    public void invalidate(String requestCode) {
+        if (requestCode == null) {
+            regions.values().forEach(region -> region.invalidate(null));
+            return;
+        }
+        Region region = regions.get(requestCode);
+        if (region != null) region.invalidate(null);
+    }
+
+    private String key(Object payload, List<String> keyFields) throws Exception {
+        Object keySource = payload;
+        if (keyFields != null && !keyFields.isEmpty()) {
+            Map<?, ?> fields = objectMapper.convertValue(payload, Map.class);
+            Map<String, Object> picked = new LinkedHashMap<>();
+            for (String field : keyFields) {
+                Object value = fields.get(field);
+                if (value == null) throw new IllegalArgumentException("키 필드 없음: " + field);
+                picked.put(field, value);
+            }
+            keySource = picked;
+        }
+        byte[] digest = sha256().digest(keyWriter.writeValueAsBytes(keySource));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private static MessageDigest sha256() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256");
+    }
+
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (Region region : regions.values()) {
+            stats.add(region.getStats());
+        }
+        stats.sort((a, b) -> ((String) a.get("code")).compareTo((String) b.get("code")));
+        return stats;
+    }
+
+    /**
+     * 캐시 코드 1개 영역 (LRU + 항목별 만료 시각)
+     */
+    private static final class Region {
+
+        private final String code;
+        private final Policy policy;
+        private final int maxSize;
+        private final LinkedHashMap<String, Entry> entries;
+        private final Map<String, CompletableFuture<ApResponseDTO>> loading = new ConcurrentHashMap<>();
+
+        // 무효화 세대: 로딩 도중 무효화가 들어오면 로딩 결과를 넣지 않음 (쓰기 이전 응답 재적재 방지)
+        private final AtomicLong generation = new AtomicLong();
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder negativeStored = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder invalidations = new LongAdder();
+
+        private Region(String code, Policy policy) {
+            this.code = code;
+            this.policy = policy;
+            this.maxSize = policy.maxSize() > 0 ? policy.maxSize() : DEFAULT_MAX_SIZE;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    if (size() > Region.this.maxSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private ApResponseDTO getLocal(String key) {
+            synchronized (entries) {
+                Entry entry = entries.get(key);
+                if (entry == null) return null;
+                if (entry.expiresAt < System.currentTimeMillis()) {
+                    entries.remove(key);
+                    return null;
+                }
+                return entry.value;
+            }
+        }
+
+        private void putLocal(String key, ApResponseDTO response, long gen) {
+            long ttlMs;
+            if (response.isSuccess()) {
+                ttlMs = policy.ttlMs();
+            } else if ("ERROR".equals(response.getStatus())) {
+                return; // 통신/AP 오류는 다음 요청에서 다시 시도
+            } else {
+                ttlMs = policy.negativeTtlMs();
+                if (ttlMs > 0) negativeStored.increment();
+            }
+            if (ttlMs <= 0) return;
+
+            synchronized (entries) {
+                if (generation.get() != gen) return;
+                entries.put(key, new Entry(response, System.currentTimeMillis() + ttlMs));
+            }
+        }
+
+        private void invalidate(String key) {
+            generation.incrementAndGet();
+            invalidations.increment();
+            synchronized (entries) {
+                if (key == null) entries.clear();
+                else entries.remove(key);
+            }
+        }
+
+        private Map<String, Object> getStats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("code", code);
+            stats.put("ttlMs", policy.ttlMs());
+            stats.put("negativeTtlMs", policy.negativeTtlMs());
+            synchronized (entries) {
+                stats.put("size", entries.size());
+            }
+            stats.put("maxSize", maxSize);
+            stats.put("loading", loading.size());
+            long hit = hits.sum();
+            long miss = misses.sum();
+            long total = hit + miss + coalesced.sum();
+            stats.put("hits", hit);
+            stats.put("misses", miss);
+            stats.put("coalesced", coalesced.sum());
+            stats.put("hitRatePercent", total == 0 ? 0 : (hit + coalesced.sum()) * 100 / total);
+            stats.put("negativeStored", negativeStored.sum());
+            stats.put("evictions", evictions.sum());
+            stats.put("invalidations", invalidations.sum());
+            return stats;
+        }
+    }
+
+    private record Entry(ApResponseDTO value, long expiresAt) {
+    }
+}
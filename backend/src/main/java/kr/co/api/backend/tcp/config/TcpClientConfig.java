@@ -1,9 +1,11 @@
 // TCP 클라이언트 설정 (Spring Integration)
 package kr.co.api.backend.tcp.config;
 
+import kr.co.api.backend.tcp.ApGateway;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.integration.annotation.IntegrationComponentScan;
 import org.springframework.integration.annotation.ServiceActivator;
 import org.springframework.integration.channel.DirectChannel;
@@ -12,6 +14,8 @@ import org.springframework.integration.ip.tcp.TcpOutboundGateway;
 import org.springframework.integration.ip.tcp.connection.AbstractClientConnectionFactory;
 import org.springframework.integration.ip.tcp.connection.CachingClientConnectionFactory;
 import org.springframework.integration.ip.tcp.connection.TcpNioClientConnectionFactory;
+import org.springframework.integration.ip.tcp.serializer.AbstractByteArraySerializer;
+import org.springframework.integration.ip.tcp.serializer.ByteArrayLengthHeaderSerializer;
 import org.springframework.integration.ip.tcp.serializer.ByteArrayLfSerializer;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHandler;
@@ -29,18 +33,41 @@ public class TcpClientConfig {
     @Value("${flobank.ap.port}")
     private int port; //
 
+    // 메시지 구분 방식: lf(기존, 줄바꿈 구분) | length(4바이트 길이 헤더). AP 서버와 반드시 같아야 함
+    @Value("${flobank.ap.framing:lf}")
+    private String framing;
+
+    // 길이 헤더 방식일 때 최대 메시지 크기 (헤더 값이 이보다 크면 연결 오류로 처리)
+    @Value("${flobank.ap.max-message-size:1048576}")
+    private int maxMessageSize;
+
+    /**
+     * 0. 메시지 구분자 (Serializer / Deserializer)
+     * - 서버(flobank_ap)와 반드시 동일한 방식을 사용합니다.
+     * - lf: 수신 시 모든 바이트를 줄바꿈과 비교하며 읽음 (기존 방식, 호환용)
+     * - length: 4바이트 길이 헤더를 먼저 읽고 본문을 한 번에 읽음 (바이트 단위 탐색 없음)
+     * - 동기 게이트웨이와 비동기 다중화 연결(ApMultiplexClient)이 같이 사용합니다.
+     */
+    @Bean
+    public AbstractByteArraySerializer apSerializer() {
+        if ("length".equalsIgnoreCase(framing)) {
+            ByteArrayLengthHeaderSerializer serializer = new ByteArrayLengthHeaderSerializer();
+            serializer.setMaxMessageSize(maxMessageSize);
+            return serializer;
+        }
+        return new ByteArrayLfSerializer();
+    }
+
     /**
      * 1. TCP 클라이언트 연결 팩토리 (전화기)
      * - AP 서버(localhost:9090)로 연결을 생성하고 관리합니다.
      * - CachingClientConnectionFactory: 성능 향상을 위해 TCP 연결을 풀링(재사용)합니다.
      */
     @Bean
-    public AbstractClientConnectionFactory clientConnectionFactory() {
+    public AbstractClientConnectionFactory clientConnectionFactory(AbstractByteArraySerializer serializer) {
         TcpNioClientConnectionFactory factory = new TcpNioClientConnectionFactory(host, port);
 
         // 2. Serializer / Deserializer 설정
-        // - 서버(flobank_ap)와 반드시 동일한 ByteArrayLfSerializer를 사용합니다.
-        ByteArrayLfSerializer serializer = new ByteArrayLfSerializer();
         factory.setSerializer(serializer);
         factory.setDeserializer(serializer);
 
@@ -74,6 +101,9 @@ public class TcpClientConfig {
         gateway.setConnectionFactory(clientConnectionFactory);
         gateway.setRequiresReply(true); // 반드시 응답을 받아야 함
         gateway.setRequestTimeout(5000); // 5초 타임아웃 (응답이 5초간 없으면 에러)
+        // 응답 대기 시간은 요청마다 헤더로 지정 (요청 코드별 적응형 타임아웃), 없으면 5초
+        gateway.setRemoteTimeoutExpression(new SpelExpressionParser().parseExpression(
+                "headers['" + ApGateway.TIMEOUT_HEADER + "'] ?: 5000"));
         return gateway;
     }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package kr.co.api.backend.tcp.sim;
+
+import kr.co.api.backend.dto.ApResponseDTO;
+import kr.co.api.backend.service.ApRequestService;
+import kr.co.api.backend.tcp.ApCallGuard;
+import kr.co.api.backend.util.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [AP 요청 부하 발생기]
+ * - 가상 스레드 concurrency개가 durationSec 동안 쉬지 않고 ApRequestService를 호출 (closed loop)
+ * - 처리량, 상태별 건수, 지연 분포(p50/p99/p999)를 돌려줌 → 풀/시리얼라이저/다중화 설정 비교용
+ * - AP 서버 대역(ApSimulator)과 같이 쓰는 것을 전제로 함 (운영 AP 서버에 돌리지 말 것)
+ *   → 시뮬레이터를 켠 노드에만 빈이 있고, flobank.ap.host가 루프백이 아니면 실행 거부
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "flobank.ap.simulator.enabled", havingValue = "true")
+public class ApLoadDriver {
+
+    private static final int MAX_CONCURRENCY = 5000;
+    private static final int MAX_DURATION_SEC = 300;
+
+    private final ApRequestService apRequestService;
+    private final ApCallGuard apCallGuard;
+
+    @Value("${flobank.ap.host}")
+    private String apHost;
+
+    // 한 번에 하나만 실행
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ApLoadDriver(ApRequestService apRequestService, ApCallGuard apCallGuard) {
+        this.apRequestService = apRequestService;
+        this.apCallGuard = apCallGuard;
+    }
+
+    /**
+     * @param requestCode 보낼 요청 코드 (시뮬레이터는 코드와 무관하게 응답)
+     * @param async       true면 executeAsync(다중화 연결), false면 execute(동기 게이트웨이)
+     */
+    public Map<String, Object> run(String requestCode, int concurrency, int durationSec, boolean async)
+            throws InterruptedException {
+        if (concurrency < 1 || concurrency > MAX_CONCURRENCY) {
+            throw new IllegalArgumentException("concurrency는 1~" + MAX_CONCURRENCY + " 사이여야 합니다.");
+        }
+        if (durationSec < 1 || durationSec > MAX_DURATION_SEC) {
+            throw new IllegalArgumentException("durationSec는 1~" + MAX_DURATION_SEC + " 사이여야 합니다.");
+        }
+        if (!isLoopback(apHost)) {
+            throw new IllegalStateException("flobank.ap.host(" + apHost + ")가 루프백이 아닙니다. 운영 AP 서버에는 부하 테스트를 돌릴 수 없습니다.");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("이미 부하 테스트가 실행 중입니다.");
+        }
+
+        try {
+            log.info(">>> [AP 부하 테스트] 시작 (code={}, concurrency={}, duration={}s, async={})",
+                    requestCode, concurrency, durationSec, async);
+            LatencyHistogram latency = new LatencyHistogram();
+            LongAdder ok = new LongAdder();
+            LongAdder fail = new LongAdder();
+            LongAdder error = new LongAdder();
+
+            long start = System.nanoTime();
+            long deadline = start + durationSec * 1_000_000_000L;
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>(concurrency);
+                for (int w = 0; w < concurrency; w++) {
+                    int worker = w;
+                    futures.add(workers.submit(() -> {
+                        long seq = 0;
+                        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                            Map<String, Object> payload = Map.of("loadTest", true, "worker", worker, "seq", seq++);
+                            long t0 = System.nanoTime();
+                            ApResponseDTO response = async
+                                    ? apRequestService.executeAsync(requestCode, payload).join()
+                                    : apRequestService.execute(requestCode, payload, ApResponseDTO.class);
+                            latency.recordNanos(System.nanoTime() - t0);
+
+                            if (response.isSuccess()) ok.increment();
+                            else if ("ERROR".equals(response.getStatus())) error.increment();
+                            else fail.increment();
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        log.warn("⚠️ [AP 부하 테스트] 작업 스레드 오류 : {}", e.getCause().toString());
+                    }
+                }
+            }
+            long elapsedNanos = System.nanoTime() - start;
+
+            long total = latency.getCount();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requestCode", requestCode);
+            result.put("concurrency", concurrency);
+            result.put("async", async);
+            result.put("elapsedMs", elapsedNanos / 1_000_000);
+            result.put("requests", total);
+            result.put("throughputPerSec", elapsedNanos == 0 ? 0 : total * 1_000_000_000L / elapsedNanos);
+            result.put("ok", ok.sum());
+            result.put("fail", fail.sum());
+            result.put("error", error.sum());
+            result.put("latency", latency.summary());
+            result.put("guard", apCallGuard.forCode(requestCode).getStats());
+
+            log.info(">>> [AP 부하 테스트] 종료 ({}건, {}/s, p99={}us, error={})",
+                    total, result.get("throughputPerSec"), latency.percentileMicros(99), error.sum());
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private static boolean isLoopback(String host) {
+        if (host == null || host.isBlank()) return false;
+        try {
+            for (InetAddress address : InetAddress.getAllByName(host)) {
+                if (!address.isLoopbackAddress()) return false;
+            }
+            return true;
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
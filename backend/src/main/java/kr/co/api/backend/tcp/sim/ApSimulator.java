@@ -0,0 +1,281 @@
+package kr.co.api.backend.tcp.sim;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.integration.ip.tcp.serializer.AbstractByteArraySerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [AP 서버 대역 (로컬 부하 테스트용)]
+ * - 실제 AP 서버 없이 ApGateway/TcpClientConfig를 시험하기 위한 내장 TCP 서버
+ * - 프레이밍은 클라이언트와 같은 apSerializer 빈 사용 (lf / length 설정을 그대로 따라감)
+ * - 응답: status OK(or ERROR) + 요청의 correlationId를 돌려줌 → 다중화 연결도 시험 가능
+ * - 시나리오(Phase 목록)를 순서대로 반복: 구간마다 지연/지터, 에러율, 연결 끊기율, 무응답율 지정
+ * - 사용: flobank.ap.simulator.enabled=true, flobank.ap.host=localhost, flobank.ap.port=시뮬레이터 포트
+ * - enabled=false(운영 기본값)면 빈 자체가 없음, 켜도 루프백에만 바인딩 (외부에서 접속 불가)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "flobank.ap.simulator.enabled", havingValue = "true")
+public class ApSimulator {
+
+    private final AbstractByteArraySerializer apSerializer;
+    private final ObjectMapper objectMapper;
+
+    @Value("${flobank.ap.simulator.port:19090}")
+    private int defaultPort;
+
+    @Value("${flobank.ap.simulator.latency-ms:20}")
+    private long latencyMs;
+
+    @Value("${flobank.ap.simulator.jitter-ms:10}")
+    private long jitterMs;
+
+    @Value("${flobank.ap.simulator.error-rate-percent:0}")
+    private int errorRatePercent;
+
+    @Value("${flobank.ap.simulator.disconnect-rate-percent:0}")
+    private int disconnectRatePercent;
+
+    @Value("${flobank.ap.simulator.drop-rate-percent:0}")
+    private int dropRatePercent;
+
+    private volatile List<Phase> script;
+    private volatile long scriptStartedAt;
+
+    private ServerSocket serverSocket;
+    private ExecutorService connectionExecutor;
+    private ScheduledExecutorService replyScheduler;
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+
+    // 메트릭
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder replies = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder disconnects = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public ApSimulator(AbstractByteArraySerializer apSerializer, ObjectMapper objectMapper) {
+        this.apSerializer = apSerializer;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 시나리오 1구간
+     *
+     * @param durationMs 구간 길이 (구간이 1개면 무시하고 계속 적용)
+     * @param errorRatePercent      ERROR 응답 비율
+     * @param disconnectRatePercent 요청을 받고 응답 없이 연결을 끊는 비율
+     * @param dropRatePercent       응답하지 않는 비율 (클라이언트 타임아웃 유도)
+     */
+    public record Phase(long durationMs, long latencyMs, long jitterMs,
+                        int errorRatePercent, int disconnectRatePercent, int dropRatePercent) {
+    }
+
+    @PostConstruct
+    public void init() {
+        script = List.of(new Phase(0, latencyMs, jitterMs, errorRatePercent, disconnectRatePercent, dropRatePercent));
+        start(defaultPort);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        stop();
+    }
+
+    public synchronized void start(int port) {
+        if (serverSocket != null) return;
+        try {
+            ServerSocket server = new ServerSocket();
+            server.setReuseAddress(true);
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            serverSocket = server;
+        } catch (IOException e) {
+            throw new IllegalStateException("AP 시뮬레이터 포트 바인딩 실패: " + port, e);
+        }
+        connectionExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        replyScheduler = Executors.newScheduledThreadPool(2, r -> {
+            Thread t = new Thread(r, "ap-simulator-reply");
+            t.setDaemon(true);
+            return t;
+        });
+        scriptStartedAt = System.currentTimeMillis();
+
+        ServerSocket server = serverSocket;
+        Thread acceptor = new Thread(() -> acceptLoop(server), "ap-simulator-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info(">>> [AP 시뮬레이터] {}:{} 에서 대기 중 (script={})",
+                InetAddress.getLoopbackAddress().getHostAddress(), port, script);
+    }
+
+    public synchronized void stop() {
+        if (serverSocket == null) return;
+        closeQuietly(serverSocket);
+        sockets.forEach(ApSimulator::closeQuietly);
+        sockets.clear();
+        connectionExecutor.shutdownNow();
+        replyScheduler.shutdownNow();
+        serverSocket = null;
+        log.info(">>> [AP 시뮬레이터] 종료");
+    }
+
+    // 시나리오 교체 (처음 구간부터 다시 시작)
+    public void setScript(List<Phase> phases) {
+        if (phases == null || phases.isEmpty()) throw new IllegalArgumentException("구간이 1개 이상 필요합니다.");
+        script = List.copyOf(phases);
+        scriptStartedAt = System.currentTimeMillis();
+        log.info("[AP 시뮬레이터] 시나리오 변경 : {}", phases);
+    }
+
+    private void acceptLoop(ServerSocket server) {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                sockets.add(socket);
+                accepted.increment();
+                connectionExecutor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!server.isClosed()) log.warn("⚠️ [AP 시뮬레이터] 연결 수락 실패 : {}", e.getMessage());
+            }
+        }
+    }
+
+    // 연결 1개 처리: 요청을 읽는 대로 응답을 예약 (다중화 연결이면 응답 순서가 바뀔 수 있음)
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            while (!socket.isClosed()) {
+                byte[] frame = apSerializer.deserialize(in);
+                requests.increment();
+
+                Phase phase = currentPhase();
+                if (roll(phase.disconnectRatePercent())) {
+                    disconnects.increment();
+                    return;
+                }
+                if (roll(phase.dropRatePercent())) {
+                    dropped.increment();
+                    continue;
+                }
+
+                byte[] reply = reply(frame, roll(phase.errorRatePercent()));
+                long delay = phase.latencyMs()
+                        + (phase.jitterMs() > 0 ? ThreadLocalRandom.current().nextLong(phase.jitterMs() + 1) : 0);
+                replyScheduler.schedule(() -> write(socket, out, reply), delay, TimeUnit.MILLISECONDS);
+            }
+        } catch (IOException e) {
+            // 클라이언트가 연결을 닫음 (정상 종료 포함)
+            log.debug("[AP 시뮬레이터] 연결 종료 : {}", e.getMessage());
+        } finally {
+            sockets.remove(socket);
+        }
+    }
+
+    private void write(Socket socket, OutputStream out, byte[] reply) {
+        synchronized (out) {
+            try {
+                apSerializer.serialize(reply, out);
+                out.flush();
+                replies.increment();
+            } catch (IOException e) {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private byte[] reply(byte[] frame, boolean error) throws IOException {
+        ObjectNode response = objectMapper.createObjectNode();
+        String requestCode = null;
+        JsonNode correlationId = null;
+        try {
+            JsonNode request = objectMapper.readTree(frame);
+            requestCode = request.path("requestCode").asText(null);
+            correlationId = request.get("correlationId");
+        } catch (IOException e) {
+            error = true;
+        }
+
+        if (error) errors.increment();
+        response.put("status", error ? "ERROR" : "OK");
+        response.put("message", error ? "SIMULATED ERROR" : "SIMULATED");
+        ObjectNode data = response.putObject("data");
+        data.put("requestCode", requestCode);
+        data.put("simulated", true);
+        response.set("responseTimestamp", objectMapper.valueToTree(LocalDateTime.now()));
+        if (correlationId != null) response.set("correlationId", correlationId);
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    private Phase currentPhase() {
+        List<Phase> phases = script;
+        if (phases.size() == 1) return phases.get(0);
+
+        long total = phases.stream().mapToLong(p -> Math.max(1, p.durationMs())).sum();
+        long offset = (System.currentTimeMillis() - scriptStartedAt) % total;
+        for (Phase phase : phases) {
+            offset -= Math.max(1, phase.durationMs());
+            if (offset < 0) return phase;
+        }
+        return phases.get(phases.size() - 1);
+    }
+
+    private static boolean roll(int percent) {
+        return percent > 0 && ThreadLocalRandom.current().nextInt(100) < percent;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        ServerSocket server = serverSocket;
+        stats.put("running", server != null);
+        stats.put("port", server != null ? server.getLocalPort() : null);
+        stats.put("script", script);
+        stats.put("currentPhase", currentPhase());
+        stats.put("openConnections", sockets.size());
+        stats.put("accepted", accepted.sum());
+        stats.put("requests", requests.sum());
+        stats.put("replies", replies.sum());
+        stats.put("errors", errors.sum());
+        stats.put("disconnects", disconnects.sum());
+        stats.put("dropped", dropped.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,113 @@
+package kr.co.api.backend.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [지연 시간 히스토그램 (HDR 방식 간소화)]
+ * - 마이크로초 단위 값을 로그-선형 버킷(2의 거듭제곱 구간을 8칸씩 분할)에 누적
+ * - 상대 오차 약 12.5% 이내로 p50/p95/p99/p999 추정, 기록은 락 없이 O(1)
+ * - 범위: 0us ~ 약 2^40us(12일), 그 이상은 마지막 버킷
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;          // 구간당 8칸
+    private static final int LINEAR_LIMIT = SUB_COUNT * 2;       // 0~15us는 1us 단위
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BITS) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private volatile long maxMicros;
+
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1_000);
+    }
+
+    public void recordMicros(long micros) {
+        if (micros < 0) micros = 0;
+        counts.incrementAndGet(indexOf(micros));
+        totalCount.increment();
+        totalMicros.add(micros);
+        if (micros > maxMicros) maxMicros = micros;
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public long getMeanMicros() {
+        long n = totalCount.sum();
+        return n == 0 ? 0 : totalMicros.sum() / n;
+    }
+
+    /**
+     * 백분위 추정값 (버킷 상한 기준, us)
+     */
+    public long percentileMicros(double percentile) {
+        long n = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            n += snapshot[i];
+        }
+        if (n == 0) return 0;
+
+        long rank = (long) Math.ceil(percentile / 100.0 * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(upperBoundOf(i), maxMicros);
+        }
+        return maxMicros;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        totalCount.reset();
+        totalMicros.reset();
+        maxMicros = 0;
+    }
+
+    public Map<String, Object> summary() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("count", getCount());
+        m.put("meanUs", getMeanMicros());
+        m.put("p50Us", percentileMicros(50));
+        m.put("p95Us", percentileMicros(95));
+        m.put("p99Us", percentileMicros(99));
+        m.put("p999Us", percentileMicros(99.9));
+        m.put("maxUs", getMaxMicros());
+        return m;
+    }
+
+    private static int indexOf(long v) {
+        if (v < LINEAR_LIMIT) return (int) v;
+        int exponent = 63 - Long.numberOfLeadingZeros(v);
+        if (exponent >= MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) (v >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BITS - 1) * SUB_COUNT + sub;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < LINEAR_LIMIT) return index;
+        int rel = index - LINEAR_LIMIT;
+        int exponent = rel / SUB_COUNT + SUB_BITS + 1;
+        int sub = rel % SUB_COUNT;
+        long base = 1L << exponent;
+        long step = base >>> SUB_BITS;
+        return base + (sub + 1) * step - 1;
+    }
+}
@@ -0,0 +1,134 @@
+package kr.co.api.backend.cache;
+
+import kr.co.api.backend.dto.RateDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * CrossRateMatrix 고정소수점 환산 ↔ BigDecimal 기준값 비교
+ */
+class CrossRateMatrixTest {
+
+    private static final BigDecimal SCALE = BigDecimal.valueOf(CrossRateMatrix.SCALE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    // 실제 행렬에 들어가는 크기 (IDR→USD 0.00006 ~ USD→IDR 16000, 원화 기준 1400)
+    private static final long[] RATES = {
+            1L, 60_000L, 999_999_999L, CrossRateMatrix.SCALE, 1_000_000_001L,
+            9_543_210_987L, 1_400_500_000_000L, 16_000_123_456_789L
+    };
+
+    @Test
+    void scaleDownMatchesBigDecimalForEveryRoundingMode() {
+        Random random = new Random(20261018L);
+        for (RoundingMode mode : RoundingMode.values()) {
+            for (long rate : RATES) {
+                for (int i = 0; i < 2000; i++) {
+                    long amount = random.nextLong() >> random.nextInt(63);
+                    if (amount == Long.MIN_VALUE) continue;
+                    assertMatches(amount, rate, mode);
+                }
+                // 반올림 경계: 나머지가 정확히 SCALE의 절반
+                assertMatches(500_000_000L, 1L, mode);
+                assertMatches(1_500_000_000L, 1L, mode);
+                assertMatches(-500_000_000L, 1L, mode);
+                assertMatches(-1_500_000_000L, 1L, mode);
+            }
+        }
+    }
+
+    @Test
+    void negativeAmountsMirrorPositiveOnes() {
+        for (RoundingMode mode : RoundingMode.values()) {
+            for (long rate : RATES) {
+                for (long amount : new long[]{-1L, -7L, -999L, -123_456_789L, -987_654_321_987L}) {
+                    assertMatches(amount, rate, mode);
+                }
+            }
+        }
+    }
+
+    @Test
+    void overflowBoundary() {
+        for (RoundingMode mode : RoundingMode.values()) {
+            for (long rate : RATES) {
+                // 결과가 Long.MAX_VALUE 근처가 되는 금액 (floor(MAX * SCALE / rate))
+                BigDecimal limit = LONG_MAX.multiply(SCALE)
+                        .divide(BigDecimal.valueOf(rate), 0, RoundingMode.FLOOR);
+                long edge = limit.min(LONG_MAX).longValueExact();
+                for (long delta = -3; delta <= 3; delta++) {
+                    long amount = edge + delta;
+                    if (delta > 0 && amount < edge) continue; // long 자체 overflow
+                    assertMatches(amount, rate, mode);
+                    assertMatches(-amount, rate, mode);
+                }
+            }
+        }
+        assertThrows(ArithmeticException.class,
+                () -> CrossRateMatrix.scaleDown(Long.MIN_VALUE, CrossRateMatrix.SCALE, RoundingMode.DOWN));
+    }
+
+    @Test
+    void convertUsesPer100UnitsAndIdentity() {
+        Map<String, RateDTO> rates = new LinkedHashMap<>();
+        rates.put("USD", rate("USD", 1400.0, 1414.0, 1386.0));
+        rates.put("JPY", rate("JPY", 950.0, 959.5, 940.5));
+        RateSnapshotCache.Snapshot snapshot = new RateSnapshotCache.Snapshot(
+                rates, Map.of(), LocalDate.of(2026, 10, 16), 7, 0);
+        CrossRateMatrix matrix = CrossRateMatrix.of(snapshot, Set.of("JPY"));
+
+        assertEquals(7, matrix.getVersion());
+        assertEquals(-1, matrix.indexOf("EUR"));
+        // 원화 → 원화, 외화 → 원화는 고시 환율 그대로
+        assertEquals(12_345L, matrix.convert("KRW", "KRW", 12_345L, CrossRateMatrix.Side.BASE, RoundingMode.DOWN));
+        assertEquals(140_000L, matrix.convert("USD", "KRW", 100L, CrossRateMatrix.Side.BASE, RoundingMode.UNNECESSARY));
+        // JPY는 100엔당 950원 → 1엔 9.5원
+        assertEquals(950L, matrix.convert("JPY", "KRW", 100L, CrossRateMatrix.Side.BASE, RoundingMode.UNNECESSARY));
+        // 1달러 = 1400 / 9.5 엔
+        assertEquals(BigDecimal.valueOf(1_000_000L).multiply(BigDecimal.valueOf(1400))
+                        .divide(new BigDecimal("9.5"), 0, RoundingMode.HALF_EVEN).longValueExact(),
+                matrix.convert("USD", "JPY", 1_000_000L, CrossRateMatrix.Side.BASE, RoundingMode.HALF_EVEN));
+        assertThrows(IllegalArgumentException.class,
+                () -> matrix.convert("USD", "EUR", 1L, CrossRateMatrix.Side.BASE, RoundingMode.DOWN));
+    }
+
+    private static void assertMatches(long amount, long rate, RoundingMode mode) {
+        BigDecimal exact = BigDecimal.valueOf(amount).multiply(BigDecimal.valueOf(rate));
+        BigDecimal expected;
+        try {
+            expected = exact.divide(SCALE, 0, mode);
+        } catch (ArithmeticException e) {
+            // UNNECESSARY인데 나머지가 있음
+            assertThrows(ArithmeticException.class, () -> CrossRateMatrix.scaleDown(amount, rate, mode),
+                    () -> amount + " x " + rate + " " + mode);
+            return;
+        }
+        if (expected.abs().compareTo(LONG_MAX) > 0) {
+            assertThrows(ArithmeticException.class, () -> CrossRateMatrix.scaleDown(amount, rate, mode),
+                    () -> amount + " x " + rate + " " + mode);
+            return;
+        }
+        assertEquals(expected.longValueExact(), CrossRateMatrix.scaleDown(amount, rate, mode),
+                () -> amount + " x " + rate + " " + mode);
+    }
+
+    private static RateDTO rate(String currency, double base, double ttSell, double ttBuy) {
+        RateDTO rate = new RateDTO();
+        rate.setRhistCurrency(currency);
+        rate.setRhistBaseRate(base);
+        rate.setRhistTtSellRate(ttSell);
+        rate.setRhistTtBuyRate(ttBuy);
+        rate.setRhistRegDt(LocalDate.of(2026, 10, 16));
+        return rate;
+    }
+}
@@ -0,0 +1,137 @@
+package kr.co.api.backend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateSeriesTest {
+
+    private static final LocalDate START = LocalDate.of(2022, 1, 1);
+
+    @Test
+    void appendsAcrossChunkBoundaries() {
+        RateSeries series = new RateSeries("USD");
+        int n = 1500; // 512개 청크 3개
+        for (int i = 0; i < n; i++) {
+            assertTrue(series.append(day(i), 1, i));
+        }
+        assertEquals(n, series.size());
+
+        List<RateSeries.Point> all = series.range(null, null);
+        assertEquals(n, all.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(START.plusDays(i), all.get(i).date());
+            assertEquals(i, all.get(i).rate(), 0.0);
+        }
+
+        // 청크 경계(511 | 512, 1023 | 1024)를 걸친 구간
+        List<RateSeries.Point> across = series.range(START.plusDays(510), START.plusDays(514));
+        assertEquals(List.of(510.0, 511.0, 512.0, 513.0, 514.0), across.stream().map(RateSeries.Point::rate).toList());
+        assertEquals(1023.0, series.range(START.plusDays(1023), START.plusDays(1024)).get(0).rate(), 0.0);
+        assertEquals(2, series.range(START.plusDays(1023), START.plusDays(1024)).size());
+
+        // 범위 밖
+        assertTrue(series.range(START.minusDays(10), START.minusDays(1)).isEmpty());
+        assertTrue(series.range(START.plusDays(n), null).isEmpty());
+    }
+
+    @Test
+    void ignoresOlderAndDuplicateAnnouncements() {
+        RateSeries series = new RateSeries("USD");
+        assertTrue(series.append(day(1), 1, 1300));
+        assertFalse(series.append(day(1), 1, 1301));  // 같은 회차
+        assertFalse(series.append(day(0), 5, 1299));  // 이전 날짜
+        assertTrue(series.append(day(1), 2, 1302));   // 같은 날 다음 회차
+        assertTrue(series.append(day(2), 1, 1303));   // 날이 바뀌면 회차는 다시 1부터
+        assertEquals(3, series.size());
+    }
+
+    @Test
+    void summaryUsesDailyCloses() {
+        RateSeries series = new RateSeries("USD");
+        for (int i = 0; i < 6; i++) {
+            // 같은 날 여러 번 고시 → 마지막(종가)만 평균에 반영
+            series.append(day(i), 1, 0);
+            series.append(day(i), 2, 100 + i);
+        }
+        series.refreshSummary();
+        RateSeries.Summary summary = series.getSummary();
+
+        assertEquals(START.plusDays(5), summary.date());
+        assertEquals(105.0, summary.rate(), 0.0);
+        assertEquals(103.0, summary.ma5(), 0.0);  // 101..105
+        assertNull(summary.ma20());
+        assertNull(summary.ma60());
+        assertEquals(1.0, summary.changeDay(), 0.0);
+        assertEquals(0.96, summary.changeDayPct(), 0.0); // 1 / 104
+        assertNull(summary.changeWeek());
+        assertNull(summary.changeMonth());
+    }
+
+    @Test
+    void weeklyCandlesStartOnMonday() {
+        RateSeries series = sampleAroundMonthEnd();
+
+        List<RateSeries.Candle> weeks = series.ohlc(null, null, RateSeries.Unit.WEEK);
+
+        assertEquals(2, weeks.size());
+        assertEquals(new RateSeries.Candle(LocalDate.of(2026, 9, 28), 10, 12, 8, 11, 4), weeks.get(0));
+        assertEquals(new RateSeries.Candle(LocalDate.of(2026, 10, 5), 13, 13, 13, 13, 1), weeks.get(1));
+        weeks.forEach(c -> assertEquals(DayOfWeek.MONDAY, c.start().getDayOfWeek()));
+    }
+
+    @Test
+    void monthlyAndDailyCandles() {
+        RateSeries series = sampleAroundMonthEnd();
+
+        List<RateSeries.Candle> months = series.ohlc(null, null, RateSeries.Unit.MONTH);
+        assertEquals(List.of(
+                new RateSeries.Candle(LocalDate.of(2026, 9, 1), 10, 10, 10, 10, 1),
+                new RateSeries.Candle(LocalDate.of(2026, 10, 1), 12, 13, 8, 13, 4)), months);
+
+        List<RateSeries.Candle> days = series.ohlc(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 1),
+                RateSeries.Unit.DAY);
+        assertEquals(List.of(new RateSeries.Candle(LocalDate.of(2026, 10, 1), 12, 12, 8, 8, 2)), days);
+    }
+
+    @Test
+    void downsampleKeepsLastPoint() {
+        RateSeries series = new RateSeries("USD");
+        for (int i = 0; i < 1000; i++) {
+            series.append(day(i), 1, i);
+        }
+
+        List<RateSeries.Point> points = series.downsample(null, null, 10);
+
+        assertEquals(10, points.size());
+        assertEquals(99.0, points.get(0).rate(), 0.0);
+        assertEquals(999.0, points.get(9).rate(), 0.0);
+        assertEquals(series.range(null, null), series.downsample(null, null, 5000));
+    }
+
+    // 9/30(수) 10, 10/1(목) 12 → 8, 10/4(일) 11, 10/5(월) 13
+    private static RateSeries sampleAroundMonthEnd() {
+        RateSeries series = new RateSeries("USD");
+        series.append(epochDay(2026, 9, 30), 1, 10);
+        series.append(epochDay(2026, 10, 1), 1, 12);
+        series.append(epochDay(2026, 10, 1), 2, 8);
+        series.append(epochDay(2026, 10, 4), 1, 11);
+        series.append(epochDay(2026, 10, 5), 1, 13);
+        return series;
+    }
+
+    private static int day(int offset) {
+        return (int) START.plusDays(offset).toEpochDay();
+    }
+
+    private static int epochDay(int year, int month, int dayOfMonth) {
+        return (int) LocalDate.of(year, month, dayOfMonth).toEpochDay();
+    }
+}
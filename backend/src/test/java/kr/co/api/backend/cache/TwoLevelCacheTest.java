@@ -0,0 +1,96 @@
+package kr.co.api.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TwoLevelCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Redis 대신 메모리 Map (GET / SET / INCR만)
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ValueOperations<String, String> ops = mock(ValueOperations.class);
+        when(ops.get(anyString())).thenAnswer(inv -> redis.get(inv.<String>getArgument(0)));
+        doAnswer(inv -> redis.put(inv.getArgument(0), inv.getArgument(1)))
+                .when(ops).set(anyString(), anyString(), any(Duration.class));
+        when(ops.increment(anyString())).thenAnswer(inv ->
+                Long.parseLong(redis.merge(inv.<String>getArgument(0), "1",
+                        (a, b) -> String.valueOf(Long.parseLong(a) + 1))));
+
+        redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(ops);
+    }
+
+    @Test
+    void loadedValueIsSharedThroughL2() {
+        TwoLevelCache<String> nodeA = newCache();
+        TwoLevelCache<String> nodeB = newCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", nodeA.get("k", () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", nodeB.get("k", () -> "v" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidationDuringLoadDoesNotRepopulateL2() {
+        TwoLevelCache<String> cache = newCache();
+
+        // 로딩 도중 같은 노드에서 변경 → L2/L1 무효화
+        String loaded = cache.get("k", () -> {
+            cache.invalidateRemote("k");
+            cache.invalidateLocal("k");
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertTrue(dataKeys().isEmpty(), "L2에 남은 키: " + dataKeys());
+        assertEquals("fresh", cache.get("k", () -> "fresh"));
+    }
+
+    @Test
+    void invalidationFromOtherNodeDuringLoadHidesStaleL2Value() {
+        TwoLevelCache<String> nodeA = newCache();
+        TwoLevelCache<String> nodeB = newCache();
+
+        // A가 DB를 읽는 동안 B가 변경 후 L2 무효화 (A는 pub/sub 메시지를 아직 못 받음)
+        nodeA.get("k", () -> {
+            nodeB.invalidateRemote("k");
+            return "stale";
+        });
+
+        // A가 쓴 값은 이전 버전 키에만 있으므로 다른 노드는 DB에서 새로 읽음
+        assertEquals("fresh", nodeB.get("k", () -> "fresh"));
+    }
+
+    private TwoLevelCache<String> newCache() {
+        return new TwoLevelCache<>("test", objectMapper.constructType(String.class), 100, 60_000,
+                Duration.ofHours(1), redisTemplate, objectMapper);
+    }
+
+    private List<String> dataKeys() {
+        return redis.keySet().stream().filter(k -> !k.endsWith(":ver")).toList();
+    }
+}
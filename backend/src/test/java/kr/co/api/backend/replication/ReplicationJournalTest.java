@@ -0,0 +1,191 @@
+package kr.co.api.backend.replication;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicationJournalTest {
+
+    private static final int HEADER_SIZE = 4 + 8 + 4;
+
+    @TempDir
+    Path dir;
+
+    private final List<ReplicationJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeAll() throws IOException {
+        for (ReplicationJournal journal : opened) journal.close();
+    }
+
+    @Test
+    void appendReadAndReplayInOrder() throws IOException {
+        ReplicationJournal journal = open(64);
+        journal.append(List.of(op("a", 11), op("b", 12), op("c", 13)));
+
+        ReplicationJournal.ReadBatch batch = journal.read(10);
+
+        assertEquals(List.of("a", "b", "c"), statements(batch));
+        assertEquals(1, batch.getFirstSeq());
+        assertEquals(3, batch.getLastSeq());
+        assertEquals(13, batch.getOps().get(2).getOrderToken());
+        assertEquals(Map.of("acctNo", "c"), batch.getOps().get(2).getParameter());
+        // 커서는 markReplayed 전까지 그대로
+        assertEquals(3, journal.read(10).getOps().size());
+
+        journal.markReplayed(batch);
+        assertFalse(journal.hasPending());
+        assertTrue(journal.read(10).getOps().isEmpty());
+    }
+
+    @Test
+    void rollsSegmentsAndDeletesReplayedOnes() throws IOException {
+        ReplicationJournal journal = open(1);
+        String big = "x".repeat(300 * 1024); // 세그먼트(1MB)당 3건
+        for (int i = 0; i < 10; i++) {
+            journal.append(List.of(op("op" + i, i, big)));
+        }
+        assertEquals(4, segmentFiles().size());
+
+        List<String> replayed = new ArrayList<>();
+        ReplicationJournal.ReadBatch batch;
+        while (!(batch = journal.read(4)).getOps().isEmpty()) {
+            replayed.addAll(statements(batch));
+            journal.markReplayed(batch);
+        }
+
+        assertEquals(10, replayed.size());
+        assertEquals("op0", replayed.get(0));
+        assertEquals("op9", replayed.get(9));
+        // 현재 쓰기 세그먼트만 남음
+        assertEquals(1, segmentFiles().size());
+        assertFalse(journal.hasPending());
+    }
+
+    @Test
+    void resumesFromCheckpointAfterRestart() throws IOException {
+        ReplicationJournal journal = open(64);
+        journal.append(List.of(op("a", 1), op("b", 2), op("c", 3), op("d", 4), op("e", 5)));
+        journal.markReplayed(journal.read(3));
+        journal.close();
+        opened.remove(journal);
+
+        ReplicationJournal reopened = open(64);
+        assertEquals(2, reopened.pendingCount());
+        ReplicationJournal.ReadBatch batch = reopened.read(10);
+        assertEquals(List.of("d", "e"), statements(batch));
+        assertEquals(4, batch.getFirstSeq());
+
+        // seq는 이어서 발급
+        reopened.append(List.of(op("f", 6)));
+        assertEquals(6, reopened.read(10).getLastSeq());
+    }
+
+    @Test
+    void dropsCorruptedTailOnRecovery() throws IOException {
+        ReplicationJournal journal = open(64);
+        journal.append(List.of(op("a", 1), op("b", 2), op("c", 3)));
+        journal.close();
+        opened.remove(journal);
+
+        // 2번째 레코드 payload 1바이트 손상 → 그 뒤는 쓰다 만 꼬리로 보고 버림
+        Path segment = segmentFiles().get(0);
+        int firstLen = readInt(segment, 0);
+        flipByte(segment, HEADER_SIZE + firstLen + HEADER_SIZE);
+
+        ReplicationJournal reopened = open(64);
+        assertEquals(1, reopened.pendingCount());
+        reopened.append(List.of(op("d", 4)));
+
+        ReplicationJournal.ReadBatch batch = reopened.read(10);
+        assertEquals(List.of("a", "d"), statements(batch));
+        assertEquals(2, batch.getLastSeq());
+    }
+
+    @Test
+    void readFailsOnChecksumMismatch() throws IOException {
+        ReplicationJournal journal = open(64);
+        journal.append(List.of(op("a", 1)));
+
+        // 매핑된 파일을 밖에서 손상 (디스크 오류 흉내)
+        flipByte(segmentFiles().get(0), HEADER_SIZE);
+
+        assertThrows(IOException.class, () -> journal.read(10));
+    }
+
+    @Test
+    void quarantineAppendsToSeparateFile() throws IOException {
+        ReplicationJournal journal = open(64);
+        journal.quarantine(7, op("bad", 7));
+
+        Path file = dir.resolve("journal-quarantine.dat");
+        assertTrue(Files.size(file) > HEADER_SIZE);
+        assertEquals(7L, ByteBuffer.wrap(Files.readAllBytes(file), 4, 8).getLong());
+        assertEquals(1L, journal.getStats().get("quarantined"));
+    }
+
+    private ReplicationJournal open(int segmentSizeMb) throws IOException {
+        ReplicationJournal journal = new ReplicationJournal();
+        ReflectionTestUtils.setField(journal, "journalDir", dir.toString());
+        ReflectionTestUtils.setField(journal, "segmentSizeMb", segmentSizeMb);
+        journal.open();
+        opened.add(journal);
+        return journal;
+    }
+
+    private static ReplicationOp op(String statement, long orderToken) {
+        return op(statement, orderToken, statement);
+    }
+
+    private static ReplicationOp op(String statement, long orderToken, String acctNo) {
+        Map<String, Object> param = new HashMap<>();
+        param.put("acctNo", acctNo);
+        return new ReplicationOp(statement, ReplicationOp.Kind.UPDATE, param,
+                "acct:" + statement, System.currentTimeMillis(), orderToken);
+    }
+
+    private static List<String> statements(ReplicationJournal.ReadBatch batch) {
+        return batch.getOps().stream().map(ReplicationOp::getStatementId).toList();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(p -> p.getFileName().toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    private static int readInt(Path file, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(4);
+            channel.read(buf, position);
+            return buf.flip().getInt();
+        }
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocate(1);
+            channel.read(buf, position);
+            buf.put(0, (byte) ~buf.get(0)).position(0);
+            channel.write(buf, position);
+        }
+    }
+}
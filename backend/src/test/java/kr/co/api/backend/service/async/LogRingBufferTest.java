@@ -0,0 +1,97 @@
+package kr.co.api.backend.service.async;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(8192, new LogRingBuffer<>(8192).capacity());
+        assertEquals(1024, new LogRingBuffer<>(1000).capacity());
+        assertEquals(1024, new LogRingBuffer<>(1024).capacity());
+    }
+
+    @Test
+    void offerFailsWhenFullAndSucceedsAfterDrain() {
+        LogRingBuffer<Integer> ring = new LogRingBuffer<>(8);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(8));
+        assertEquals(8, ring.size());
+
+        List<Integer> out = new ArrayList<>();
+        assertEquals(3, ring.drainTo(out, 3));
+        assertEquals(List.of(0, 1, 2), out);
+
+        // 반납된 3칸만큼 다음 바퀴 쓰기 가능
+        for (int i = 8; i < 11; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(11));
+
+        out.clear();
+        assertEquals(8, ring.drainTo(out, 100));
+        assertEquals(List.of(3, 4, 5, 6, 7, 8, 9, 10), out);
+        assertEquals(0, ring.size());
+        assertEquals(0, ring.drainTo(out, 100));
+    }
+
+    @Test
+    void multipleProducersKeepPerProducerOrder() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        LogRingBuffer<Long> ring = new LogRingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long id = p;
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    // 가득 차면 소비자가 비울 때까지 재시도
+                    while (!ring.offer(id << 32 | i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            t.setDaemon(true);
+            t.start();
+            threads.add(t);
+        }
+
+        long[] next = new long[producers];
+        List<Long> batch = new ArrayList<>(256);
+        long received = 0;
+        long deadline = System.currentTimeMillis() + 30_000;
+        start.countDown();
+        while (received < (long) producers * perProducer && System.currentTimeMillis() < deadline) {
+            batch.clear();
+            ring.drainTo(batch, 256);
+            for (long value : batch) {
+                int producer = (int) (value >>> 32);
+                long seq = value & 0xFFFF_FFFFL;
+                assertEquals(next[producer], seq, "producer " + producer);
+                next[producer]++;
+            }
+            received += batch.size();
+        }
+        for (Thread t : threads) t.join(5_000);
+
+        assertEquals((long) producers * perProducer, received);
+        assertEquals(0, ring.size());
+    }
+}
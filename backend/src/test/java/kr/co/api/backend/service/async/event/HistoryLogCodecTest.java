@@ -0,0 +1,105 @@
+package kr.co.api.backend.service.async.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistoryLogCodecTest {
+
+    @Test
+    void transferRoundTrip() {
+        TransferLogEvent event = TransferLogEvent.of("110-123-456789", "홍길동", 2, -1_234_567L, null, "월세 🏠");
+        event.setEventId(UUID.randomUUID().toString());
+
+        HistoryLogEvent decoded = HistoryLogCodec.decode(HistoryLogCodec.encode(event));
+
+        assertTrue(decoded instanceof TransferLogEvent);
+        assertEquals(event.toLogMap(), decoded.toLogMap());
+    }
+
+    @Test
+    void exchangeRoundTripWithNullFields() {
+        ExchangeLogEvent event = new ExchangeLogEvent("C0001", "110-1", null, "FB-9", "BUY", "KRW", "USD",
+                1_400_000L, 1_000L, 1400.25, null, LocalDate.of(2026, 10, 18));
+        event.setEventId(UUID.randomUUID().toString());
+
+        HistoryLogEvent decoded = HistoryLogCodec.decode(HistoryLogCodec.encode(event));
+
+        assertTrue(decoded instanceof ExchangeLogEvent);
+        assertEquals(event.toLogMap(), decoded.toLogMap());
+    }
+
+    @Test
+    void unpairedSurrogateIsWrittenAsQuestionMark() {
+        TransferLogEvent event = TransferLogEvent.of("1", "a\uD800b", 1, 1L, "2", "\uDC00");
+
+        TransferLogEvent decoded = (TransferLogEvent) HistoryLogCodec.decode(HistoryLogCodec.encode(event));
+
+        assertEquals("a?b", decoded.getCustName());
+        assertEquals("?", decoded.getMemo());
+    }
+
+    @Test
+    void decodesVersion1RecordWithoutEventId() {
+        TransferLogEvent event = TransferLogEvent.of("110-1", "김", 1, 5_000L, "220-2", null);
+        byte[] v2 = HistoryLogCodec.encode(event);
+        // v1 = v2에서 eventId 자리(있음 여부 1바이트, 값 없음) 제거
+        assertEquals(0, v2[3]);
+        byte[] v1 = new byte[v2.length - 1];
+        v1[0] = v2[0];
+        v1[1] = 1;
+        v1[2] = v2[2];
+        System.arraycopy(v2, 4, v1, 3, v2.length - 4);
+
+        HistoryLogEvent decoded = HistoryLogCodec.decode(v1);
+
+        assertNull(decoded.getEventId());
+        assertEquals(event.toLogMap(), decoded.toLogMap());
+    }
+
+    @Test
+    void legacyJsonPayloadIsNotBinary() {
+        // 이전 버전 producer가 보낸 JSON Map → LogWorker가 Map 경로로 처리
+        byte[] legacy = "{\"@class\":\"java.util.HashMap\",\"log_type\":\"TRANSFER\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertFalse(HistoryLogCodec.isBinary(legacy));
+        assertFalse(HistoryLogCodec.isBinary(null));
+        assertFalse(HistoryLogCodec.isBinary(new byte[]{HistoryLogCodec.MAGIC, HistoryLogCodec.VERSION}));
+        assertThrows(IllegalArgumentException.class, () -> HistoryLogCodec.decode(legacy));
+    }
+
+    @Test
+    void truncatedRecordIsRejected() {
+        ExchangeLogEvent event = new ExchangeLogEvent("C0001", "110-1", "220-2", "FB-9", "SELL", "USD", "KRW",
+                1_400_000L, 1_000L, 1400.25, 1, LocalDate.of(2026, 10, 18));
+        event.setEventId(UUID.randomUUID().toString());
+        byte[] encoded = HistoryLogCodec.encode(event);
+
+        for (int len = 3; len < encoded.length; len++) {
+            byte[] truncated = Arrays.copyOf(encoded, len);
+            assertThrows(IllegalArgumentException.class, () -> HistoryLogCodec.decode(truncated), "len=" + len);
+        }
+    }
+
+    @Test
+    void unknownVersionAndTypeAreRejected() {
+        byte[] encoded = HistoryLogCodec.encode(TransferLogEvent.of("1", "a", 1, 1L, "2", "m"));
+
+        byte[] future = encoded.clone();
+        future[1] = HistoryLogCodec.VERSION + 1;
+        assertThrows(IllegalArgumentException.class, () -> HistoryLogCodec.decode(future));
+
+        byte[] unknownType = encoded.clone();
+        unknownType[2] = 99;
+        assertThrows(IllegalArgumentException.class, () -> HistoryLogCodec.decode(unknownType));
+    }
+}
@@ -0,0 +1,70 @@
+package kr.co.api.backend.tcp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ApCodeGuardTest {
+
+    @Test
+    void opensAfterFailureRateIsReached() {
+        ApCodeGuard guard = newGuard();
+
+        fail(guard);
+        assertEquals(ApCodeGuard.State.CLOSED, guard.getState());
+        fail(guard);
+
+        assertEquals(ApCodeGuard.State.OPEN, guard.getState());
+    }
+
+    @Test
+    void lateResultFromClosedCallDoesNotDecideHalfOpen() {
+        ApCodeGuard guard = newGuard();
+        ApCodeGuard.Admission early = guard.tryEnter(); // CLOSED 때 들어가 아직 진행 중
+        open(guard);
+
+        ApCodeGuard.Admission trial = guard.tryEnter();
+        assertEquals(ApCodeGuard.Admission.TRIAL, trial);
+        assertEquals(ApCodeGuard.State.HALF_OPEN, guard.getState());
+
+        // 시험 호출보다 먼저 끝난 이전 요청의 성공은 무시
+        guard.exit(early, true, 0);
+        assertEquals(ApCodeGuard.State.HALF_OPEN, guard.getState());
+
+        guard.exit(trial, false, 0);
+        assertEquals(ApCodeGuard.State.OPEN, guard.getState());
+    }
+
+    @Test
+    void trialSuccessClosesEvenIfLateCallFailed() {
+        ApCodeGuard guard = newGuard();
+        ApCodeGuard.Admission early = guard.tryEnter();
+        open(guard);
+
+        ApCodeGuard.Admission trial = guard.tryEnter();
+        guard.exit(early, false, 0);
+        assertEquals(ApCodeGuard.State.HALF_OPEN, guard.getState());
+        assertEquals(ApCodeGuard.Admission.CIRCUIT_OPEN, guard.tryEnter());
+
+        guard.exit(trial, true, 0);
+        assertEquals(ApCodeGuard.State.CLOSED, guard.getState());
+        assertEquals(ApCodeGuard.Admission.ADMITTED, guard.tryEnter());
+    }
+
+    // 최근 4건 중 2건 이상 실패면 OPEN, 쿨다운 없음(바로 시험 호출 가능)
+    private static ApCodeGuard newGuard() {
+        return new ApCodeGuard("TEST", 10, 10, 0, 60_000, 4, 2, 50, 0, 1_000);
+    }
+
+    private static void open(ApCodeGuard guard) {
+        fail(guard);
+        fail(guard);
+        assertEquals(ApCodeGuard.State.OPEN, guard.getState());
+    }
+
+    private static void fail(ApCodeGuard guard) {
+        ApCodeGuard.Admission admission = guard.tryEnter();
+        assertEquals(ApCodeGuard.Admission.ADMITTED, admission);
+        guard.exit(admission, false, 0);
+    }
+}